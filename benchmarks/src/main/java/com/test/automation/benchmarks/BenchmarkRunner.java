@@ -0,0 +1,60 @@
+package com.test.automation.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options (e.g. a benchmark regex, -f, -wi, -i)
+ * and stores the results as JSON in results/jmh-&lt;timestamp&gt;.json unless -rff names another
+ * file, so runs before and after a framework change can be compared with {@link ResultComparison}.
+ * The forks log through the framework's log4j2.xml merged with log4j2-benchmark.xml, which adds the
+ * target of {@link LoggingThroughputBenchmark}.
+ */
+public class BenchmarkRunner {
+    
+    private static final Path RESULTS_DIR = Paths.get("results");
+    private static final String LOG_CONFIG = "-Dlog4j2.configurationFile=log4j2.xml,log4j2-benchmark.xml";
+    
+    /**
+     * Runs the benchmarks
+     * 
+     * @param args JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if a benchmark fails
+     * @throws IOException if the results directory cannot be created
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResult().hasValue()) {
+            Files.createDirectories(RESULTS_DIR);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.result(RESULTS_DIR.resolve("jmh-" + timestamp + ".json").toString());
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        // Set here rather than in the benchmarks' @Fork, so -jvmArgsAppend on the command line adds to it
+        List<String> jvmArgs = new ArrayList<>();
+        if (commandLine.getJvmArgsAppend().hasValue()) {
+            jvmArgs.addAll(commandLine.getJvmArgsAppend().get());
+        }
+        jvmArgs.add(LOG_CONFIG);
+        options.jvmArgsAppend(jvmArgs.toArray(new String[0]));
+        new Runner(options.build()).run();
+    }
+}
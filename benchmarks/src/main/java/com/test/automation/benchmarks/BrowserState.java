@@ -0,0 +1,53 @@
+package com.test.automation.benchmarks;
+
+import com.test.automation.factory.DriverFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Headless browser session of a benchmark thread, opened through DriverFactory on the inventory
+ * fixture of the local {@link FixtureServer}. The framework's instrumentation (command latency
+ * decorator, page timings, event journal) is off, so the benchmarks measure the framework itself;
+ * pass -jvmArgs -D&lt;setting&gt;=true to include one of them.
+ */
+@State(Scope.Thread)
+public class BrowserState {
+    
+    public static final String INVENTORY_FIXTURE = "/inventory.html";
+    private static final String[] INSTRUMENTATION = {"driver.metrics.enabled", "perf.timings.enabled", "journal.enabled"};
+    
+    public WebDriver driver;
+    public String inventoryUrl;
+    
+    /**
+     * Starts the fixture server and the browser, and opens the inventory fixture
+     */
+    @Setup(Level.Trial)
+    public void openBrowser() {
+        String baseUrl = FixtureServer.start();
+        // Read by FrameworkConfig when DriverFactory loads it below
+        System.setProperty("base.url", baseUrl);
+        System.setProperty("headless", "true");
+        System.setProperty("use.grid", "false");
+        for (String instrumentation : INSTRUMENTATION) {
+            if (System.getProperty(instrumentation) == null) {
+                System.setProperty(instrumentation, "false");
+            }
+        }
+        inventoryUrl = baseUrl + INVENTORY_FIXTURE;
+        driver = DriverFactory.getDriver();
+        driver.get(inventoryUrl);
+    }
+    
+    /**
+     * Quits the browser
+     */
+    @TearDown(Level.Trial)
+    public void quitBrowser() {
+        DriverFactory.quitDriver();
+    }
+}
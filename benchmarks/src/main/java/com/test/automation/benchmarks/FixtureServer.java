@@ -0,0 +1,58 @@
+package com.test.automation.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Local HTTP server for the static page fixtures in src/main/resources/fixtures, so browser
+ * benchmarks measure the framework rather than the network. One server per JVM, on a free port.
+ */
+public final class FixtureServer {
+    
+    private static String baseUrl;
+    
+    private FixtureServer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Starts the server unless it is running
+     * 
+     * @return Base URL of the fixtures, e.g. http://127.0.0.1:41234
+     */
+    public static synchronized String start() {
+        if (baseUrl != null) {
+            return baseUrl;
+        }
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                String resource = "/fixtures" + (path.equals("/") ? "/inventory.html" : path);
+                try (InputStream fixture = path.contains("..") ? null : FixtureServer.class.getResourceAsStream(resource);
+                        OutputStream body = exchange.getResponseBody()) {
+                    if (fixture == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    byte[] content = fixture.readAllBytes();
+                    exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+                    exchange.sendResponseHeaders(200, content.length);
+                    body.write(content);
+                }
+            });
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(0)));
+            baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+            return baseUrl;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the fixture server", e);
+        }
+    }
+}
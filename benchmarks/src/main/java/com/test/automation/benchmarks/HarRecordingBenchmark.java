@@ -0,0 +1,94 @@
+package com.test.automation.benchmarks;
+
+import com.test.automation.network.HarRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of HAR recording (har.enabled): loads of the inventory fixture without and with a
+ * {@link HarRecorder} streaming the session's network events to a HAR file. Needs a CDP browser
+ * (Chrome or Edge).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HarRecordingBenchmark {
+    
+    /**
+     * HAR recording of the benchmark thread's browser session, into a temporary file
+     */
+    @State(Scope.Thread)
+    public static class Recording {
+        
+        private HarRecorder recorder;
+        private Path harFile;
+        
+        /**
+         * Starts recording the session
+         * 
+         * @param browser Browser session
+         * @throws IOException if the temporary file cannot be created
+         */
+        @Setup(Level.Trial)
+        public void startRecording(BrowserState browser) throws IOException {
+            harFile = Files.createTempFile("har-benchmark", ".har");
+            recorder = HarRecorder.start(browser.driver, harFile);
+            if (recorder == null) {
+                throw new IllegalStateException("HAR recording needs a browser with CDP (Chrome or Edge)");
+            }
+        }
+        
+        /**
+         * Stops recording and deletes the HAR file
+         * 
+         * @throws IOException if the file cannot be deleted
+         */
+        @TearDown(Level.Trial)
+        public void stopRecording() throws IOException {
+            recorder.stop();
+            Files.deleteIfExists(harFile);
+        }
+    }
+    
+    /**
+     * Page load without recording
+     * 
+     * @param browser Browser session
+     * @return Title of the loaded page
+     */
+    @Benchmark
+    public String pageLoad(BrowserState browser) {
+        browser.driver.get(browser.inventoryUrl);
+        return browser.driver.getTitle();
+    }
+    
+    /**
+     * The same page load while the network events are recorded
+     * 
+     * @param browser Browser session
+     * @param recording HAR recording of the session
+     * @return Title of the loaded page
+     */
+    @Benchmark
+    public String pageLoadRecorded(BrowserState browser, Recording recording) {
+        browser.driver.get(browser.inventoryUrl);
+        return browser.driver.getTitle();
+    }
+}
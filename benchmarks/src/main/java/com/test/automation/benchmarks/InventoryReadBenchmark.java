@@ -0,0 +1,91 @@
+package com.test.automation.benchmarks;
+
+import com.test.automation.pages.InventoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all product names and prices of the inventory page: InventoryPage's per-item reads (a
+ * findElement and a getText command per product) against one batched script call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryReadBenchmark {
+    
+    private static final String NAMES_SCRIPT =
+            "return Array.from(document.querySelectorAll('.inventory_item_name'), e => e.innerText);";
+    private static final String PRICES_SCRIPT =
+            "return Array.from(document.querySelectorAll('.inventory_item_price'), e => e.innerText);";
+    
+    private InventoryPage inventoryPage;
+    
+    /**
+     * Creates the page object on the inventory fixture
+     * 
+     * @param browser Browser session
+     */
+    @Setup
+    public void createPage(BrowserState browser) {
+        inventoryPage = new InventoryPage();
+    }
+    
+    /**
+     * Product names through InventoryPage
+     * 
+     * @return Product names
+     */
+    @Benchmark
+    public List<String> perItemNames() {
+        return inventoryPage.getAllProductNames();
+    }
+    
+    /**
+     * Product names in one script call
+     * 
+     * @param browser Browser session
+     * @return Product names
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<String> batchedNames(BrowserState browser) {
+        return (List<String>) ((JavascriptExecutor) browser.driver).executeScript(NAMES_SCRIPT);
+    }
+    
+    /**
+     * Product prices through InventoryPage
+     * 
+     * @return Product prices
+     */
+    @Benchmark
+    public List<String> perItemPrices() {
+        return inventoryPage.getAllProductPrices();
+    }
+    
+    /**
+     * Product prices in one script call
+     * 
+     * @param browser Browser session
+     * @return Product prices
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<String> batchedPrices(BrowserState browser) {
+        return (List<String>) ((JavascriptExecutor) browser.driver).executeScript(PRICES_SCRIPT);
+    }
+}
@@ -0,0 +1,78 @@
+package com.test.automation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of locating the same element, the backpack's add to cart button, with each locator strategy
+ * the page objects use
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LocatorBenchmark {
+    
+    private static final String BUTTON_ID = "add-to-cart-sauce-labs-backpack";
+    
+    @Param({"id", "name", "css", "cssPrefix", "xpath", "xpathText"})
+    public String strategy;
+    
+    private By locator;
+    
+    /**
+     * Builds the locator of the strategy
+     */
+    @Setup
+    public void createLocator() {
+        switch (strategy) {
+            case "id":
+                locator = By.id(BUTTON_ID);
+                break;
+            case "name":
+                locator = By.name(BUTTON_ID);
+                break;
+            case "css":
+                locator = By.cssSelector("#" + BUTTON_ID);
+                break;
+            case "cssPrefix":
+                // The prefix match InventoryPage uses for add to cart buttons, scoped to the first item
+                locator = By.cssSelector(".inventory_item:first-child button[id^='add-to-cart']");
+                break;
+            case "xpath":
+                locator = By.xpath("//button[@id='" + BUTTON_ID + "']");
+                break;
+            case "xpathText":
+                locator = By.xpath("//div[text()='Sauce Labs Backpack']/ancestor::div[@class='inventory_item']//button");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown locator strategy: " + strategy);
+        }
+    }
+    
+    /**
+     * Finds the button
+     * 
+     * @param browser Browser session
+     * @return The button
+     */
+    @Benchmark
+    public WebElement findElement(BrowserState browser) {
+        return browser.driver.findElement(locator);
+    }
+}
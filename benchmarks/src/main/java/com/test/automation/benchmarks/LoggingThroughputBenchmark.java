@@ -0,0 +1,45 @@
+package com.test.automation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging throughput and caller-side cost while several test threads log in parallel, the way page
+ * objects do during a parallel suite run. Messages go through the async loggers of the framework's
+ * log4j2 configuration to logs/benchmark.log (added by log4j2-benchmark.xml). INFO events block once
+ * the ring buffer is full, so the sustained throughput includes the appender thread. Add -prof gc for
+ * the bytes allocated per call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Thread)
+public class LoggingThroughputBenchmark {
+    
+    private static final Logger payload = LoggerFactory.getLogger("com.test.automation.benchmarks.payload");
+    
+    private int element;
+    
+    /**
+     * Logs one parameterized message
+     */
+    @Benchmark
+    public void logParameterized() {
+        payload.info("Clicking element {} on page {}", element++, "InventoryPage");
+    }
+}
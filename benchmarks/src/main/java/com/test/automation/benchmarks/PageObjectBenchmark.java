@@ -0,0 +1,95 @@
+package com.test.automation.benchmarks;
+
+import com.test.automation.pages.InventoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building page objects: PageFactory.initElements against plain By lookups, and the
+ * construction of a full BasePage subclass (element proxies, header component)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageObjectBenchmark {
+    
+    /**
+     * Element fields of InventoryPage, initialized by PageFactory
+     */
+    public static class InventoryElements {
+        
+        @FindBy(className = "inventory_item")
+        private List<WebElement> inventoryItems;
+        
+        @FindBy(className = "product_sort_container")
+        private WebElement sortDropdown;
+        
+        @FindBy(id = "inventory_container")
+        private WebElement inventoryContainer;
+    }
+    
+    /**
+     * PageFactory proxies only; no element is looked up
+     * 
+     * @param browser Browser session
+     * @return Initialized elements
+     */
+    @Benchmark
+    public InventoryElements pageFactoryInit(BrowserState browser) {
+        InventoryElements elements = new InventoryElements();
+        PageFactory.initElements(browser.driver, elements);
+        return elements;
+    }
+    
+    /**
+     * PageFactory proxies, then one use of each element, which looks it up
+     * 
+     * @param browser Browser session
+     * @return Combined result of the element reads
+     */
+    @Benchmark
+    public int pageFactoryInitAndUse(BrowserState browser) {
+        InventoryElements elements = new InventoryElements();
+        PageFactory.initElements(browser.driver, elements);
+        return elements.inventoryItems.size() + (elements.sortDropdown.isDisplayed() ? 1 : 0)
+                + (elements.inventoryContainer.isDisplayed() ? 1 : 0);
+    }
+    
+    /**
+     * The same element reads through direct By lookups
+     * 
+     * @param browser Browser session
+     * @return Combined result of the element reads
+     */
+    @Benchmark
+    public int byLookupAndUse(BrowserState browser) {
+        return browser.driver.findElements(By.className("inventory_item")).size()
+                + (browser.driver.findElement(By.className("product_sort_container")).isDisplayed() ? 1 : 0)
+                + (browser.driver.findElement(By.id("inventory_container")).isDisplayed() ? 1 : 0);
+    }
+    
+    /**
+     * Construction of InventoryPage, including its header component
+     * 
+     * @param browser Browser session
+     * @return The page object
+     */
+    @Benchmark
+    public InventoryPage inventoryPageConstruction(BrowserState browser) {
+        return new InventoryPage();
+    }
+}
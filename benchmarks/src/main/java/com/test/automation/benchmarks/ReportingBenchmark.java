@@ -0,0 +1,133 @@
+package com.test.automation.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.test.automation.utils.StreamingReportWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ExtentReports cost without a browser: logging the steps of a test, and writing a report of
+ * several tests with the Spark reporter (report.mode=spark) or the StreamingReportWriter
+ * (report.mode=streaming)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportingBenchmark {
+    
+    private static final int STEPS_PER_TEST = 20;
+    
+    @Param({"50"})
+    public int tests;
+    
+    private ExtentReports extent;
+    private Path reportDir;
+    
+    /**
+     * Creates the report used for step logging and the output directory
+     * 
+     * @throws IOException if the directory cannot be created
+     */
+    @Setup(Level.Trial)
+    public void createReport() throws IOException {
+        extent = new ExtentReports();
+        reportDir = Files.createTempDirectory("extent-benchmark");
+    }
+    
+    /**
+     * Deletes the written reports
+     * 
+     * @throws IOException if a report cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteReports() throws IOException {
+        try (Stream<Path> files = Files.walk(reportDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    /**
+     * Logs the steps of one test and releases it, as the streaming mode does per test
+     * 
+     * @return The logged test
+     */
+    @Benchmark
+    public ExtentTest logTestSteps() {
+        ExtentTest test = logTest(extent, 0);
+        extent.removeTest(test);
+        return test;
+    }
+    
+    /**
+     * Logs the tests and writes them with the Spark reporter in one flush
+     * 
+     * @return Report file
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Path sparkReport() {
+        Path reportFile = reportDir.resolve("spark.html");
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(new ExtentSparkReporter(reportFile.toString()));
+        for (int i = 0; i < tests; i++) {
+            logTest(report, i);
+        }
+        report.flush();
+        return reportFile;
+    }
+    
+    /**
+     * Logs the tests and streams each to disk as it completes, then assembles the report
+     * 
+     * @return Report file
+     * @throws IOException if the report cannot be created
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Path streamingReport() throws IOException {
+        Path reportFile = reportDir.resolve("streaming.html");
+        StreamingReportWriter writer = new StreamingReportWriter(reportFile);
+        ExtentReports report = new ExtentReports();
+        for (int i = 0; i < tests; i++) {
+            ExtentTest test = logTest(report, i);
+            writer.append(test.getModel());
+            report.removeTest(test);
+        }
+        writer.finish();
+        return reportFile;
+    }
+    
+    private static ExtentTest logTest(ExtentReports report, int index) {
+        ExtentTest test = report.createTest("LoginTest - testValidLogin " + index, "Benchmark test");
+        for (int step = 0; step < STEPS_PER_TEST; step++) {
+            test.info("Step " + step + ": entered the username and clicked the login button");
+        }
+        test.pass("Test passed");
+        return test;
+    }
+}
@@ -0,0 +1,68 @@
+package com.test.automation.benchmarks;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, e.g. before and after a framework change:
+ * java -cp target/benchmarks.jar com.test.automation.benchmarks.ResultComparison results/old.json results/new.json
+ * A change is marked significant when the 99.9% confidence intervals of the two scores do not overlap.
+ */
+public class ResultComparison {
+    
+    /**
+     * Prints the score change of every benchmark present in both files
+     * 
+     * @param args Baseline and candidate result files
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ResultComparison <baseline.json> <candidate.json>");
+        }
+        Map<String, Map<String, Object>> baseline = read(args[0]);
+        Map<String, Map<String, Object>> candidate = read(args[1]);
+        
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, Map<String, Object>> entry : candidate.entrySet()) {
+            Map<String, Object> before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            double oldScore = number(before.get("score"));
+            double newScore = number(entry.getValue().get("score"));
+            boolean significant = Math.abs(newScore - oldScore)
+                    > number(before.get("scoreError")) + number(entry.getValue().get("scoreError"));
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s  %s%n", entry.getKey(), oldScore, newScore,
+                    oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100, significant ? " *" : "  ",
+                    entry.getValue().get("scoreUnit"));
+        }
+        System.out.println("* confidence intervals do not overlap");
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> read(String file) throws IOException {
+        String content = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        List<Map<String, Object>> runs = new Json().toType(content, List.class);
+        Map<String, Map<String, Object>> scores = new TreeMap<>();
+        for (Map<String, Object> run : runs) {
+            Map<String, Object> params = (Map<String, Object>) run.getOrDefault("params", new LinkedHashMap<>());
+            String name = ((String) run.get("benchmark")).replace("com.test.automation.benchmarks.", "")
+                    + (params.isEmpty() ? "" : params.toString());
+            scores.put(name, (Map<String, Object>) run.get("primaryMetric"));
+        }
+        return scores;
+    }
+    
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+}
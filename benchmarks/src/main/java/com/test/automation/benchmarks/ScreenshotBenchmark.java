@@ -0,0 +1,76 @@
+package com.test.automation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screenshots for the reports: TestListener's capture as bytes plus base64 encoding for Extent,
+ * the capture as base64 by the driver, and the encoding alone
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScreenshotBenchmark {
+    
+    private byte[] screenshot;
+    
+    /**
+     * Captures the screenshot encoded by {@link #encodeOnly()}
+     * 
+     * @param browser Browser session
+     */
+    @Setup
+    public void captureScreenshot(BrowserState browser) {
+        screenshot = ((TakesScreenshot) browser.driver).getScreenshotAs(OutputType.BYTES);
+    }
+    
+    /**
+     * Capture as bytes, then base64 for the Extent report, as TestListener does
+     * 
+     * @param browser Browser session
+     * @return Base64 screenshot
+     */
+    @Benchmark
+    public String bytesThenBase64(BrowserState browser) {
+        byte[] bytes = ((TakesScreenshot) browser.driver).getScreenshotAs(OutputType.BYTES);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+    
+    /**
+     * Capture as base64, the format the driver returns it in
+     * 
+     * @param browser Browser session
+     * @return Base64 screenshot
+     */
+    @Benchmark
+    public String base64FromDriver(BrowserState browser) {
+        return ((TakesScreenshot) browser.driver).getScreenshotAs(OutputType.BASE64);
+    }
+    
+    /**
+     * Base64 encoding of a captured screenshot
+     * 
+     * @return Base64 screenshot
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String encodeOnly() {
+        return Base64.getEncoder().encodeToString(screenshot);
+    }
+}
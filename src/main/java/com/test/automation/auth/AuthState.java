@@ -0,0 +1,29 @@
+package com.test.automation.auth;
+
+import lombok.Value;
+import org.openqa.selenium.Cookie;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cookies and web storage of a logged in session, as captured right after a UI login
+ */
+@Value
+public class AuthState {
+    List<Cookie> cookies;
+    Map<String, String> localStorage;
+    Map<String, String> sessionStorage;
+    
+    /**
+     * Checks whether any of the cookies expires within the given time
+     * 
+     * @param marginMillis Time the state must remain valid for
+     * @return true if the state can no longer be used
+     */
+    public boolean isExpired(long marginMillis) {
+        Date limit = new Date(System.currentTimeMillis() + marginMillis);
+        return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(limit));
+    }
+}
@@ -0,0 +1,121 @@
+package com.test.automation.auth;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.constants.SauceConstants;
+import com.test.automation.factory.DriverFactory;
+import com.test.automation.pages.InventoryPage;
+import com.test.automation.pages.LoginPage;
+import io.qameta.allure.Step;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the logged in state (cookies, localStorage and sessionStorage) per user.
+ * The first login of a user in the JVM goes through the UI and its state is captured; later
+ * sessions get the state injected and start directly on the inventory page, skipping the login
+ * form and its error message check. Expired or rejected states fall back to a UI login.
+ */
+@Slf4j
+public class AuthStateCache {
+    
+    private static final long EXPIRY_MARGIN_MILLIS = 60_000;
+    private static final String READ_STORAGE = "var storage = window[arguments[0]], entries = {};"
+            + "for (var i = 0; i < storage.length; i++) { entries[storage.key(i)] = storage.getItem(storage.key(i)); }"
+            + "return entries;";
+    private static final String WRITE_STORAGE = "var storage = window[arguments[0]], entries = arguments[1];"
+            + "for (var key in entries) { storage.setItem(key, entries[key]); }";
+    
+    private static AuthStateCache instance;
+    private final Map<String, AuthState> states = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    
+    private AuthStateCache() {
+        enabled = FrameworkConfig.getInstance().isAuthCacheEnabled();
+    }
+    
+    /**
+     * Gets the singleton instance of AuthStateCache
+     * 
+     * @return AuthStateCache instance
+     */
+    public static synchronized AuthStateCache getInstance() {
+        if (instance == null) {
+            instance = new AuthStateCache();
+        }
+        return instance;
+    }
+    
+    /**
+     * Logs in the current session as the given user, from the cache if possible
+     * 
+     * @param username Username
+     * @param password Password
+     * @return InventoryPage the session starts on
+     */
+    @Step("Login as {0}")
+    public InventoryPage login(String username, String password) {
+        WebDriver driver = DriverFactory.getDriver();
+        AuthState state = enabled ? states.get(username) : null;
+        if (state != null) {
+            if (!state.isExpired(EXPIRY_MARGIN_MILLIS) && restore(driver, state)) {
+                log.info("Restored cached login of user: {}", username);
+                return new InventoryPage();
+            }
+            log.info("Cached login of user {} is no longer valid, logging in through the UI", username);
+            states.remove(username, state);
+        }
+        
+        Object page = new LoginPage().login(username, password);
+        if (!(page instanceof InventoryPage)) {
+            throw new IllegalStateException("Login failed for user: " + username);
+        }
+        if (enabled) {
+            states.put(username, capture(driver));
+            log.info("Cached login of user: {}", username);
+        }
+        return (InventoryPage) page;
+    }
+    
+    /**
+     * Removes all cached logins
+     */
+    public void clear() {
+        states.clear();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private AuthState capture(WebDriver driver) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Map<String, String> localStorage = new HashMap<>((Map<String, String>) js.executeScript(READ_STORAGE, "localStorage"));
+        Map<String, String> sessionStorage = new HashMap<>((Map<String, String>) js.executeScript(READ_STORAGE, "sessionStorage"));
+        return new AuthState(Collections.unmodifiableList(new ArrayList<>(driver.manage().getCookies())),
+                Collections.unmodifiableMap(localStorage), Collections.unmodifiableMap(sessionStorage));
+    }
+    
+    // Cookies and storage can only be set for the current origin, so the session must be on base.url
+    private boolean restore(WebDriver driver, AuthState state) {
+        String baseUrl = FrameworkConfig.getInstance().getBaseUrl().replaceAll("/+$", "");
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+        }
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : state.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        js.executeScript(WRITE_STORAGE, "localStorage", state.getLocalStorage());
+        js.executeScript(WRITE_STORAGE, "sessionStorage", state.getSessionStorage());
+        
+        driver.get(baseUrl + "/" + SauceConstants.INVENTORY_PAGE);
+        // The application sends sessions it does not accept back to the login page
+        return driver.getCurrentUrl().contains(SauceConstants.INVENTORY_PAGE);
+    }
+}
@@ -1,6 +1,8 @@
 package com.test.automation.config;
 
 import lombok.Data;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,22 +11,90 @@ import java.io.InputStream;
 import java.util.Properties;
 
 /**
- * Configuration class for framework settings
+ * Configuration class for framework settings.
+ * Settings are layered: defaults, then config.properties, then the named profile selected with
+ * profile (profiles/&lt;name&gt;.properties, e.g. fast-local, grid-burst, perf-audit or offline), then
+ * system properties.
  */
 @Data
 public class FrameworkConfig {
     private static final String CONFIG_FILE = "config.properties";
+    private static final String PROFILE_DIR = "profiles/";
     
+    private String profile;
     private String baseUrl;
     private String browser;
     private int implicitWaitSeconds;
     private int pageLoadTimeoutSeconds;
     private int scriptTimeoutSeconds;
+    private int explicitWaitSeconds;
+    private String pageLoadStrategy;
+    private boolean screenshotOnFailure;
+    private String logLevel;
+    private int suiteThreadCount;
+    private int suiteDataProviderThreadCount;
     private String downloadDirectory;
     private boolean headless;
     private String gridUrl;
     private boolean useGrid;
     private String screenshotDir;
+    private String reportMode;
+    private boolean journalEnabled;
+    private String journalDir;
+    private int retryBudget;
+    private int retryMaxCount;
+    private boolean retryDeferred;
+    private boolean historyEnabled;
+    private String historyDir;
+    private int historyWindow;
+    private boolean quarantineEnabled;
+    private double quarantineThreshold;
+    private int quarantineMinRuns;
+    private boolean schedulerEnabled;
+    private long schedulerDefaultDurationMillis;
+    private boolean impactSelection;
+    private String impactBase;
+    private double impactSampleRate;
+    private String impactSampleSeed;
+    private String shard;
+    private boolean preflightEnabled;
+    private int preflightTimeoutSeconds;
+    private int circuitBreakerThreshold;
+    private int maxSessions;
+    private boolean authCacheEnabled;
+    private boolean perfTimingsEnabled;
+    private String perfDir;
+    private String perfGate;
+    private String perfBudgetFile;
+    private double perfGateTolerance;
+    private double perfGateNoiseMillis;
+    private int perfGateStrikes;
+    private int perfBaselineMinRuns;
+    private String comparisonUsers;
+    private String comparisonReferenceUser;
+    private int comparisonRepetitions;
+    private double comparisonAlpha;
+    private String comparisonExpected;
+    private boolean harEnabled;
+    private String harDir;
+    private boolean driverMetricsEnabled;
+    private int driverMetricsTop;
+    private boolean traceEnabled;
+    private String traceFile;
+    private boolean offlineEnabled;
+    private int offlinePort;
+    private long offlineLatencyMillis;
+    private long offlineLatencyJitterMillis;
+    private String offlineLatencyPages;
+    private String networkProfile;
+    private String networkProfilesFile;
+    private int loadSessions;
+    private int loadRampUpSeconds;
+    private int loadDurationSeconds;
+    private int loadIterations;
+    private String loadUser;
+    private String loadPassword;
+    private double loadMaxErrorRate;
     
     private static FrameworkConfig instance;
     
@@ -49,32 +119,119 @@ public class FrameworkConfig {
             }
             properties.load(input);
             
-            // First read from properties file
-            baseUrl = properties.getProperty("base.url", "https://www.example.com");
-            browser = properties.getProperty("browser", "chrome");
-            implicitWaitSeconds = Integer.parseInt(properties.getProperty("implicit.wait.seconds", "10"));
-            pageLoadTimeoutSeconds = Integer.parseInt(properties.getProperty("page.load.timeout.seconds", "30"));
-            scriptTimeoutSeconds = Integer.parseInt(properties.getProperty("script.timeout.seconds", "30"));
-            downloadDirectory = properties.getProperty("download.dir", System.getProperty("user.dir") + "/downloads");
-            headless = Boolean.parseBoolean(properties.getProperty("headless", "false"));
-            gridUrl = properties.getProperty("grid.url", "http://localhost:4444/wd/hub");
-            useGrid = Boolean.parseBoolean(properties.getProperty("use.grid", "false"));
-            screenshotDir = properties.getProperty("screenshot.dir", System.getProperty("user.dir") + "/screenshots");
+            // Layer the active profile over config.properties
+            profile = get(properties, "profile", "").trim();
+            if (!profile.isEmpty()) {
+                try (InputStream profileInput = getClass().getClassLoader()
+                        .getResourceAsStream(PROFILE_DIR + profile + ".properties")) {
+                    if (profileInput == null) {
+                        throw new IllegalArgumentException("Unknown profile '" + profile + "', no "
+                                + PROFILE_DIR + profile + ".properties on the classpath");
+                    }
+                    properties.load(profileInput);
+                }
+            }
+            
+            // System properties override the profile and config.properties, for every setting
+            baseUrl = get(properties, "base.url", "https://www.example.com");
+            browser = get(properties, "browser", "chrome");
+            implicitWaitSeconds = getInt(properties, "implicit.wait.seconds", 10);
+            pageLoadTimeoutSeconds = getInt(properties, "page.load.timeout.seconds", 30);
+            scriptTimeoutSeconds = getInt(properties, "script.timeout.seconds", 30);
+            explicitWaitSeconds = getInt(properties, "explicit.wait.seconds", 10);
+            pageLoadStrategy = get(properties, "page.load.strategy", "normal");
+            screenshotOnFailure = getBoolean(properties, "screenshot.on.failure", true);
+            logLevel = get(properties, "log.level", "");
+            suiteThreadCount = getInt(properties, "suite.thread.count", 0);
+            suiteDataProviderThreadCount = getInt(properties, "suite.dataprovider.thread.count", 0);
+            downloadDirectory = get(properties, "download.dir", System.getProperty("user.dir") + "/downloads");
+            headless = getBoolean(properties, "headless", false);
+            // -DrunMode=headed is kept as a shortcut for -Dheadless=false
+            if ("headed".equalsIgnoreCase(System.getProperty("runMode"))) {
+                headless = false;
+            }
+            gridUrl = get(properties, "grid.url", "http://localhost:4444/wd/hub");
+            useGrid = getBoolean(properties, "use.grid", false);
+            screenshotDir = get(properties, "screenshot.dir", System.getProperty("user.dir") + "/screenshots");
+            reportMode = get(properties, "report.mode", "spark");
+            journalEnabled = getBoolean(properties, "journal.enabled", false);
+            journalDir = get(properties, "journal.dir", "test-output/journal");
+            retryBudget = getInt(properties, "retry.budget", 5);
+            retryMaxCount = getInt(properties, "retry.max.count", 1);
+            retryDeferred = getBoolean(properties, "retry.deferred", true);
+            historyEnabled = getBoolean(properties, "history.enabled", true);
+            historyDir = get(properties, "history.dir", "test-history");
+            historyWindow = getInt(properties, "history.window", 20);
+            quarantineEnabled = getBoolean(properties, "quarantine.enabled", true);
+            quarantineThreshold = getDouble(properties, "quarantine.threshold", 0.3);
+            quarantineMinRuns = getInt(properties, "quarantine.min.runs", 5);
+            schedulerEnabled = getBoolean(properties, "scheduler.enabled", true);
+            schedulerDefaultDurationMillis = getLong(properties, "scheduler.default.duration.ms", 10000);
+            impactSelection = getBoolean(properties, "impact.selection", false);
+            impactBase = get(properties, "impact.base", "HEAD~1");
+            impactSampleRate = getDouble(properties, "impact.sample.rate", 0.1);
+            impactSampleSeed = get(properties, "impact.sample.seed", "");
+            shard = get(properties, "shard", "");
+            preflightEnabled = getBoolean(properties, "preflight.enabled", true);
+            preflightTimeoutSeconds = getInt(properties, "preflight.timeout.seconds", 10);
+            circuitBreakerThreshold = getInt(properties, "circuit.breaker.threshold", 5);
+            maxSessions = getInt(properties, "max.sessions", 4);
+            authCacheEnabled = getBoolean(properties, "auth.cache.enabled", true);
+            perfTimingsEnabled = getBoolean(properties, "perf.timings.enabled", false);
+            perfDir = get(properties, "perf.dir", "");
+            perfGate = get(properties, "perf.gate", "warn");
+            perfBudgetFile = get(properties, "perf.budget.file", "perf-budgets.properties");
+            perfGateTolerance = getDouble(properties, "perf.gate.tolerance", 0.2);
+            perfGateNoiseMillis = getDouble(properties, "perf.gate.noise.ms", 50);
+            perfGateStrikes = getInt(properties, "perf.gate.strikes", 2);
+            perfBaselineMinRuns = getInt(properties, "perf.baseline.min.runs", 3);
+            comparisonUsers = get(properties, "comparison.users", "standard_user,performance_glitch_user,visual_user");
+            comparisonReferenceUser = get(properties, "comparison.reference.user", "standard_user");
+            comparisonRepetitions = getInt(properties, "comparison.repetitions", 10);
+            comparisonAlpha = getDouble(properties, "comparison.alpha", 0.05);
+            comparisonExpected = get(properties, "comparison.expected", "");
+            harEnabled = getBoolean(properties, "har.enabled", false);
+            harDir = get(properties, "har.dir", "");
+            driverMetricsEnabled = getBoolean(properties, "driver.metrics.enabled", true);
+            driverMetricsTop = getInt(properties, "driver.metrics.top", 10);
+            traceEnabled = getBoolean(properties, "trace.enabled", false);
+            traceFile = get(properties, "trace.file", "");
+            offlineEnabled = getBoolean(properties, "offline.enabled", false);
+            offlinePort = getInt(properties, "offline.port", 0);
+            offlineLatencyMillis = getLong(properties, "offline.latency.ms", 0);
+            offlineLatencyJitterMillis = getLong(properties, "offline.latency.jitter.ms", 0);
+            offlineLatencyPages = get(properties, "offline.latency.pages", "");
+            networkProfile = get(properties, "network.profile", "");
+            networkProfilesFile = get(properties, "network.profiles.file", "network-profiles.properties");
+            loadSessions = getInt(properties, "load.sessions", 4);
+            loadRampUpSeconds = getInt(properties, "load.rampup.seconds", 10);
+            loadDurationSeconds = getInt(properties, "load.duration.seconds", 60);
+            loadIterations = getInt(properties, "load.iterations", 0);
+            loadUser = get(properties, "load.user", "standard_user");
+            loadPassword = get(properties, "load.password", "secret_sauce");
+            loadMaxErrorRate = getDouble(properties, "load.max.error.rate", 0.01);
             
-            // Then override with system properties if provided (adding these lines)
-            // This ensures command-line arguments take priority
-            browser = System.getProperty("browser", browser);
-            headless = Boolean.parseBoolean(System.getProperty("headless", String.valueOf(headless)));
-            baseUrl = System.getProperty("base.url", baseUrl);
-            useGrid = Boolean.parseBoolean(System.getProperty("use.grid", String.valueOf(useGrid)));
-            gridUrl = System.getProperty("grid.url", gridUrl);
+            // Applied here, so the level holds from the first framework log line on
+            if (!logLevel.isEmpty()) {
+                Configurator.setLevel("com.test.automation", Level.toLevel(logLevel, Level.INFO));
+            }
             
             // Add debug logging to print final values
             log.info("==== Framework Configuration ====");
+            log.info("profile: {}", profile.isEmpty() ? "none" : profile);
             log.info("browser: {}", browser);
             log.info("useGrid: {}", useGrid);
             log.info("gridUrl: {}", gridUrl);
             log.info("headless: {}", headless);
+            log.info("timeouts: implicit {} s, explicit {} s, page load {} s ({}), script {} s", implicitWaitSeconds,
+                    explicitWaitSeconds, pageLoadTimeoutSeconds, pageLoadStrategy, scriptTimeoutSeconds);
+            log.info("reportMode: {}", reportMode);
+            log.info("retryBudget: {}, retryMaxCount: {}, retryDeferred: {}", retryBudget, retryMaxCount, retryDeferred);
+            log.info("historyEnabled: {}, quarantineEnabled: {}, schedulerEnabled: {}", historyEnabled, quarantineEnabled,
+                    schedulerEnabled);
+            log.info("maxSessions: {}, authCacheEnabled: {}", maxSessions, authCacheEnabled);
+            log.info("impactSelection: {}, shard: {}", impactSelection ? "against " + impactBase : "off",
+                    shard.isEmpty() ? "all" : shard);
             log.info("==============================");
             
         } catch (IOException e) {
@@ -82,4 +239,34 @@ public class FrameworkConfig {
             // Use defaults
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Gets a setting: the system property of that name if set, else the value of the profile or
+     * config.properties, else the default
+     * 
+     * @param properties config.properties with the active profile layered over it
+     * @param key Setting name
+     * @param defaultValue Value if the setting is not set anywhere
+     * @return Setting value
+     */
+    private static String get(Properties properties, String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? value : properties.getProperty(key, defaultValue);
+    }
+    
+    private static int getInt(Properties properties, String key, int defaultValue) {
+        return Integer.parseInt(get(properties, key, String.valueOf(defaultValue)).trim());
+    }
+    
+    private static long getLong(Properties properties, String key, long defaultValue) {
+        return Long.parseLong(get(properties, key, String.valueOf(defaultValue)).trim());
+    }
+    
+    private static double getDouble(Properties properties, String key, double defaultValue) {
+        return Double.parseDouble(get(properties, key, String.valueOf(defaultValue)).trim());
+    }
+    
+    private static boolean getBoolean(Properties properties, String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(properties, key, String.valueOf(defaultValue)).trim());
+    }
+}
@@ -30,6 +30,16 @@ public class SauceConstants {
     
     // Product properties
     public static final String PRODUCT_NAME_PREFIX = "Sauce Labs";
+    public static final String PRODUCT_BACKPACK = "Sauce Labs Backpack";
+    public static final String PRODUCT_BIKE_LIGHT = "Sauce Labs Bike Light";
+    public static final String PRODUCT_BOLT_T_SHIRT = "Sauce Labs Bolt T-Shirt";
+    public static final String PRODUCT_FLEECE_JACKET = "Sauce Labs Fleece Jacket";
+    public static final String PRODUCT_ONESIE = "Sauce Labs Onesie";
+    public static final String PRODUCT_RED_T_SHIRT = "Test.allTheThings() T-Shirt (Red)";
+    
+    // Client-side state
+    public static final String SESSION_COOKIE = "session-username";
+    public static final String CART_STORAGE_KEY = "cart-contents";
     
     // Sort options
     public static final String SORT_NAME_ASC = "az";
@@ -1,8 +1,15 @@
 package com.test.automation.factory;
 
 import com.test.automation.config.FrameworkConfig;
+import com.test.automation.jfr.DriverSessionEvent;
+import com.test.automation.jfr.FrameworkEvents;
+import com.test.automation.network.NetworkEmulator;
+import com.test.automation.perf.CommandLatencyRecorder;
+import com.test.automation.trace.TraceCommandListener;
+import com.test.automation.trace.TraceRecorder;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -12,11 +19,18 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Reporter;
+import org.testng.SkipException;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,6 +42,10 @@ public class DriverFactory {
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     private static final ThreadLocal<WebDriverWait> wait = new ThreadLocal<>();
     private static final FrameworkConfig config = FrameworkConfig.getInstance();
+    private static final int SESSION_WAIT_MINUTES = 10;
+    // Shared by the method and data provider thread pools, so together they never exceed max.sessions browsers
+    private static final Semaphore sessions = new Semaphore(Math.max(1, config.getMaxSessions()), true);
+    private static final ThreadLocal<Boolean> holdsSession = new ThreadLocal<>();
     
     static {
         // Add shutdown hook to clean up any remaining driver instances
@@ -50,6 +68,15 @@ public class DriverFactory {
         return driver.get();
     }
     
+    /**
+     * Checks whether the current thread has a WebDriver instance, without creating one
+     * 
+     * @return true if a WebDriver is initialized for the current thread
+     */
+    public static boolean hasDriver() {
+        return driver.get() != null;
+    }
+    
     /**
      * Gets the current WebDriverWait instance
      * Creates a new instance if none exists
@@ -58,7 +85,7 @@ public class DriverFactory {
      */
     public static WebDriverWait getWait() {
         if (wait.get() == null) {
-            wait.set(new WebDriverWait(getDriver(), Duration.ofSeconds(10)));
+            wait.set(new WebDriverWait(getDriver(), Duration.ofSeconds(config.getExplicitWaitSeconds())));
         }
         return wait.get();
     }
@@ -67,9 +94,30 @@ public class DriverFactory {
      * Initializes a new WebDriver instance based on configuration
      */
     private static void initializeDriver() {
+        DriverSessionEvent event = new DriverSessionEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
+        try {
+            createDriver();
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitSessionEvent(event, "create", outcome);
+        }
+    }
+    
+    /**
+     * Creates, configures and registers the WebDriver of the current thread
+     */
+    private static void createDriver() {
+        // Checked before a session slot is taken and the browser starts, so an unknown profile holds neither
+        NetworkEmulator networkEmulator = NetworkEmulator.getInstance();
+        String networkProfile = networkEmulator.resolveProfile(Reporter.getCurrentTestResult());
+        networkEmulator.getConditions(networkProfile);
+        acquireSession();
+        WebDriver webDriver = null;
         try {
-            WebDriver webDriver;
-            
             if (config.isUseGrid()) {
                 webDriver = createRemoteDriver();
             } else {
@@ -77,26 +125,102 @@ public class DriverFactory {
             }
             
             // Set implicit wait
-            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWaitSeconds()));
             
             // Set page load timeout
-            webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+            webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeoutSeconds()));
             
             // Set script timeout
-            webDriver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
+            webDriver.manage().timeouts().scriptTimeout(Duration.ofSeconds(config.getScriptTimeoutSeconds()));
             
             // Maximize window
             webDriver.manage().window().maximize();
             
+            // Record the latency and trace spans of the test's commands, not of the session setup above
+            List<WebDriverListener> listeners = new ArrayList<>();
+            if (config.isDriverMetricsEnabled()) {
+                listeners.add(CommandLatencyRecorder.getInstance());
+            }
+            if (TraceRecorder.getInstance().isEnabled()) {
+                listeners.add(new TraceCommandListener());
+            }
+            if (!listeners.isEmpty()) {
+                webDriver = new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(webDriver);
+            }
+            
+            if (!NetworkEmulator.NONE.equals(networkProfile)) {
+                networkEmulator.apply(webDriver, networkProfile);
+            }
+            // Registered last, so a failed setup never leaves a browser behind without its session slot
             driver.set(webDriver);
             log.info("WebDriver initialized successfully");
             
         } catch (Exception e) {
+            quitQuietly(webDriver);
+            networkEmulator.reset();
+            releaseSession();
+            if (e instanceof SkipException) {
+                log.warn("WebDriver not initialized: {}", e.getMessage());
+                throw (SkipException) e;
+            }
             log.error("Failed to initialize WebDriver", e);
             throw new RuntimeException("Failed to initialize WebDriver", e);
         }
     }
     
+    private static void commitSessionEvent(DriverSessionEvent event, String action, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.browser = config.getBrowser();
+            event.grid = config.isUseGrid();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Waits for a free browser session slot, so no more than max.sessions browsers run at once
+     */
+    private static void acquireSession() {
+        try {
+            if (!sessions.tryAcquire(SESSION_WAIT_MINUTES, TimeUnit.MINUTES)) {
+                throw new SessionUnavailableException("Timed out waiting for one of " + config.getMaxSessions()
+                        + " browser sessions");
+            }
+            holdsSession.set(Boolean.TRUE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+    
+    /**
+     * Frees the browser session slot held by the current thread
+     */
+    private static void releaseSession() {
+        if (holdsSession.get() != null) {
+            holdsSession.remove();
+            sessions.release();
+        }
+    }
+    
+    /**
+     * Quits a browser whose setup failed before it was registered for the current thread
+     * 
+     * @param webDriver WebDriver of the browser, null if it did not start
+     */
+    private static void quitQuietly(WebDriver webDriver) {
+        if (webDriver == null) {
+            return;
+        }
+        try {
+            webDriver.quit();
+        } catch (Exception e) {
+            log.warn("Error while quitting the WebDriver of a failed setup: {}", e.getMessage());
+        }
+    }
+    
     /**
      * Creates a remote WebDriver instance
      * 
@@ -114,15 +238,30 @@ public class DriverFactory {
             ChromeOptions options = new ChromeOptions();
             options.addArguments("--no-sandbox");
             options.addArguments("--disable-dev-shm-usage");
+            options.setPageLoadStrategy(getPageLoadStrategy());
             return new RemoteWebDriver(new URL(gridUrl), options);
         } else if (browser.equals("firefox")) {
             FirefoxOptions options = new FirefoxOptions();
+            options.setPageLoadStrategy(getPageLoadStrategy());
             return new RemoteWebDriver(new URL(gridUrl), options);
         } else {
             throw new IllegalArgumentException("Unsupported browser for remote execution: " + browser);
         }
     }
     
+    /**
+     * Gets the page load strategy of the active profile
+     * 
+     * @return PageLoadStrategy (normal, eager or none)
+     */
+    private static PageLoadStrategy getPageLoadStrategy() {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(config.getPageLoadStrategy());
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unsupported page.load.strategy: " + config.getPageLoadStrategy());
+        }
+        return strategy;
+    }
+    
     /**
      * Creates a local WebDriver instance
      * 
@@ -130,9 +269,9 @@ public class DriverFactory {
      */
     private static WebDriver createLocalDriver() {
         String browser = config.getBrowser().toLowerCase();
-        // Read the runMode system property (defaulting to headless if not 'headed')
-        String runMode = System.getProperty("runMode", "headless"); 
-        boolean headless = !"headed".equalsIgnoreCase(runMode);
+        // Headless unless the active profile or -Dheadless=false / -DrunMode=headed says otherwise
+        boolean headless = config.isHeadless();
+        PageLoadStrategy pageLoadStrategy = getPageLoadStrategy();
         
         switch (browser) {
             case "chrome":
@@ -151,13 +290,14 @@ public class DriverFactory {
                 // Disable infobars 
                 chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
                 chromeOptions.setExperimentalOption("useAutomationExtension", false);
+                chromeOptions.setPageLoadStrategy(pageLoadStrategy);
 
                 // Conditionally add headless argument
                 if (headless) {
                     log.info("Configuring Chrome to run in headless mode.");
                     chromeOptions.addArguments("--headless=new");
                 } else {
-                    log.info("Configuring Chrome to run in headed mode (runMode=headed detected).");
+                    log.info("Configuring Chrome to run in headed mode.");
                 }
 
                 return new ChromeDriver(chromeOptions);
@@ -165,24 +305,26 @@ public class DriverFactory {
             case "firefox":
                 WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
                 // Conditionally add headless argument for Firefox
                 if (headless) {
                     log.info("Configuring Firefox to run in headless mode.");
                     firefoxOptions.addArguments("--headless");
                 } else {
-                    log.info("Configuring Firefox to run in headed mode (runMode=headed detected).");
+                    log.info("Configuring Firefox to run in headed mode.");
                 }
                 return new FirefoxDriver(firefoxOptions);
                 
             case "edge":
                 WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.setPageLoadStrategy(pageLoadStrategy);
                 // Conditionally add headless argument for Edge (removing previous hardcoding)
                  if (headless) {
                     log.info("Configuring Edge to run in headless mode.");
                     edgeOptions.addArguments("--headless=new");
                 } else {
-                    log.info("Configuring Edge to run in headed mode (runMode=headed detected).");
+                    log.info("Configuring Edge to run in headed mode.");
                 }
                 return new EdgeDriver(edgeOptions);
                 
@@ -208,6 +350,7 @@ public class DriverFactory {
             } finally {
                 driver.remove();
                 wait.remove();
+                releaseSession();
             }
         }
     }
@@ -216,6 +359,10 @@ public class DriverFactory {
      * Quits the current WebDriver instance and removes it from ThreadLocal
      */
     public static void quitDriver() {
+        boolean hasSession = driver.get() != null;
+        DriverSessionEvent event = new DriverSessionEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
         try {
             WebDriver currentDriver = driver.get();
             if (currentDriver != null) {
@@ -225,6 +372,7 @@ public class DriverFactory {
                         currentDriver.switchTo().window(handle).close();
                     }
                 } catch (Exception e) {
+                    outcome = FrameworkEvents.outcome(e);
                     log.warn("Error closing browser windows", e);
                 }
                 
@@ -233,11 +381,17 @@ public class DriverFactory {
                 log.info("WebDriver quit successfully");
             }
         } catch (Exception e) {
+            outcome = FrameworkEvents.outcome(e);
             log.error("Error while quitting WebDriver", e);
         } finally {
             // Always clean up ThreadLocal storage
             driver.remove();
             wait.remove();
+            releaseSession();
+            if (hasSession) {
+                NetworkEmulator.getInstance().reset();
+                commitSessionEvent(event, "quit", outcome);
+            }
         }
     }
 } 
\ No newline at end of file
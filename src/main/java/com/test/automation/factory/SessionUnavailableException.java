@@ -0,0 +1,19 @@
+package com.test.automation.factory;
+
+/**
+ * Thrown when no browser session slot frees up in time, i.e. the run has more parallel
+ * tests than max.sessions browsers and the sessions in use did not end
+ */
+public class SessionUnavailableException extends IllegalStateException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Creates the exception
+     * 
+     * @param message Detail message
+     */
+    public SessionUnavailableException(String message) {
+        super(message);
+    }
+}
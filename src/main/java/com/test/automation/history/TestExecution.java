@@ -0,0 +1,22 @@
+package com.test.automation.history;
+
+import lombok.Value;
+
+/**
+ * Outcome of one test invocation (method and parameters) in one run
+ */
+@Value
+public class TestExecution {
+    
+    public static final String PASS = "PASS";
+    public static final String FAIL = "FAIL";
+    public static final String SKIP = "SKIP";
+    
+    String runId;
+    /** Git commit the run tested, empty if unknown or the working tree had uncommitted changes */
+    String revision;
+    String testKey;
+    String outcome;
+    boolean retried;
+    long durationMillis;
+}
@@ -0,0 +1,305 @@
+package com.test.automation.history;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local store of test outcomes, retries and durations across runs.
+ * History is kept per test invocation key (class#method[parameters]) in a tab separated file under
+ * history.dir, trimmed to the last history.window runs of each key, together with the git commit each
+ * run tested. The current run's executions are collected in memory and appended by {@link #save()}
+ * at the end of the run.
+ */
+@Slf4j
+public class TestHistoryStore {
+    
+    private static final String HISTORY_FILE = "test-history.tsv";
+    private static TestHistoryStore instance;
+    
+    private final boolean enabled;
+    private final Path historyFile;
+    private final int window;
+    private final String runId;
+    private final String revision;
+    private final Map<String, List<TestExecution>> history = new LinkedHashMap<>();
+    private final Map<String, TestExecution> currentRun = new ConcurrentHashMap<>();
+    
+    private TestHistoryStore(FrameworkConfig config) {
+        this.enabled = config.isHistoryEnabled();
+        this.historyFile = Paths.get(config.getHistoryDir(), HISTORY_FILE);
+        this.window = Math.max(1, config.getHistoryWindow());
+        this.runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        if (enabled) {
+            this.revision = resolveRevision();
+            load();
+        } else {
+            this.revision = "";
+        }
+    }
+    
+    /**
+     * Gets the history store, loading the history file on first use
+     * 
+     * @return TestHistoryStore instance
+     */
+    public static synchronized TestHistoryStore getInstance() {
+        if (instance == null) {
+            instance = new TestHistoryStore(FrameworkConfig.getInstance());
+        }
+        return instance;
+    }
+    
+    /**
+     * Checks whether history is recorded and used
+     * 
+     * @return true if the history store is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Gets the recorded executions of a test from previous runs
+     * 
+     * @param testKey Test invocation key
+     * @return Executions, oldest first; empty if the test has no history
+     */
+    public synchronized List<TestExecution> getHistory(String testKey) {
+        return Collections.unmodifiableList(history.getOrDefault(normalize(testKey), Collections.emptyList()));
+    }
+    
+    /**
+     * Gets the keys of all tests with recorded history
+     * 
+     * @return Test invocation keys
+     */
+    public synchronized List<String> getTestKeys() {
+        return new ArrayList<>(history.keySet());
+    }
+    
+    /**
+     * Records a finished attempt of a test in the current run. Later attempts of the same test
+     * (retries) replace the outcome and keep the retried flag.
+     * 
+     * @param testKey Test invocation key
+     * @param outcome PASS, FAIL or SKIP
+     * @param retried true if this attempt is going to be retried
+     * @param durationMillis Duration of the attempt
+     */
+    public void record(String testKey, String outcome, boolean retried, long durationMillis) {
+        if (!enabled) {
+            return;
+        }
+        String key = normalize(testKey);
+        currentRun.merge(key, new TestExecution(runId, revision, key, outcome, retried, durationMillis),
+                (previous, latest) -> new TestExecution(runId, revision, key, latest.getOutcome(),
+                        previous.isRetried() || latest.isRetried(), latest.getDurationMillis()));
+    }
+    
+    /**
+     * Calculates how flaky a test has been, see {@link #flakinessScore(List)}
+     * 
+     * @param testKey Test invocation key
+     * @return Share of flaky runs in the history window, between 0 and 1
+     */
+    public synchronized double getFlakinessScore(String testKey) {
+        return flakinessScore(history.getOrDefault(normalize(testKey), Collections.emptyList()));
+    }
+    
+    /**
+     * Checks whether a test is flaky enough to be quarantined
+     * 
+     * @param testKey Test invocation key
+     * @param threshold Minimum flakiness score
+     * @param minRuns Minimum number of runs in the history
+     * @return true if the test has at least minRuns runs and a flakiness score of at least threshold
+     */
+    public synchronized boolean isFlaky(String testKey, double threshold, int minRuns) {
+        return isFlaky(history.getOrDefault(normalize(testKey), Collections.emptyList()), threshold, minRuns);
+    }
+    
+    /**
+     * Calculates how flaky a test has been. A run counts as flaky when the test needed a retry to
+     * pass, or when its outcome differs from the previous run of the same git commit. An outcome
+     * that changes together with the code (a regression, then its fix) is not flakiness; runs of an
+     * unknown or locally modified revision only count their retries.
+     * 
+     * @param executions Executions of the test, oldest first
+     * @return Share of flaky runs, between 0 and 1
+     */
+    static double flakinessScore(List<TestExecution> executions) {
+        if (executions.isEmpty()) {
+            return 0;
+        }
+        int flakyRuns = 0;
+        Map<String, String> previousOutcomes = new HashMap<>();
+        for (TestExecution execution : executions) {
+            String outcome = execution.getOutcome();
+            boolean passedOnRetry = execution.isRetried() && TestExecution.PASS.equals(outcome);
+            boolean flipped = false;
+            if (!execution.getRevision().isEmpty() && !TestExecution.SKIP.equals(outcome)) {
+                String previousOutcome = previousOutcomes.put(execution.getRevision(), outcome);
+                flipped = previousOutcome != null && !previousOutcome.equals(outcome);
+            }
+            if (passedOnRetry || flipped) {
+                flakyRuns++;
+            }
+        }
+        return flakyRuns / (double) executions.size();
+    }
+    
+    /**
+     * Checks whether a history is long and flaky enough to quarantine its test
+     * 
+     * @param executions Executions of the test, oldest first
+     * @param threshold Minimum flakiness score
+     * @param minRuns Minimum number of runs
+     * @return true if there are at least minRuns executions with a flakiness score of at least threshold
+     */
+    static boolean isFlaky(List<TestExecution> executions, double threshold, int minRuns) {
+        return executions.size() >= minRuns && flakinessScore(executions) >= threshold;
+    }
+    
+    /**
+     * Predicts the duration of a test from its recent executions, ignoring skipped ones
+     * 
+     * @param testKey Test invocation key
+     * @param runs Number of most recent executions to average
+     * @return Average duration in milliseconds, or -1 if the test has no usable history
+     */
+    public synchronized long getPredictedDurationMillis(String testKey, int runs) {
+        List<TestExecution> executions = history.getOrDefault(normalize(testKey), Collections.emptyList());
+        long total = 0;
+        int count = 0;
+        for (int i = executions.size() - 1; i >= 0 && count < runs; i--) {
+            if (!TestExecution.SKIP.equals(executions.get(i).getOutcome())) {
+                total += executions.get(i).getDurationMillis();
+                count++;
+            }
+        }
+        return count == 0 ? -1 : total / count;
+    }
+    
+    /**
+     * Merges the current run into the history and writes the trimmed history back to disk
+     */
+    public synchronized void save() {
+        if (!enabled || currentRun.isEmpty()) {
+            return;
+        }
+        for (TestExecution execution : currentRun.values()) {
+            List<TestExecution> executions = history.computeIfAbsent(execution.getTestKey(), key -> new ArrayList<>());
+            executions.add(execution);
+            if (executions.size() > window) {
+                executions.subList(0, executions.size() - window).clear();
+            }
+        }
+        
+        try {
+            Files.createDirectories(historyFile.getParent());
+            Path tempFile = historyFile.resolveSibling(HISTORY_FILE + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (List<TestExecution> executions : history.values()) {
+                    for (TestExecution execution : executions) {
+                        writer.write(String.join("\t", execution.getRunId(), execution.getRevision(), execution.getTestKey(),
+                                execution.getOutcome(), String.valueOf(execution.isRetried()),
+                                String.valueOf(execution.getDurationMillis())));
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} test executions of run {} to {}", currentRun.size(), runId, historyFile);
+            currentRun.clear();
+        } catch (IOException e) {
+            log.error("Failed to save test history to {}", historyFile, e);
+        }
+    }
+    
+    // Keeps keys on a single line and free of the field separator
+    private static String normalize(String testKey) {
+        return testKey.replaceAll("[\\t\\r\\n]", " ");
+    }
+    
+    /**
+     * Gets the commit of the working tree, or an empty string if git is unavailable or tracked files
+     * have uncommitted changes (their outcomes could belong to any revision)
+     */
+    private static String resolveRevision() {
+        try {
+            String head = git("rev-parse", "HEAD");
+            return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? head : "";
+        } catch (IOException e) {
+            log.warn("Could not determine the git revision, outcome changes between runs are not scored: {}",
+                    e.getMessage());
+            return "";
+        }
+    }
+    
+    private static String git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        Collections.addAll(command, args);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("git " + String.join(" ", args) + " failed: " + output.toString().trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return output.toString().trim();
+    }
+    
+    private void load() {
+        if (!Files.exists(historyFile)) {
+            log.info("No test history found at {}, starting a new one", historyFile);
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                // Histories written before the revision column have five fields
+                String[] fields = line.split("\t", -1);
+                if (fields.length == 5) {
+                    fields = new String[] {fields[0], "", fields[1], fields[2], fields[3], fields[4]};
+                } else if (fields.length != 6) {
+                    continue;
+                }
+                TestExecution execution = new TestExecution(fields[0], fields[1], fields[2], fields[3],
+                        Boolean.parseBoolean(fields[4]), Long.parseLong(fields[5]));
+                history.computeIfAbsent(execution.getTestKey(), key -> new ArrayList<>()).add(execution);
+            }
+            log.info("Loaded history of {} tests from {}", history.size(), historyFile);
+        } catch (IOException | NumberFormatException e) {
+            log.error("Failed to load test history from {}, starting a new one", historyFile, e);
+            history.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.test.automation.impact;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Records which page object and component methods the running test touches.
+ * Woven at load time by the aspectjweaver agent (see META-INF/aop-ajc.xml); without the agent
+ * nothing is recorded. Capture is per thread, between {@link #begin()} and {@link #collect()}.
+ */
+@Aspect
+public class PageUsageAspect {
+    
+    private static final ThreadLocal<Set<JoinPoint.StaticPart>> touched = new ThreadLocal<>();
+    private static volatile boolean woven;
+    
+    @Before("execution(* com.test.automation.pages..*.*(..)) || execution(com.test.automation.pages..*.new(..))")
+    public void recordUsage(JoinPoint.StaticPart joinPoint) {
+        woven = true;
+        Set<JoinPoint.StaticPart> methods = touched.get();
+        if (methods != null) {
+            methods.add(joinPoint);
+        }
+    }
+    
+    /**
+     * Checks whether page objects are instrumented, i.e. the weaver agent is active and a page
+     * object method has run
+     * 
+     * @return true if usage is being recorded
+     */
+    public static boolean isWoven() {
+        return woven;
+    }
+    
+    /**
+     * Starts recording for the test on the current thread, if not already recording
+     */
+    public static void begin() {
+        if (touched.get() == null) {
+            touched.set(Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+    }
+    
+    /**
+     * Stops recording for the current thread
+     * 
+     * @return Touched methods as "fully.qualified.Class#method", sorted
+     */
+    public static Set<String> collect() {
+        Set<JoinPoint.StaticPart> methods = touched.get();
+        touched.remove();
+        if (methods == null) {
+            return Collections.emptySet();
+        }
+        return methods.stream()
+                .filter(joinPoint -> !joinPoint.getSignature().getName().startsWith("lambda$"))
+                .map(joinPoint -> joinPoint.getSignature().getDeclaringTypeName() + "#" + joinPoint.getSignature().getName())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,139 @@
+package com.test.automation.impact;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Test-to-code map: the page object and component methods each test method touched in its most
+ * recent run. Stored as one tab separated line per test method in history.dir/test-impact.tsv.
+ */
+@Slf4j
+public class TestImpactMap {
+    
+    private static final String MAP_FILE = "test-impact.tsv";
+    private static TestImpactMap instance;
+    
+    private final Path mapFile;
+    private final Map<String, Set<String>> usage = new TreeMap<>();
+    private final Set<String> updatedThisRun = new HashSet<>();
+    
+    private TestImpactMap(Path mapFile) {
+        this.mapFile = mapFile;
+        load();
+    }
+    
+    /**
+     * Gets the test impact map, loading it on first use
+     * 
+     * @return TestImpactMap instance
+     */
+    public static synchronized TestImpactMap getInstance() {
+        if (instance == null) {
+            instance = new TestImpactMap(Paths.get(FrameworkConfig.getInstance().getHistoryDir(), MAP_FILE));
+        }
+        return instance;
+    }
+    
+    /**
+     * Records code touched by a test method. The first record of a test in a run replaces its
+     * previous entry; further records in the same run (data provider rows, retries) are added to it.
+     * 
+     * @param testMethod Test method as "fully.qualified.Class#method"
+     * @param touched Touched code as "fully.qualified.Class#method"
+     */
+    public synchronized void record(String testMethod, Set<String> touched) {
+        if (updatedThisRun.add(testMethod)) {
+            usage.put(testMethod, new TreeSet<>(touched));
+        } else {
+            usage.computeIfAbsent(testMethod, key -> new TreeSet<>()).addAll(touched);
+        }
+    }
+    
+    /**
+     * Checks whether the map has an entry for a test method
+     * 
+     * @param testMethod Test method as "fully.qualified.Class#method"
+     * @return true if the test method's code usage is known
+     */
+    public synchronized boolean contains(String testMethod) {
+        return usage.containsKey(testMethod);
+    }
+    
+    /**
+     * Checks whether the map has entries for any test method of a class
+     * 
+     * @param testClass Fully qualified test class name
+     * @return true if at least one test method of the class is mapped
+     */
+    public synchronized boolean hasTestsOf(String testClass) {
+        String prefix = testClass + "#";
+        return usage.keySet().stream().anyMatch(key -> key.startsWith(prefix));
+    }
+    
+    /**
+     * Gets the code touched by a test method
+     * 
+     * @param testMethod Test method as "fully.qualified.Class#method"
+     * @return Touched code as "fully.qualified.Class#method", empty if unknown
+     */
+    public synchronized Set<String> getUsage(String testMethod) {
+        return Collections.unmodifiableSet(usage.getOrDefault(testMethod, Collections.emptySet()));
+    }
+    
+    /**
+     * Writes the map to disk if any test was recorded in this run
+     */
+    public synchronized void save() {
+        if (updatedThisRun.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(mapFile.getParent());
+            Path tempFile = mapFile.resolveSibling(MAP_FILE + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Set<String>> entry : usage.entrySet()) {
+                    writer.write(entry.getKey() + "\t" + String.join(",", entry.getValue()));
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, mapFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved code usage of {} test methods to {}", updatedThisRun.size(), mapFile);
+            updatedThisRun.clear();
+        } catch (IOException e) {
+            log.error("Failed to save test impact map to {}", mapFile, e);
+        }
+    }
+    
+    private void load() {
+        if (!Files.exists(mapFile)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(mapFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 2);
+                if (fields.length == 2) {
+                    usage.put(fields[0], new TreeSet<>(Arrays.asList(fields[1].isEmpty() ? new String[0] : fields[1].split(","))));
+                }
+            }
+            log.info("Loaded code usage of {} test methods from {}", usage.size(), mapFile);
+        } catch (IOException e) {
+            log.error("Failed to load test impact map from {}", mapFile, e);
+            usage.clear();
+        }
+    }
+}
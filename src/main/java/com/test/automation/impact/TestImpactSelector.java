@@ -0,0 +1,185 @@
+package com.test.automation.impact;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects the test methods affected by the files changed since a git revision.
+ * A test method is affected when it touched a changed page object or component class (per the
+ * {@link TestImpactMap}), when its own test class changed, or when it has no map entry yet.
+ * Changes to any other source, resource or build file make every test affected. Of the unaffected
+ * tests, a safety sample is still selected. Whether a test is in the sample depends only on a seed
+ * and the test's name, so every shard and lane of a run makes the same choice, and a rerun against
+ * the same base commit samples the same tests.
+ */
+@Slf4j
+public class TestImpactSelector {
+    
+    private static final String PAGES_PACKAGE = "com.test.automation.pages.";
+    private static final String MAIN_SOURCES = "src/main/java/";
+    private static final String TEST_SOURCES = "src/test/java/";
+    
+    /**
+     * Why a test method was or was not selected
+     */
+    public enum Reason {
+        ALL, AFFECTED, TEST_CHANGED, UNMAPPED, SAMPLE, UNAFFECTED;
+        
+        /**
+         * Checks whether the test method runs
+         * 
+         * @return true unless the test method was deselected
+         */
+        public boolean isSelected() {
+            return this != UNAFFECTED;
+        }
+    }
+    
+    private final TestImpactMap impactMap;
+    private final double sampleRate;
+    private String sampleSeed;
+    private final Set<String> changedPageClasses = new HashSet<>();
+    private final Set<String> changedTestClasses = new HashSet<>();
+    private final Map<String, Reason> decisions = new ConcurrentHashMap<>();
+    private String runAllReason;
+    
+    /**
+     * Creates a selector for the changes in the working tree since a git revision
+     * 
+     * @param baseRevision Git revision to compare with, e.g. HEAD~1 or origin/main
+     * @param impactMap Test-to-code map of previous runs
+     * @param sampleRate Share of unaffected tests to run anyway, between 0 and 1
+     * @param sampleSeed Seed of the safety sample; empty for the commit hash of the base revision
+     */
+    public TestImpactSelector(String baseRevision, TestImpactMap impactMap, double sampleRate, String sampleSeed) {
+        this.impactMap = impactMap;
+        this.sampleRate = sampleRate;
+        this.sampleSeed = sampleSeed;
+        try {
+            if (sampleSeed.isEmpty()) {
+                this.sampleSeed = git("rev-parse", "--verify", baseRevision + "^{commit}").get(0);
+            }
+            List<String> changedFiles = git("diff", "--name-only", baseRevision);
+            changedFiles.addAll(git("ls-files", "--others", "--exclude-standard"));
+            classify(changedFiles);
+            log.info("Impact selection against {}: {} changed files, page objects {}, test classes {}{}", baseRevision,
+                    changedFiles.size(), changedPageClasses, changedTestClasses,
+                    runAllReason == null ? "" : ", running all tests: " + runAllReason);
+        } catch (IOException e) {
+            runAllReason = "changed files unknown (" + e.getMessage() + ")";
+            log.warn("Impact selection disabled, {}", runAllReason);
+        }
+    }
+    
+    /**
+     * Decides whether a test method runs. Decisions are cached, so a sampled test stays
+     * selected in every lane of the suite.
+     * 
+     * @param testClass Fully qualified test class name
+     * @param testMethod Test method name
+     * @return Reason the test method was selected or deselected
+     */
+    public Reason decide(String testClass, String testMethod) {
+        return decisions.computeIfAbsent(testClass + "#" + testMethod, key -> {
+            if (runAllReason != null) {
+                return Reason.ALL;
+            }
+            if (changedTestClasses.contains(testClass)) {
+                return Reason.TEST_CHANGED;
+            }
+            if (!impactMap.contains(key)) {
+                return Reason.UNMAPPED;
+            }
+            boolean affected = impactMap.getUsage(key).stream()
+                    .map(usage -> usage.substring(0, usage.indexOf('#')).split("\\$")[0])
+                    .anyMatch(changedPageClasses::contains);
+            if (affected) {
+                return Reason.AFFECTED;
+            }
+            return inSample(sampleSeed, key, sampleRate) ? Reason.SAMPLE : Reason.UNAFFECTED;
+        });
+    }
+    
+    /**
+     * Decides whether a test method is in the safety sample, from a hash of the seed and its key
+     * 
+     * @param seed Sample seed
+     * @param testKey Test method key (class#method)
+     * @param sampleRate Share of test methods in the sample, between 0 and 1
+     * @return true for about sampleRate of all keys, always the same for the same seed and key
+     */
+    static boolean inSample(String seed, String testKey, double sampleRate) {
+        // 64-bit FNV-1a, then the SplitMix64 finalizer to spread similar keys
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (seed + "|" + testKey).getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return (hash >>> 11) * 0x1.0p-53 < sampleRate;
+    }
+    
+    private void classify(List<String> changedFiles) {
+        for (String file : changedFiles) {
+            if (file.startsWith(MAIN_SOURCES) && file.endsWith(".java")) {
+                String className = toClassName(file, MAIN_SOURCES);
+                if (className.startsWith(PAGES_PACKAGE)) {
+                    changedPageClasses.add(className);
+                } else {
+                    runAllReason = "framework code changed (" + file + ")";
+                }
+            } else if (file.startsWith(TEST_SOURCES) && file.endsWith(".java")) {
+                String className = toClassName(file, TEST_SOURCES);
+                // A changed class without mapped tests is shared code, e.g. BaseTest
+                if (impactMap.hasTestsOf(className)) {
+                    changedTestClasses.add(className);
+                } else {
+                    runAllReason = "shared test code changed (" + file + ")";
+                }
+            } else if (file.startsWith("src/") || file.equals("pom.xml") || file.endsWith("testng.xml")) {
+                runAllReason = "resources or build changed (" + file + ")";
+            }
+        }
+    }
+    
+    private static String toClassName(String file, String sourceRoot) {
+        return file.substring(sourceRoot.length(), file.length() - ".java".length()).replace('/', '.');
+    }
+    
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        Collections.addAll(command, args);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("git " + String.join(" ", args) + " failed: " + String.join(" ", lines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,33 @@
+package com.test.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the creation or quit of a browser session in DriverFactory
+ */
+@Name("com.test.automation.DriverSession")
+@Label("Driver Session")
+@Description("Creation or quit of a browser session, including the wait for a free session slot")
+@Category({"Test Automation", "WebDriver"})
+@StackTrace(false)
+public class DriverSessionEvent extends Event {
+    
+    @Label("Action")
+    @Description("create or quit")
+    public String action;
+    
+    @Label("Browser")
+    public String browser;
+    
+    @Label("Grid")
+    public boolean grid;
+    
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception")
+    public String outcome;
+}
@@ -0,0 +1,29 @@
+package com.test.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a click of a page object in BasePage, including its wait and fallbacks
+ */
+@Name("com.test.automation.ElementClick")
+@Label("Element Click")
+@Description("Click of a page object, including the wait for the element and the retry and JavaScript fallbacks")
+@Category({"Test Automation", "Page Objects"})
+@StackTrace(false)
+public class ElementClickEvent extends Event {
+    
+    @Label("Page")
+    public String page;
+    
+    @Label("Locator")
+    public String locator;
+    
+    @Label("Outcome")
+    @Description("success, jsClick (intercepted click done through JavaScript), or the simple name of the exception")
+    public String outcome;
+}
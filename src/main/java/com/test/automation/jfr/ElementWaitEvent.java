@@ -0,0 +1,33 @@
+package com.test.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an explicit wait of a page object in BasePage
+ */
+@Name("com.test.automation.ElementWait")
+@Label("Element Wait")
+@Description("Explicit wait of a page object for an element condition")
+@Category({"Test Automation", "Page Objects"})
+@StackTrace(false)
+public class ElementWaitEvent extends Event {
+    
+    @Label("Page")
+    public String page;
+    
+    @Label("Condition")
+    @Description("visible or clickable")
+    public String condition;
+    
+    @Label("Locator")
+    public String locator;
+    
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception")
+    public String outcome;
+}
@@ -0,0 +1,56 @@
+package com.test.automation.jfr;
+
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Field values shared by the framework's JFR events
+ */
+public final class FrameworkEvents {
+    
+    public static final String SUCCESS = "success";
+    
+    private FrameworkEvents() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Gets the outcome of a failed operation
+     * 
+     * @param failure Exception the operation failed with
+     * @return Simple name of the exception, or of its cause if it only wraps one
+     */
+    public static String outcome(Throwable failure) {
+        Throwable cause = failure.getClass() == RuntimeException.class && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return cause.getClass().getSimpleName();
+    }
+    
+    /**
+     * Describes the locator of an element without a browser round trip. The toString() of a
+     * PageFactory element looks the element up first, so its locator is read from the proxy's handler.
+     * 
+     * @param element Page object element
+     * @return Locator description, e.g. DefaultElementLocator 'By.id: login-button'
+     */
+    public static String locator(WebElement element) {
+        if (element == null) {
+            return null;
+        }
+        if (Proxy.isProxyClass(element.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(element);
+            try {
+                Field locator = handler.getClass().getDeclaredField("locator");
+                locator.setAccessible(true);
+                return String.valueOf(locator.get(handler));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return handler.getClass().getSimpleName();
+            }
+        }
+        return element.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.test.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the construction of a page object or component in BasePage
+ */
+@Name("com.test.automation.PageConstruction")
+@Label("Page Construction")
+@Description("BasePage construction: element proxies and the page timing collection")
+@Category({"Test Automation", "Page Objects"})
+@StackTrace(false)
+public class PageConstructionEvent extends Event {
+    
+    @Label("Page")
+    public String page;
+}
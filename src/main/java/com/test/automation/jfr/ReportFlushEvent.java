@@ -0,0 +1,31 @@
+package com.test.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for writing the Extent report in ExtentManager
+ */
+@Name("com.test.automation.ReportFlush")
+@Label("Report Flush")
+@Description("Extent report written to disk: a streamed test or the end of the suite")
+@Category({"Test Automation", "Reporting"})
+@StackTrace(false)
+public class ReportFlushEvent extends Event {
+    
+    @Label("Operation")
+    @Description("completeTest or flush")
+    public String operation;
+    
+    @Label("Mode")
+    @Description("streaming or spark")
+    public String mode;
+    
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception")
+    public String outcome;
+}
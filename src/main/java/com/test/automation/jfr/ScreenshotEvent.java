@@ -0,0 +1,32 @@
+package com.test.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a screenshot capture
+ */
+@Name("com.test.automation.Screenshot")
+@Label("Screenshot")
+@Description("Screenshot capture, and saving it to a file where requested")
+@Category({"Test Automation", "WebDriver"})
+@StackTrace(false)
+public class ScreenshotEvent extends Event {
+    
+    @Label("Source")
+    @Description("Class that took the screenshot")
+    public String source;
+    
+    @Label("Size")
+    @DataAmount
+    public long size;
+    
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception")
+    public String outcome;
+}
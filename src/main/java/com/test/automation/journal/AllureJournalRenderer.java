@@ -0,0 +1,110 @@
+package com.test.automation.journal;
+
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Renders journal tests as Allure result files
+ */
+class AllureJournalRenderer {
+    
+    private AllureJournalRenderer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    static void render(List<TestRecord> tests, Path attachmentBase, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(outputDir);
+        
+        for (TestRecord record : tests) {
+            String fullName = record.getClassName() + "." + record.getMethodName();
+            TestResult result = new TestResult()
+                    .setUuid(UUID.randomUUID().toString())
+                    .setHistoryId(UUID.nameUUIDFromBytes((fullName + record.getParameters())
+                            .getBytes(StandardCharsets.UTF_8)).toString())
+                    .setName(record.getDisplayName())
+                    .setFullName(fullName)
+                    .setDescription(record.getDescription())
+                    .setStatus(status(record.getOutcome()))
+                    .setStage(Stage.FINISHED)
+                    .setStart(record.getStart())
+                    .setStop(record.getStop());
+            
+            List<Label> labels = new ArrayList<>();
+            labels.add(new Label().setName("suite").setValue(record.getSimpleClassName()));
+            labels.add(new Label().setName("testClass").setValue(record.getClassName()));
+            labels.add(new Label().setName("testMethod").setValue(record.getMethodName()));
+            labels.add(new Label().setName("thread").setValue(String.valueOf(record.getThreadId())));
+            result.setLabels(labels);
+            
+            if (record.getFailure() != null) {
+                String[] parts = record.getFailure().split("\n", 2);
+                result.setStatusDetails(new StatusDetails().setMessage(parts[0]).setTrace(record.getFailure()));
+            }
+            
+            List<StepResult> steps = new ArrayList<>();
+            for (TestRecord.StepRecord step : record.getSteps()) {
+                steps.add(toStepResult(step));
+            }
+            result.setSteps(steps);
+            
+            List<Attachment> attachments = new ArrayList<>();
+            for (JournalEvent event : record.getAttachments()) {
+                Path file = attachmentBase.resolve(event.getDetail());
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                String fileName = file.getFileName().toString();
+                String source = UUID.randomUUID() + "-attachment" + fileName.substring(fileName.lastIndexOf('.'));
+                try (InputStream content = Files.newInputStream(file)) {
+                    writer.write(source, content);
+                }
+                attachments.add(new Attachment().setName(event.getName()).setSource(source)
+                        .setType(Files.probeContentType(file)));
+            }
+            result.setAttachments(attachments);
+            
+            writer.write(result);
+        }
+    }
+    
+    private static StepResult toStepResult(TestRecord.StepRecord step) {
+        List<StepResult> children = new ArrayList<>();
+        for (TestRecord.StepRecord child : step.getChildren()) {
+            children.add(toStepResult(child));
+        }
+        return new StepResult()
+                .setName(step.getName())
+                .setStatus(step.getStatus() == null ? Status.BROKEN : Status.fromValue(step.getStatus()))
+                .setStage(Stage.FINISHED)
+                .setStart(step.getStart())
+                .setStop(step.getStop())
+                .setSteps(children);
+    }
+    
+    private static Status status(EventType outcome) {
+        switch (outcome) {
+            case TEST_PASS:
+                return Status.PASSED;
+            case TEST_FAIL:
+                return Status.FAILED;
+            default:
+                return Status.SKIPPED;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.test.automation.journal;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only binary journal of test lifecycle events, steps, log lines and attachment references.
+ * Records are encoded without allocation on the calling thread into a reusable thread-local buffer
+ * and copied into one of two shared direct buffers. When the active buffer fills up it is swapped
+ * with the spare one and written to the journal file outside the lock, so other threads keep
+ * recording while the file is written. Reports are rendered from the journal after the run by
+ * {@link JournalRenderer}. Journaling is off unless journal.enabled is set or report.mode is journal.
+ * The running test of a thread is bound in the log4j2 ThreadContext, so log events, which are
+ * appended later on the async logger thread, carry the id of the test that logged them.
+ * 
+ * Record layout: type (byte), timestamp (long), thread id (long), then test id, name and detail
+ * as length-prefixed UTF-8 strings (length -1 for null).
+ */
+@Slf4j
+public class EventJournal {
+    
+    static final int MAGIC = 0x544A4E4C; // "TJNL"
+    static final short VERSION = 1;
+    /** ThreadContext key of the journal id of the test running on a thread */
+    public static final String TEST_ID_KEY = "journalTestId";
+    private static final int BUFFER_SIZE = 256 * 1024;
+    
+    private static volatile EventJournal instance;
+    
+    private final boolean enabled;
+    private final Path journalFile;
+    private final Path attachmentDir;
+    private final FileChannel channel;
+    // Guarded by this; spare is null while the other buffer is being written to the file
+    private ByteBuffer activeBuffer;
+    private ByteBuffer spareBuffer;
+    private final ThreadLocal<ByteBuffer> localBuffer = ThreadLocal.withInitial(() -> ByteBuffer.allocate(4096));
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean closed;
+    
+    /**
+     * Opens a journal file for writing; the run's journal is opened by {@link #getInstance()}
+     * 
+     * @param journalFile Path of the journal file, replaced if it exists
+     * @throws IOException if the file cannot be created
+     */
+    EventJournal(Path journalFile) throws IOException {
+        this.enabled = true;
+        this.journalFile = journalFile;
+        this.attachmentDir = journalFile.resolveSibling(stripExtension(journalFile) + "-attachments");
+        Files.createDirectories(journalFile.getParent());
+        this.channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.activeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.spareBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        // The header goes to disk right away, so a journal cut short by a crash can still be read
+        ByteBuffer header = ByteBuffer.allocate(6).putInt(MAGIC).putShort(VERSION);
+        header.flip();
+        write(header);
+    }
+    
+    private EventJournal() {
+        this.enabled = false;
+        this.journalFile = null;
+        this.attachmentDir = null;
+        this.channel = null;
+    }
+    
+    /**
+     * Gets the journal for the current run, opening it on first use.
+     * Returns a disabled journal that ignores all events when journaling is switched off.
+     * 
+     * @return EventJournal instance
+     */
+    public static synchronized EventJournal getInstance() {
+        if (instance == null) {
+            instance = createInstance();
+        }
+        return instance;
+    }
+    
+    /**
+     * Gets the journal only if it has already been opened.
+     * Used from logging code, which must not trigger configuration loading itself and runs on the
+     * async logger thread, so it must not wait for the journal to be opened either.
+     * 
+     * @return EventJournal instance, or null if no journal has been opened yet
+     */
+    public static EventJournal getIfOpen() {
+        return instance;
+    }
+    
+    private static EventJournal createInstance() {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isJournalEnabled() && !"journal".equalsIgnoreCase(config.getReportMode())) {
+            return new EventJournal();
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        Path file = Paths.get(config.getJournalDir(), "run_" + timestamp + ".tjnl");
+        try {
+            EventJournal journal = new EventJournal(file);
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+            log.info("Event journal opened at: {}", file);
+            return journal;
+        } catch (IOException e) {
+            log.error("Failed to open event journal at {}, journaling disabled", file, e);
+            return new EventJournal();
+        }
+    }
+    
+    /**
+     * Checks whether events are being recorded
+     * 
+     * @return true if the journal is open for writing
+     */
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+    
+    /**
+     * Gets the journal file of the current run
+     * 
+     * @return Path of the journal file, or null if journaling is disabled
+     */
+    public Path getJournalFile() {
+        return journalFile;
+    }
+    
+    /**
+     * Creates a journal-unique id for a test invocation
+     * 
+     * @return New test id
+     */
+    public String newTestId() {
+        return Long.toString(sequence.incrementAndGet());
+    }
+    
+    /**
+     * Records the start of a test and binds the current thread to it
+     * 
+     * @param testId Journal id of the test
+     * @param name Fully qualified test name
+     * @param detail Description and parameters of the test
+     */
+    public void testStarted(String testId, String name, String detail) {
+        if (!isEnabled()) {
+            return;
+        }
+        ThreadContext.put(TEST_ID_KEY, testId);
+        record(EventType.TEST_START, Thread.currentThread().getId(), testId, name, detail);
+    }
+    
+    /**
+     * Records the outcome of a test and unbinds the current thread
+     * 
+     * @param testId Journal id of the test
+     * @param outcome One of TEST_PASS, TEST_FAIL or TEST_SKIP
+     * @param detail Failure trace or skip reason, may be null
+     */
+    public void testFinished(String testId, EventType outcome, String detail) {
+        if (!isEnabled()) {
+            return;
+        }
+        record(outcome, Thread.currentThread().getId(), testId, null, detail);
+        if (testId != null && testId.equals(ThreadContext.get(TEST_ID_KEY))) {
+            ThreadContext.remove(TEST_ID_KEY);
+        }
+    }
+    
+    /**
+     * Records a step event for the test bound to the current thread
+     * 
+     * @param type STEP_START or STEP_STOP
+     * @param name Step name
+     * @param status Step status, only meaningful for STEP_STOP
+     */
+    public void step(EventType type, String name, String status) {
+        if (!isEnabled()) {
+            return;
+        }
+        record(type, Thread.currentThread().getId(), ThreadContext.get(TEST_ID_KEY), name, status);
+    }
+    
+    /**
+     * Records a log line for the test that was running on the logging thread when it was logged
+     * 
+     * @param testId Journal id of the test, taken from the context data of the log event, may be null
+     * @param threadId Id of the thread that produced the log line
+     * @param level Log level
+     * @param message Formatted log message
+     */
+    public void log(String testId, long threadId, String level, String message) {
+        if (!isEnabled()) {
+            return;
+        }
+        record(EventType.LOG, threadId, testId, level, message);
+    }
+    
+    /**
+     * Writes attachment content next to the journal and records a reference to it
+     * 
+     * @param testId Journal id of the test
+     * @param name Attachment name
+     * @param extension File extension of the attachment, e.g. "png"
+     * @param content Attachment content
+     */
+    public void attachment(String testId, String name, String extension, byte[] content) {
+        if (!isEnabled() || content == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(attachmentDir);
+            Path file = attachmentDir.resolve(testId + "-" + sequence.incrementAndGet() + "." + extension);
+            Files.write(file, content);
+            record(EventType.ATTACHMENT, Thread.currentThread().getId(), testId, name,
+                    journalFile.getParent().relativize(file).toString());
+        } catch (IOException e) {
+            log.error("Failed to write journal attachment '{}'", name, e);
+        }
+    }
+    
+    /**
+     * Appends a raw event record to the journal
+     * 
+     * @param type Event type
+     * @param threadId Thread the event belongs to
+     * @param testId Journal id of the test, may be null
+     * @param name Event name, may be null
+     * @param detail Event detail, may be null
+     */
+    public void record(EventType type, long threadId, String testId, String name, String detail) {
+        if (!isEnabled()) {
+            return;
+        }
+        ByteBuffer local = encode(type, threadId, testId, name, detail);
+        ByteBuffer full;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (local.remaining() <= activeBuffer.remaining()) {
+                activeBuffer.put(local);
+                return;
+            }
+            full = takeActiveBuffer();
+            if (full == null) {
+                return;
+            }
+            if (local.remaining() <= activeBuffer.capacity()) {
+                activeBuffer.put(local);
+                local = null;
+            }
+        }
+        // Only one buffer is written at a time, so records reach the file in the order they were added
+        try {
+            write(full);
+            if (local != null) {
+                write(local);
+            }
+        } catch (IOException e) {
+            log.error("Failed to write {} event to journal", type, e);
+        } finally {
+            returnSpareBuffer(full);
+        }
+    }
+    
+    /**
+     * Writes buffered events to disk and closes the journal. Subsequent events are ignored.
+     */
+    public synchronized void close() {
+        if (!enabled || closed) {
+            return;
+        }
+        // Waits for a write in progress; null if another close got there first
+        ByteBuffer full = takeActiveBuffer();
+        if (full == null) {
+            return;
+        }
+        closed = true;
+        try {
+            write(full);
+            channel.force(false);
+            channel.close();
+            log.info("Event journal closed: {}", journalFile);
+        } catch (IOException e) {
+            log.error("Failed to close event journal", e);
+        } finally {
+            // Wakes threads still waiting for the spare buffer, which then see the journal closed
+            returnSpareBuffer(full);
+        }
+    }
+    
+    private ByteBuffer encode(EventType type, long threadId, String testId, String name, String detail) {
+        // At most 3 UTF-8 bytes per UTF-16 char, so the record always fits without measuring it first
+        int maxSize = 1 + 8 + 8 + 12 + 3 * (length(testId) + length(name) + length(detail));
+        
+        ByteBuffer buffer = localBuffer.get();
+        if (buffer.capacity() < maxSize) {
+            buffer = ByteBuffer.allocate(Math.max(maxSize, buffer.capacity() * 2));
+            localBuffer.set(buffer);
+        }
+        buffer.clear();
+        buffer.put(type.code()).putLong(System.currentTimeMillis()).putLong(threadId);
+        putString(buffer, testId);
+        putString(buffer, name);
+        putString(buffer, detail);
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Swaps the active buffer with the spare one, waiting while the spare one is still being written.
+     * Must be called holding the lock.
+     * 
+     * @return The former active buffer, flipped for writing, or null if the journal was closed meanwhile
+     */
+    private ByteBuffer takeActiveBuffer() {
+        while (spareBuffer == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        if (closed) {
+            return null;
+        }
+        ByteBuffer full = activeBuffer;
+        activeBuffer = spareBuffer;
+        spareBuffer = null;
+        full.flip();
+        return full;
+    }
+    
+    private synchronized void returnSpareBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        spareBuffer = buffer;
+        notifyAll();
+    }
+    
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+    
+    /**
+     * Writes a string as its UTF-8 length followed by its UTF-8 bytes, encoded in place
+     */
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        int lengthPosition = buffer.position();
+        buffer.putInt(0);
+        int start = buffer.position();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced like String.getBytes does
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        buffer.putInt(lengthPosition, buffer.position() - start);
+    }
+    
+    private static String stripExtension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
@@ -0,0 +1,41 @@
+package com.test.automation.journal;
+
+/**
+ * Types of events recorded in the event journal
+ */
+public enum EventType {
+    SUITE_START,
+    SUITE_FINISH,
+    TEST_START,
+    TEST_PASS,
+    TEST_FAIL,
+    TEST_SKIP,
+    STEP_START,
+    STEP_STOP,
+    LOG,
+    ATTACHMENT;
+    
+    private static final EventType[] VALUES = values();
+    
+    /**
+     * Gets the compact code written to the journal for this type
+     * 
+     * @return Single byte event code
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+    
+    /**
+     * Resolves an event type from its journal code
+     * 
+     * @param code Event code read from the journal
+     * @return The matching EventType
+     */
+    public static EventType fromCode(byte code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown journal event code: " + code);
+        }
+        return VALUES[code];
+    }
+}
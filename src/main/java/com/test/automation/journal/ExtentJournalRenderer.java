@@ -0,0 +1,100 @@
+package com.test.automation.journal;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Renders journal tests as an Extent Spark report
+ */
+class ExtentJournalRenderer {
+    
+    private ExtentJournalRenderer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    static void render(List<TestRecord> tests, Path attachmentBase, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(outputDir.resolve("index.html").toString());
+        sparkReporter.config().setDocumentTitle("Automation Test Report");
+        sparkReporter.config().setReportName("UI Automation Test Results");
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setEncoding("UTF-8");
+        sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
+        
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        extent.setSystemInfo("Source", "Event journal");
+        
+        for (TestRecord record : tests) {
+            ExtentTest test = extent.createTest(record.getSimpleClassName() + " - " + record.getDisplayName(),
+                    record.getDescription());
+            test.assignCategory(record.getSimpleClassName());
+            // Extent stamps logs with the current time, so the journal timestamps are restored afterwards
+            List<Long> timestamps = new ArrayList<>();
+            
+            for (TestRecord.StepRecord step : record.getSteps()) {
+                logStep(test, step, 0, timestamps);
+            }
+            for (JournalEvent line : record.getLogs()) {
+                test.log(Status.INFO, line.getName() + " " + line.getDetail());
+                timestamps.add(line.getTimestamp());
+            }
+            for (JournalEvent attachment : record.getAttachments()) {
+                String path = attachmentBase.resolve(attachment.getDetail()).toAbsolutePath().toString();
+                test.log(Status.INFO, attachment.getName(), MediaEntityBuilder.createScreenCaptureFromPath(path).build());
+                timestamps.add(attachment.getTimestamp());
+            }
+            
+            switch (record.getOutcome()) {
+                case TEST_PASS:
+                    test.log(Status.PASS, MarkupHelper.createLabel("Test Passed", ExtentColor.GREEN));
+                    break;
+                case TEST_FAIL:
+                    test.log(Status.FAIL, MarkupHelper.createLabel("Test Failed", ExtentColor.RED));
+                    timestamps.add(record.getStop());
+                    test.log(Status.FAIL, MarkupHelper.createCodeBlock(String.valueOf(record.getFailure())));
+                    break;
+                default:
+                    test.log(Status.SKIP, MarkupHelper.createLabel("Test Skipped", ExtentColor.YELLOW));
+                    break;
+            }
+            timestamps.add(record.getStop());
+            
+            List<Log> logs = test.getModel().getLogs();
+            for (int i = 0; i < logs.size() && i < timestamps.size(); i++) {
+                logs.get(i).setTimestamp(new Date(timestamps.get(i)));
+            }
+            test.getModel().setStartTime(new Date(record.getStart()));
+            test.getModel().setEndTime(new Date(record.getStop()));
+        }
+        
+        extent.flush();
+    }
+    
+    private static void logStep(ExtentTest test, TestRecord.StepRecord step, int depth, List<Long> timestamps) {
+        StringBuilder indent = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            indent.append("&nbsp;&nbsp;");
+        }
+        Status status = "failed".equals(step.getStatus()) || "broken".equals(step.getStatus()) ? Status.WARNING : Status.INFO;
+        test.log(status, indent + "Step: " + step.getName() + " (" + (step.getStop() - step.getStart()) + " ms)");
+        timestamps.add(step.getStart());
+        for (TestRecord.StepRecord child : step.getChildren()) {
+            logStep(test, child, depth + 1, timestamps);
+        }
+    }
+}
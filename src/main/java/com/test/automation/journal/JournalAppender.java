@@ -0,0 +1,53 @@
+package com.test.automation.journal;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+
+/**
+ * Log4j2 appender that records log lines in the event journal, attributed to the test
+ * running on the thread that logged them. The test id is read from the context data the event
+ * captured on the logging thread, not looked up when the async logger thread appends it, by which
+ * time that thread may have finished the test or started the next one.
+ */
+@Plugin(name = "Journal", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public class JournalAppender extends AbstractAppender {
+    
+    private static final String JOURNAL_PACKAGE = JournalAppender.class.getPackage().getName();
+    
+    protected JournalAppender(String name, Filter filter) {
+        super(name, filter, null, true, Property.EMPTY_ARRAY);
+    }
+    
+    /**
+     * Creates the appender from the log4j2 configuration
+     * 
+     * @param name Appender name
+     * @param filter Optional filter
+     * @return JournalAppender instance
+     */
+    @PluginFactory
+    public static JournalAppender createAppender(@PluginAttribute("name") String name,
+                                                 @PluginElement("Filter") Filter filter) {
+        return new JournalAppender(name == null ? "Journal" : name, filter);
+    }
+    
+    @Override
+    public void append(LogEvent event) {
+        EventJournal journal = EventJournal.getIfOpen();
+        // Skip the journal's own log lines so write errors cannot feed back into the journal
+        if (journal == null || !journal.isEnabled()
+                || (event.getLoggerName() != null && event.getLoggerName().startsWith(JOURNAL_PACKAGE))) {
+            return;
+        }
+        journal.log(event.getContextData().getValue(EventJournal.TEST_ID_KEY), event.getThreadId(),
+                event.getLevel().name(), event.getMessage().getFormattedMessage());
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.automation.journal;
+
+import lombok.Value;
+
+/**
+ * A single event read back from the event journal
+ */
+@Value
+public class JournalEvent {
+    EventType type;
+    long timestamp;
+    long threadId;
+    String testId;
+    String name;
+    String detail;
+}
@@ -0,0 +1,79 @@
+package com.test.automation.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the events of a journal file written by {@link EventJournal}.
+ * The file is memory-mapped, so reading does not copy it onto the heap. A journal whose run was
+ * killed can end in a partly written record; reading stops before it.
+ */
+@Slf4j
+public class JournalReader {
+    
+    private JournalReader() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Reads all events from a journal file
+     * 
+     * @param journalFile Path of the journal file
+     * @return Events in the order they were written
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static List<JournalEvent> readAll(Path journalFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 6 || buffer.getInt() != EventJournal.MAGIC) {
+                throw new IOException("Not an event journal: " + journalFile);
+            }
+            short version = buffer.getShort();
+            if (version != EventJournal.VERSION) {
+                throw new IOException("Unsupported journal version " + version + " in " + journalFile);
+            }
+            
+            List<JournalEvent> events = new ArrayList<>();
+            while (buffer.remaining() > 0) {
+                int start = buffer.position();
+                try {
+                    EventType type = EventType.fromCode(buffer.get());
+                    long timestamp = buffer.getLong();
+                    long threadId = buffer.getLong();
+                    String testId = readString(buffer);
+                    String name = readString(buffer);
+                    String detail = readString(buffer);
+                    events.add(new JournalEvent(type, timestamp, threadId, testId, name, detail));
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    log.warn("Journal {} ends with an incomplete record at byte {} of {}, read {} events up to it",
+                            journalFile, start, buffer.limit(), events.size());
+                    break;
+                }
+            }
+            return events;
+        }
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,217 @@
+package com.test.automation.journal;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Command line entry point that renders reports from an event journal after the run.
+ * Extent, Allure and JUnit XML output are rendered in parallel, and old journals can be
+ * re-rendered at any time without re-executing the tests.
+ * 
+ * Usage: JournalRenderer [journal-file] [output-dir] [formats]
+ * where formats is a comma separated list of extent, allure and junit (default: all).
+ * Without arguments the most recent journal in journal.dir is rendered.
+ */
+@Slf4j
+public class JournalRenderer {
+    
+    private static final List<String> ALL_FORMATS = Arrays.asList("extent", "allure", "junit");
+    
+    private JournalRenderer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Path journalFile = args.length > 0 ? Paths.get(args[0]) : latestJournal();
+        Path outputDir = args.length > 1 ? Paths.get(args[1])
+                : Paths.get("test-output", "rendered", journalFile.getFileName().toString().replace(".tjnl", ""));
+        List<String> formats = args.length > 2 ? Arrays.asList(args[2].toLowerCase().split(",")) : ALL_FORMATS;
+        
+        if (!render(journalFile, outputDir, formats)) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Renders the requested report formats from a journal file
+     * 
+     * @param journalFile Journal to render
+     * @param outputDir Directory the reports are written to
+     * @param formats Formats to render (extent, allure, junit)
+     * @return true if every format rendered successfully
+     * @throws IOException if the journal cannot be read
+     */
+    public static boolean render(Path journalFile, Path outputDir, List<String> formats) throws IOException {
+        return render(JournalReader.readAll(journalFile), journalFile.toAbsolutePath().getParent(), outputDir, formats);
+    }
+    
+    /**
+     * Renders the requested report formats from journal events
+     * 
+     * @param events Journal events in write order
+     * @param attachmentBase Directory that relative attachment paths are resolved against
+     * @param outputDir Directory the reports are written to
+     * @param formats Formats to render (extent, allure, junit)
+     * @return true if every format rendered successfully
+     * @throws IOException if the output directory cannot be created
+     */
+    public static boolean render(List<JournalEvent> events, Path attachmentBase, Path outputDir, List<String> formats)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<TestRecord> tests = buildTests(events);
+        Files.createDirectories(outputDir);
+        log.info("Rendering {} tests as {}", tests.size(), formats);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(formats.size());
+        Map<String, Future<?>> results = new LinkedHashMap<>();
+        for (String format : formats) {
+            switch (format.trim()) {
+                case "extent":
+                    results.put(format, executor.submit(() -> {
+                        ExtentJournalRenderer.render(tests, attachmentBase, outputDir.resolve("extent"));
+                        return null;
+                    }));
+                    break;
+                case "allure":
+                    results.put(format, executor.submit(() -> {
+                        AllureJournalRenderer.render(tests, attachmentBase, outputDir.resolve("allure-results"));
+                        return null;
+                    }));
+                    break;
+                case "junit":
+                    results.put(format, executor.submit(() -> {
+                        JunitJournalRenderer.render(tests, outputDir.resolve("junit"));
+                        return null;
+                    }));
+                    break;
+                default:
+                    log.warn("Unknown report format: {}", format);
+            }
+        }
+        executor.shutdown();
+        
+        boolean success = true;
+        for (Map.Entry<String, Future<?>> result : results.entrySet()) {
+            try {
+                result.getValue().get();
+            } catch (Exception e) {
+                success = false;
+                log.error("Failed to render {} report", result.getKey(), e);
+            }
+        }
+        log.info("Rendered reports to {} in {} ms", outputDir, System.currentTimeMillis() - startTime);
+        return success;
+    }
+    
+    /**
+     * Rebuilds test invocations from the flat event stream
+     * 
+     * @param events Journal events in write order
+     * @return Tests in start order
+     */
+    static List<TestRecord> buildTests(List<JournalEvent> events) {
+        Map<String, TestRecord> tests = new LinkedHashMap<>();
+        Map<String, Deque<TestRecord.StepRecord>> openSteps = new HashMap<>();
+        
+        for (JournalEvent event : events) {
+            TestRecord test = event.getTestId() == null ? null : tests.get(event.getTestId());
+            switch (event.getType()) {
+                case TEST_START:
+                    test = new TestRecord(event.getTestId());
+                    parseName(test, event.getName());
+                    test.setDescription(event.getDetail());
+                    test.setThreadId(event.getThreadId());
+                    test.setStart(event.getTimestamp());
+                    tests.put(test.getId(), test);
+                    break;
+                case TEST_PASS:
+                case TEST_FAIL:
+                case TEST_SKIP:
+                    if (test != null) {
+                        test.setOutcome(event.getType());
+                        test.setFailure(event.getDetail());
+                        test.setStop(event.getTimestamp());
+                    }
+                    break;
+                case STEP_START:
+                    if (test != null) {
+                        Deque<TestRecord.StepRecord> stack = openSteps.computeIfAbsent(test.getId(), k -> new ArrayDeque<>());
+                        TestRecord.StepRecord step = new TestRecord.StepRecord(event.getName(), event.getTimestamp());
+                        if (stack.isEmpty()) {
+                            test.getSteps().add(step);
+                        } else {
+                            stack.peek().getChildren().add(step);
+                        }
+                        stack.push(step);
+                    }
+                    break;
+                case STEP_STOP:
+                    Deque<TestRecord.StepRecord> stack = test == null ? null : openSteps.get(test.getId());
+                    if (stack != null && !stack.isEmpty()) {
+                        TestRecord.StepRecord step = stack.pop();
+                        step.setStop(event.getTimestamp());
+                        step.setStatus(event.getDetail());
+                    }
+                    break;
+                case LOG:
+                    if (test != null) {
+                        test.getLogs().add(event);
+                    }
+                    break;
+                case ATTACHMENT:
+                    if (test != null) {
+                        test.getAttachments().add(event);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        List<TestRecord> result = new ArrayList<>(tests.values());
+        for (TestRecord test : result) {
+            // A test without an outcome was interrupted, e.g. by a crashed JVM
+            if (test.getOutcome() == null) {
+                test.setOutcome(EventType.TEST_SKIP);
+                test.setFailure("No outcome recorded in journal");
+                test.setStop(test.getStart());
+            }
+        }
+        return result;
+    }
+    
+    private static void parseName(TestRecord test, String name) {
+        int hash = name.indexOf('#');
+        int bracket = name.indexOf('[', hash);
+        test.setClassName(hash < 0 ? "" : name.substring(0, hash));
+        test.setMethodName(bracket < 0 ? name.substring(hash + 1) : name.substring(hash + 1, bracket));
+        test.setParameters(bracket < 0 ? "" : name.substring(bracket));
+    }
+    
+    private static Path latestJournal() throws IOException {
+        Path journalDir = Paths.get(FrameworkConfig.getInstance().getJournalDir());
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.filter(file -> file.toString().endsWith(".tjnl"))
+                    .max(Comparator.comparing(file -> file.getFileName().toString()))
+                    .orElseThrow(() -> new IOException("No journal found in " + journalDir));
+        }
+    }
+}
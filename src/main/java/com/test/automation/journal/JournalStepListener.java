@@ -0,0 +1,22 @@
+package com.test.automation.journal;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Allure lifecycle listener that records {@code @Step} start and stop events in the event journal.
+ * Registered through META-INF/services/io.qameta.allure.listener.LifecycleListener.
+ */
+public class JournalStepListener implements StepLifecycleListener {
+    
+    @Override
+    public void afterStepStart(StepResult result) {
+        EventJournal.getInstance().step(EventType.STEP_START, result.getName(), null);
+    }
+    
+    @Override
+    public void afterStepStop(StepResult result) {
+        String status = result.getStatus() == null ? null : result.getStatus().value();
+        EventJournal.getInstance().step(EventType.STEP_STOP, result.getName(), status);
+    }
+}
@@ -0,0 +1,93 @@
+package com.test.automation.journal;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Renders journal tests as JUnit XML, one file per test class
+ */
+class JunitJournalRenderer {
+    
+    private JunitJournalRenderer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    static void render(List<TestRecord> tests, Path outputDir) throws IOException, XMLStreamException {
+        Files.createDirectories(outputDir);
+        Map<String, List<TestRecord>> byClass = tests.stream()
+                .collect(Collectors.groupingBy(TestRecord::getClassName, LinkedHashMap::new, Collectors.toList()));
+        
+        for (Map.Entry<String, List<TestRecord>> entry : byClass.entrySet()) {
+            writeSuite(entry.getKey(), entry.getValue(), outputDir.resolve("TEST-" + entry.getKey() + ".xml"));
+        }
+    }
+    
+    private static void writeSuite(String className, List<TestRecord> tests, Path file)
+            throws IOException, XMLStreamException {
+        long failures = tests.stream().filter(t -> t.getOutcome() == EventType.TEST_FAIL).count();
+        long skipped = tests.stream().filter(t -> t.getOutcome() == EventType.TEST_SKIP).count();
+        long start = tests.stream().mapToLong(TestRecord::getStart).min().orElse(0);
+        long stop = tests.stream().mapToLong(TestRecord::getStop).max().orElse(0);
+        
+        try (OutputStream out = Files.newOutputStream(file)) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", className);
+            xml.writeAttribute("tests", String.valueOf(tests.size()));
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("errors", "0");
+            xml.writeAttribute("skipped", String.valueOf(skipped));
+            xml.writeAttribute("time", seconds(stop - start));
+            xml.writeAttribute("timestamp", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date(start)));
+            
+            for (TestRecord test : tests) {
+                xml.writeStartElement("testcase");
+                xml.writeAttribute("classname", className);
+                xml.writeAttribute("name", test.getDisplayName());
+                xml.writeAttribute("time", seconds(test.getStop() - test.getStart()));
+                if (test.getOutcome() == EventType.TEST_FAIL) {
+                    String trace = test.getFailure() == null ? "" : test.getFailure();
+                    xml.writeStartElement("failure");
+                    xml.writeAttribute("message", trace.split("\n", 2)[0]);
+                    xml.writeCharacters(trace);
+                    xml.writeEndElement();
+                } else if (test.getOutcome() == EventType.TEST_SKIP) {
+                    xml.writeStartElement("skipped");
+                    if (test.getFailure() != null) {
+                        xml.writeAttribute("message", test.getFailure().split("\n", 2)[0]);
+                    }
+                    xml.writeEndElement();
+                }
+                if (!test.getLogs().isEmpty()) {
+                    xml.writeStartElement("system-out");
+                    for (JournalEvent line : test.getLogs()) {
+                        xml.writeCharacters(line.getName() + " " + line.getDetail() + "\n");
+                    }
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+            }
+            
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        }
+    }
+    
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.test.automation.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line entry point that merges the results of sharded runs (-Dshard=i/N) into one report.
+ * The event journals of all shards are combined and rendered as a single Extent report and JUnit
+ * XML. The shards' Allure results are copied into one results directory; if no shard has Allure
+ * results, they are rendered from the journals as well.
+ * 
+ * Usage: ShardReportMerger output-dir shard-dir...
+ * where each shard-dir holds the test-output/journal and target/allure-results of one shard, at any depth.
+ */
+@Slf4j
+public class ShardReportMerger {
+    
+    private ShardReportMerger() {
+        // Private constructor to prevent instantiation
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardReportMerger output-dir shard-dir...");
+            System.exit(2);
+        }
+        List<Path> shardDirs = Arrays.stream(args, 1, args.length).map(Paths::get).collect(Collectors.toList());
+        if (!merge(shardDirs, Paths.get(args[0]))) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Merges the journals and Allure results found in the shard directories
+     * 
+     * @param shardDirs Directories with the results of one shard each
+     * @param outputDir Directory the merged reports are written to
+     * @return true if every report was merged successfully
+     * @throws IOException if the shard directories cannot be read
+     */
+    public static boolean merge(List<Path> shardDirs, Path outputDir) throws IOException {
+        List<JournalEvent> events = new ArrayList<>();
+        int allureFiles = 0;
+        for (int shard = 0; shard < shardDirs.size(); shard++) {
+            Path shardDir = shardDirs.get(shard);
+            for (Path journalFile : find(shardDir, file -> file.toString().endsWith(".tjnl"))) {
+                // Journal test ids are only unique within a journal
+                String prefix = (shard + 1) + "-" + journalFile.getFileName() + "-";
+                Path attachmentBase = journalFile.toAbsolutePath().getParent();
+                for (JournalEvent event : JournalReader.readAll(journalFile)) {
+                    events.add(remap(event, prefix, attachmentBase));
+                }
+            }
+            for (Path resultsDir : find(shardDir, file -> Files.isDirectory(file)
+                    && "allure-results".equals(file.getFileName().toString()))) {
+                allureFiles += copyAllureResults(resultsDir, outputDir.resolve("allure-results"));
+            }
+        }
+        log.info("Merging {} journal events and {} Allure result files from {} shards", events.size(), allureFiles,
+                shardDirs.size());
+        
+        List<String> formats = allureFiles > 0 ? Arrays.asList("extent", "junit") : Arrays.asList("extent", "allure", "junit");
+        return events.isEmpty() || JournalRenderer.render(events, outputDir, outputDir, formats);
+    }
+    
+    private static JournalEvent remap(JournalEvent event, String prefix, Path attachmentBase) {
+        String detail = event.getDetail();
+        if (event.getType() == EventType.ATTACHMENT && detail != null) {
+            detail = attachmentBase.resolve(detail).toString();
+        }
+        return new JournalEvent(event.getType(), event.getTimestamp(), event.getThreadId(),
+                event.getTestId() == null ? null : prefix + event.getTestId(), event.getName(), detail);
+    }
+    
+    // Allure result files are named by UUID, shared files such as categories.json are kept once
+    private static int copyAllureResults(Path resultsDir, Path target) throws IOException {
+        Files.createDirectories(target);
+        int copied = 0;
+        for (Path file : find(resultsDir, Files::isRegularFile)) {
+            Path targetFile = target.resolve(resultsDir.relativize(file).toString());
+            if (!Files.exists(targetFile)) {
+                Files.createDirectories(targetFile.getParent());
+                Files.copy(file, targetFile);
+                copied++;
+            }
+        }
+        return copied;
+    }
+    
+    private static List<Path> find(Path dir, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(filter).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.test.automation.journal;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A test invocation rebuilt from journal events, used as input for the report renderers
+ */
+@Data
+public class TestRecord {
+    private final String id;
+    private String className;
+    private String methodName;
+    private String parameters;
+    private String description;
+    private long threadId;
+    private long start;
+    private long stop;
+    private EventType outcome;
+    private String failure;
+    private final List<StepRecord> steps = new ArrayList<>();
+    private final List<JournalEvent> logs = new ArrayList<>();
+    private final List<JournalEvent> attachments = new ArrayList<>();
+    
+    /**
+     * Gets the simple name of the test class
+     * 
+     * @return Simple class name
+     */
+    public String getSimpleClassName() {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+    
+    /**
+     * Gets the display name of the test including data provider parameters
+     * 
+     * @return Display name
+     */
+    public String getDisplayName() {
+        return parameters == null || parameters.isEmpty() ? methodName : methodName + parameters;
+    }
+    
+    /**
+     * A step of a test, possibly containing nested steps
+     */
+    @Data
+    public static class StepRecord {
+        private final String name;
+        private final long start;
+        private long stop;
+        private String status;
+        private final List<StepRecord> children = new ArrayList<>();
+    }
+}
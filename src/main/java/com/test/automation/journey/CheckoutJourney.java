@@ -0,0 +1,82 @@
+package com.test.automation.journey;
+
+import com.test.automation.constants.SauceConstants;
+import com.test.automation.pages.CartPage;
+import com.test.automation.pages.CheckoutCompletePage;
+import com.test.automation.pages.CheckoutInformationPage;
+import com.test.automation.pages.CheckoutOverviewPage;
+import com.test.automation.pages.InventoryPage;
+import com.test.automation.pages.LoginPage;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Scripted login, add to cart and checkout journey through the page objects, timing each step.
+ * Starts on the login page of the current session. A step that cannot continue the journey throws
+ * IllegalStateException; failed steps are not recorded.
+ */
+public class CheckoutJourney {
+    
+    public static final String LOGIN = "login";
+    public static final String ADD_TO_CART = "addToCart";
+    public static final String OPEN_CART = "openCart";
+    public static final String CHECKOUT_INFORMATION = "checkoutInformation";
+    public static final String CHECKOUT_OVERVIEW = "checkoutOverview";
+    public static final String FINISH = "finish";
+    public static final List<String> STEPS = Collections.unmodifiableList(Arrays.asList(LOGIN, ADD_TO_CART, OPEN_CART,
+            CHECKOUT_INFORMATION, CHECKOUT_OVERVIEW, FINISH));
+    
+    private final String product;
+    
+    /**
+     * Creates a journey that buys the backpack
+     */
+    public CheckoutJourney() {
+        this(SauceConstants.PRODUCT_BACKPACK);
+    }
+    
+    /**
+     * Creates a journey that buys the given product
+     * 
+     * @param product Name of the product to buy
+     */
+    public CheckoutJourney(String product) {
+        this.product = product;
+    }
+    
+    /**
+     * Runs the journey as the given user
+     * 
+     * @param username Username
+     * @param password Password
+     * @param recorder Receives the latency of each step
+     * @return CheckoutCompletePage the journey ends on
+     */
+    public CheckoutCompletePage run(String username, String password, StepRecorder recorder) {
+        Object page = step(LOGIN, recorder, () -> new LoginPage().login(username, password));
+        if (!(page instanceof InventoryPage)) {
+            throw new IllegalStateException("Login failed for user: " + username);
+        }
+        InventoryPage inventoryPage = (InventoryPage) page;
+        
+        if (!step(ADD_TO_CART, recorder, () -> inventoryPage.addProductToCart(product))) {
+            throw new IllegalStateException("Product not found in the inventory: " + product);
+        }
+        CartPage cartPage = step(OPEN_CART, recorder, inventoryPage::goToCart);
+        CheckoutInformationPage informationPage = step(CHECKOUT_INFORMATION, recorder, cartPage::checkout);
+        CheckoutOverviewPage overviewPage = step(CHECKOUT_OVERVIEW, recorder,
+                () -> informationPage.enterInformation(SauceConstants.FIRST_NAME, SauceConstants.LAST_NAME,
+                        SauceConstants.POSTAL_CODE).continueCheckout());
+        return step(FINISH, recorder, overviewPage::finish);
+    }
+    
+    private static <T> T step(String name, StepRecorder recorder, Supplier<T> action) {
+        long start = System.nanoTime();
+        T result = action.get();
+        recorder.record(name, System.nanoTime() - start);
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.automation.journey;
+
+/**
+ * Receives the latency of each completed journey step
+ */
+@FunctionalInterface
+public interface StepRecorder {
+    
+    /**
+     * Records a completed step
+     * 
+     * @param step Step name
+     * @param nanos Latency of the step in nanoseconds
+     */
+    void record(String step, long nanos);
+}
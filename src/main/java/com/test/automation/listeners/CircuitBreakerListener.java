@@ -0,0 +1,103 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.listeners.FailureClassifier.FailureType;
+import com.test.automation.preflight.PreflightChecks;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * TestNG listener that fails the suite fast when the environment is down.
+ * Before any test runs, {@link PreflightChecks} verify base.url, the grid hub and browser startup.
+ * During the run, circuit.breaker.threshold consecutive infra failures trip the breaker as well.
+ * Failed tests and tests skipped because their setup failed are classified alike by
+ * {@link FailureClassifier}, so a setup that fails on the product (e.g. a rejected login) does not
+ * count towards the threshold.
+ * Once the breaker is open, the remaining tests (including retry lanes) are skipped immediately
+ * with the cause, instead of each one waiting for its own timeouts.
+ */
+@Slf4j
+public class CircuitBreakerListener implements ISuiteListener, IInvokedMethodListener {
+    
+    private static final AtomicReference<String> openCause = new AtomicReference<>();
+    private static final AtomicInteger consecutiveInfraFailures = new AtomicInteger();
+    private static final AtomicInteger skippedTests = new AtomicInteger();
+    
+    @Override
+    public void onStart(ISuite suite) {
+        if (!FrameworkConfig.getInstance().isPreflightEnabled()) {
+            return;
+        }
+        String failure = PreflightChecks.run();
+        if (failure != null) {
+            open("preflight check failed: " + failure);
+        }
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        String cause = openCause.get();
+        if (cause == null || !(method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration())) {
+            return;
+        }
+        if (method.isTestMethod()) {
+            skippedTests.incrementAndGet();
+        }
+        // TestNG marks the method as skipped when a listener throws a SkipException
+        throw new SkipException("Suite circuit breaker open, " + cause);
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        int threshold = FrameworkConfig.getInstance().getCircuitBreakerThreshold();
+        if (!method.isTestMethod() || threshold <= 0 || openCause.get() != null) {
+            return;
+        }
+        // A test skipped because its setup failed carries the setup's failure
+        Throwable throwable = testResult.getThrowable();
+        if (testResult.getStatus() == ITestResult.SKIP && (throwable == null || throwable instanceof SkipException)) {
+            return;
+        }
+        if (testResult.getStatus() == ITestResult.SUCCESS || FailureClassifier.classify(throwable) != FailureType.INFRA) {
+            // The environment answered, whatever the outcome
+            consecutiveInfraFailures.set(0);
+            return;
+        }
+        int failures = consecutiveInfraFailures.incrementAndGet();
+        if (failures >= threshold) {
+            open(failures + " consecutive infra failures, last in " + testResult.getName() + ": "
+                    + throwable.getClass().getSimpleName());
+        }
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        if (openCause.get() != null) {
+            log.error("Suite '{}' stopped early, {} tests skipped: {}", suite.getName(), skippedTests.get(),
+                    openCause.get());
+        }
+    }
+    
+    /**
+     * Checks whether the breaker is open
+     * 
+     * @return true if the remaining tests are being skipped
+     */
+    public static boolean isOpen() {
+        return openCause.get() != null;
+    }
+    
+    private static void open(String cause) {
+        if (openCause.compareAndSet(null, cause)) {
+            log.error("Suite circuit breaker open, skipping the remaining tests: {}", cause);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.listeners.FailureClassifier.FailureType;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IAlterSuiteListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * TestNG listener that defers retries of infra failures to the end of the suite.
+ * When retry.deferred is on, a retry lane (a copy of the tests with the same classes and parameters)
+ * is appended to the suite, one per group of &lt;test&gt;s that only differ in their classes. TestNG
+ * fixes the &lt;test&gt;s of a suite before it starts, so the lanes are added up front; a lane with
+ * nothing queued runs no test methods. A test that fails with an infra failure, or is skipped
+ * because its setup failed with one, is marked as a retried skip and queued for its lane, so first
+ * attempts are not held up by retries. When the lane runs, only the queued tests (and data provider rows) are kept.
+ * Must be registered in testng.xml, since it alters the suite.
+ */
+@Slf4j
+public class DeferredRetryListener implements IAlterSuiteListener, IInvokedMethodListener,
+        IMethodInterceptor, IDataProviderInterceptor {
+    
+    private static final String DEFERRED_ATTRIBUTE = "deferredRetry";
+    private static final String LANE = "deferred retries";
+    
+    private static final Map<String, Set<String>> deferredTests = new ConcurrentHashMap<>();
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isRetryDeferred() || config.getRetryBudget() <= 0) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() == XmlSuite.ParallelMode.TESTS) {
+                log.warn("Suite '{}' runs its tests in parallel, infra failures are retried immediately", suite.getName());
+                continue;
+            }
+            for (List<XmlTest> tests : laneGroups(suite)) {
+                SuiteLanes.addLane(suite, tests, LANE);
+            }
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        ITestContext context = testResult.getTestContext();
+        String lane = SuiteLanes.laneOf(context, LANE);
+        if (lane == null) {
+            return;
+        }
+        
+        boolean failed = testResult.getStatus() == ITestResult.FAILURE;
+        boolean setupFailed = testResult.getStatus() == ITestResult.SKIP
+                && FailureClassifier.classify(testResult.getThrowable()) == FailureType.INFRA;
+        if ((!failed && !setupFailed) || !RetryAnalyzer.claimRetry(testResult)) {
+            return;
+        }
+        
+        deferredTests.computeIfAbsent(lane, key -> ConcurrentHashMap.newKeySet()).add(RetryAnalyzer.testKey(testResult));
+        testResult.setStatus(ITestResult.SKIP);
+        testResult.setWasRetried(true);
+        testResult.setAttribute(DEFERRED_ATTRIBUTE, Boolean.TRUE);
+        log.info("Deferred retry of test: {} to '{}'", testResult.getName(), lane);
+    }
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!SuiteLanes.isLane(context, LANE)) {
+            return methods;
+        }
+        
+        Set<String> deferred = deferredTests.getOrDefault(context.getName(), Collections.emptySet());
+        Set<String> deferredMethods = deferred.stream()
+                .map(key -> key.substring(0, key.indexOf('[')))
+                .collect(Collectors.toSet());
+        List<IMethodInstance> retries = methods.stream()
+                .filter(instance -> deferredMethods.contains(methodKey(instance.getMethod())))
+                .collect(Collectors.toList());
+        log.info("Running {} deferred retries in '{}'", deferred.size(), context.getName());
+        return retries;
+    }
+    
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        if (!SuiteLanes.isLane(iTestContext, LANE)) {
+            return original;
+        }
+        
+        // Only rerun the data provider rows that failed
+        Set<String> deferred = deferredTests.getOrDefault(iTestContext.getName(), Collections.emptySet());
+        String className = method.getTestClass().getName();
+        Stream<Object[]> rows = StreamSupport.stream(Spliterators.spliteratorUnknownSize(original, Spliterator.ORDERED), false);
+        return rows.filter(row -> deferred.contains(RetryAnalyzer.testKey(className, method.getMethodName(), row)))
+                .iterator();
+    }
+    
+    /**
+     * Checks whether a skipped result is a first attempt that was deferred to a retry lane
+     * 
+     * @param result ITestResult of the test
+     * @return true if the test will be retried at the end of the suite
+     */
+    public static boolean isDeferred(ITestResult result) {
+        return result.getAttribute(DEFERRED_ATTRIBUTE) != null;
+    }
+    
+    /**
+     * Groups the tests of a suite that can share a retry lane, skipping lanes added by other listeners
+     */
+    private static List<List<XmlTest>> laneGroups(XmlSuite suite) {
+        List<List<XmlTest>> groups = new ArrayList<>();
+        for (XmlTest test : new ArrayList<>(suite.getTests())) {
+            if (SuiteLanes.isLane(suite, test) || test.getXmlClasses().isEmpty() && test.getXmlPackages().isEmpty()) {
+                continue;
+            }
+            groups.stream()
+                    .filter(group -> group.stream().allMatch(other -> SuiteLanes.canShareLane(test, other)))
+                    .findFirst()
+                    .orElseGet(() -> {
+                        List<XmlTest> group = new ArrayList<>();
+                        groups.add(group);
+                        return group;
+                    })
+                    .add(test);
+        }
+        return groups;
+    }
+    
+    private static String methodKey(ITestNGMethod method) {
+        return method.getTestClass().getName() + "#" + method.getMethodName();
+    }
+}
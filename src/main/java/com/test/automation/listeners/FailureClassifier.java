@@ -0,0 +1,80 @@
+package com.test.automation.listeners;
+
+import com.test.automation.factory.SessionUnavailableException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.openqa.selenium.remote.http.ConnectionFailedException;
+
+import java.io.UncheckedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+
+/**
+ * Classifies test failures by their cause, so that only failures of the environment are retried
+ */
+public final class FailureClassifier {
+    
+    private static final String SELENIUM_HTTP_PACKAGE = "org.openqa.selenium.remote.http.";
+    
+    /**
+     * Failure categories
+     */
+    public enum FailureType {
+        /** Browser session, grid or network failure; worth retrying on a fresh session */
+        INFRA,
+        /** Assertion or application failure; retrying would fail the same way */
+        PRODUCT
+    }
+    
+    private FailureClassifier() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Classifies a failure by walking its cause chain.
+     * Assertion errors always count as product failures. Session creation and session loss,
+     * running out of browser session slots, unreachable browsers, connection failures, socket errors
+     * and network timeouts count as infra failures, as do I/O errors raised by the WebDriver HTTP
+     * client (other I/O errors, e.g. of files or reports, count as product failures) and a plain
+     * WebDriverException (Selenium raises subclasses such as NoSuchElementException or
+     * TimeoutException for page problems, which count as product failures).
+     * 
+     * @param throwable Failure of the test or its configuration method, may be null
+     * @return Failure type; anything not recognised as infra is a product failure
+     */
+    public static FailureType classify(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AssertionError) {
+                return FailureType.PRODUCT;
+            }
+            if (isInfra(cause)) {
+                return FailureType.INFRA;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return FailureType.PRODUCT;
+    }
+    
+    private static boolean isInfra(Throwable cause) {
+        return cause instanceof SessionNotCreatedException
+                || cause instanceof NoSuchSessionException
+                || cause instanceof UnreachableBrowserException
+                || cause instanceof SessionUnavailableException
+                || cause instanceof ConnectionFailedException
+                || cause instanceof SocketException
+                || cause instanceof SocketTimeoutException
+                || cause instanceof HttpTimeoutException
+                || (cause instanceof UncheckedIOException && isWebDriverTransport(cause))
+                || cause.getClass() == WebDriverException.class;
+    }
+    
+    private static boolean isWebDriverTransport(Throwable cause) {
+        StackTraceElement[] stackTrace = cause.getStackTrace();
+        return stackTrace.length > 0 && stackTrace[0].getClassName().startsWith(SELENIUM_HTTP_PACKAGE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.factory.DriverFactory;
+import com.test.automation.network.HarRecorder;
+import com.test.automation.perf.PageTimingCollector;
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * TestNG listener that records the network traffic of each test method into a HAR file
+ * (har.enabled=true). The recording covers the test method itself, not its setup. The HAR file is
+ * attached to the Allure report of tests that failed or exceeded a performance budget; those of
+ * other tests are deleted. The budgets are checked through {@link PerfGateListener#check}, so the
+ * decision does not depend on the order in which TestNG calls the two listeners.
+ */
+@Slf4j
+public class HarListener implements IInvokedMethodListener {
+    
+    private static final ThreadLocal<HarRecorder> recorder = new ThreadLocal<>();
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!method.isTestMethod() || !config.isHarEnabled() || !DriverFactory.hasDriver()) {
+            return;
+        }
+        String fileName = RetryAnalyzer.testKey(testResult).replaceAll("[^A-Za-z0-9._-]+", "_") + "-"
+                + System.currentTimeMillis() + ".har";
+        recorder.set(HarRecorder.start(DriverFactory.getDriver(), getHarDir(config).resolve(fileName)));
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        HarRecorder current = recorder.get();
+        if (!method.isTestMethod() || current == null) {
+            return;
+        }
+        recorder.remove();
+        Path harFile = current.stop();
+        try {
+            boolean overBudget = !PerfGateListener.check(testResult).isEmpty();
+            if (testResult.getStatus() == ITestResult.FAILURE || overBudget) {
+                try (InputStream har = Files.newInputStream(harFile)) {
+                    Allure.addAttachment("Network traffic (HAR)", "application/json", har, ".har");
+                }
+                log.info("Attached network traffic of {} from {}", testResult.getName(), harFile);
+            } else {
+                Files.deleteIfExists(harFile);
+            }
+        } catch (IOException e) {
+            log.warn("Could not attach or delete HAR file {}: {}", harFile, e.getMessage());
+        }
+    }
+    
+    private static Path getHarDir(FrameworkConfig config) {
+        return config.getHarDir().isEmpty() ? PageTimingCollector.getPerfDir().resolve("har") : Paths.get(config.getHarDir());
+    }
+}
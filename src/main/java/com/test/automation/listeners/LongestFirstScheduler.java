@@ -0,0 +1,223 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.history.TestHistoryStore;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * TestNG listener that schedules test methods longest-processing-time first.
+ * Predicted durations come from the {@link TestHistoryStore}: the average of the last runs of each
+ * method or data provider row, including its @BeforeMethod setup. Methods are handed to the worker
+ * threads longest first (TestNG runs intercepted methods in the returned order), and data provider
+ * rows are reordered the same way. At the end of each &lt;test&gt; and of the suite the predicted
+ * duration (LPT schedule over the thread count) is logged next to the actual one.
+ * Register it after the listeners that remove methods, since interceptors run in registration order.
+ */
+@Slf4j
+public class LongestFirstScheduler implements IMethodInterceptor, IDataProviderInterceptor, IInvokedMethodListener,
+        ITestListener, ISuiteListener {
+    
+    private static final int HISTORY_RUNS = 5;
+    private static final String INVOCATION_MILLIS = "invocationMillis";
+    private static final ThreadLocal<Long> setupStart = new ThreadLocal<>();
+    private static final Map<String, Long> predictedMillis = new ConcurrentHashMap<>();
+    private final AtomicLong suitePredictedMillis = new AtomicLong();
+    private final AtomicLong suiteActualMillis = new AtomicLong();
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isSchedulerEnabled() || methods.isEmpty()) {
+            return methods;
+        }
+        
+        int dataProviderThreads = context.getSuite().getXmlSuite().getDataProviderThreadCount();
+        Map<ITestNGMethod, Long> predictions = new ConcurrentHashMap<>();
+        for (IMethodInstance instance : methods) {
+            predictions.put(instance.getMethod(), predictMethodMillis(instance.getMethod(), dataProviderThreads));
+        }
+        List<IMethodInstance> ordered = methods.stream()
+                .sorted(Comparator.comparingLong((IMethodInstance instance) -> predictions.get(instance.getMethod()))
+                        .reversed())
+                .collect(Collectors.toList());
+        
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        int threads = xmlTest.getParallel().isParallel() ? Math.max(1, xmlTest.getThreadCount()) : 1;
+        long makespan = makespan(ordered.stream().map(instance -> predictions.get(instance.getMethod()))
+                .collect(Collectors.toList()), threads);
+        predictedMillis.put(context.getName(), makespan);
+        log.info("Scheduled {} methods of '{}' longest first on {} threads, predicted duration {} s",
+                ordered.size(), context.getName(), threads, seconds(makespan));
+        return ordered;
+    }
+    
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isSchedulerEnabled()) {
+            return original;
+        }
+        TestHistoryStore store = TestHistoryStore.getInstance();
+        String className = method.getTestClass().getName();
+        List<Object[]> rows = new ArrayList<>();
+        original.forEachRemaining(rows::add);
+        rows.sort(Comparator.comparingLong((Object[] row) -> predict(store,
+                RetryAnalyzer.testKey(className, method.getMethodName(), row), config)).reversed());
+        return rows.iterator();
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        // An invocation starts with its first @BeforeMethod, or with the test itself if it has none
+        if (setupStart.get() == null
+                && (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration())) {
+            setupStart.set(System.currentTimeMillis());
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && setupStart.get() != null) {
+            testResult.setAttribute(INVOCATION_MILLIS, testResult.getEndMillis() - setupStart.get());
+            setupStart.remove();
+        } else if (method.isConfigurationMethod() && !testResult.isSuccess()) {
+            // The test will not run, so its setup must not count towards the next invocation on this thread
+            setupStart.remove();
+        }
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // Skipped before it ran (failed setup, open circuit breaker, dependencies); no invocation to time
+        setupStart.remove();
+    }
+    
+    @Override
+    public void onFinish(ITestContext context) {
+        Long predicted = predictedMillis.remove(context.getName());
+        if (predicted == null) {
+            return;
+        }
+        long actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+        suitePredictedMillis.addAndGet(predicted);
+        suiteActualMillis.addAndGet(actual);
+        log.info("'{}' finished in {} s, predicted {} s ({})", context.getName(), seconds(actual), seconds(predicted),
+                deviation(predicted, actual));
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        if (suiteActualMillis.get() > 0) {
+            log.info("Suite '{}' test time {} s, predicted {} s ({})", suite.getName(), seconds(suiteActualMillis.get()),
+                    seconds(suitePredictedMillis.get()), deviation(suitePredictedMillis.get(), suiteActualMillis.get()));
+        }
+    }
+    
+    /**
+     * Gets the duration of a test invocation including its @BeforeMethod setup
+     * 
+     * @param result ITestResult of the finished test
+     * @return Duration in milliseconds
+     */
+    static long invocationMillis(ITestResult result) {
+        Object millis = result.getAttribute(INVOCATION_MILLIS);
+        return millis instanceof Long ? (Long) millis : result.getEndMillis() - result.getStartMillis();
+    }
+    
+    /**
+     * Predicts the duration of a test method from its history. The rows of a data driven method run as
+     * one unit: one after another, or longest first on the data provider threads if its data provider is
+     * parallel, so the unit takes the LPT makespan of its known rows over those threads.
+     * 
+     * @param method Test method
+     * @param dataProviderThreads data-provider-thread-count of the suite; 1 for the total time of the rows
+     * @return Predicted duration in milliseconds
+     */
+    static long predictMethodMillis(ITestNGMethod method, int dataProviderThreads) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        TestHistoryStore store = TestHistoryStore.getInstance();
+        if (!method.isDataDriven()) {
+            return predict(store, RetryAnalyzer.testKey(method.getTestClass().getName(), method.getMethodName(),
+                    new Object[0]), config);
+        }
+        String prefix = method.getTestClass().getName() + "#" + method.getMethodName() + "[";
+        List<Long> rows = store.getTestKeys().stream()
+                .filter(key -> key.startsWith(prefix))
+                .map(key -> predict(store, key, config))
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+        if (rows.isEmpty()) {
+            return config.getSchedulerDefaultDurationMillis();
+        }
+        boolean parallelRows = method.getDataProviderMethod() != null && method.getDataProviderMethod().isParallel();
+        return makespan(rows, parallelRows ? Math.max(1, dataProviderThreads) : 1);
+    }
+    
+    /**
+     * Predicts the duration of a single test invocation from its history
+     * 
+     * @param testKey Test invocation key
+     * @return Predicted duration in milliseconds
+     */
+    static long predictMillis(String testKey) {
+        return predict(TestHistoryStore.getInstance(), testKey, FrameworkConfig.getInstance());
+    }
+    
+    private static long predict(TestHistoryStore store, String testKey, FrameworkConfig config) {
+        long predicted = store.getPredictedDurationMillis(testKey, HISTORY_RUNS);
+        return predicted < 0 ? config.getSchedulerDefaultDurationMillis() : predicted;
+    }
+    
+    /**
+     * Simulates a schedule: each duration in order goes to the worker that becomes free first
+     * 
+     * @param durations Durations in schedule order
+     * @param threads Number of workers
+     * @return Time until the last worker is done
+     */
+    static long makespan(List<Long> durations, int threads) {
+        PriorityQueue<Long> workers = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durations) {
+            long finish = workers.poll() + duration;
+            makespan = Math.max(makespan, finish);
+            workers.add(finish);
+        }
+        return makespan;
+    }
+    
+    private static String seconds(long millis) {
+        return String.format("%.1f", millis / 1000.0);
+    }
+    
+    private static String deviation(long predicted, long actual) {
+        return predicted <= 0 ? "no prediction" : String.format("%+.0f%%", (actual - predicted) * 100.0 / predicted);
+    }
+}
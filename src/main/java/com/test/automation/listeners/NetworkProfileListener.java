@@ -0,0 +1,24 @@
+package com.test.automation.listeners;
+
+import com.test.automation.factory.DriverFactory;
+import com.test.automation.network.NetworkEmulator;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener that switches the session to the network profile of a test method annotated with
+ * {@link com.test.automation.network.NetworkProfile} when the method starts. Profiles of classes,
+ * suite tests and network.profile are already applied by DriverFactory when the session starts.
+ */
+public class NetworkProfileListener implements IInvokedMethodListener {
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !DriverFactory.hasDriver()) {
+            return;
+        }
+        NetworkEmulator emulator = NetworkEmulator.getInstance();
+        emulator.apply(DriverFactory.getDriver(), emulator.resolveProfile(testResult));
+    }
+}
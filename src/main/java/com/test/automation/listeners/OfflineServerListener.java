@@ -0,0 +1,53 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.offline.OfflineServer;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IExecutionListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * TestNG listener that starts the embedded {@link OfflineServer} before any suite runs when
+ * offline.enabled is set (profile offline), and points base.url at it, so the preflight checks,
+ * the login state cache and the tests all use the local pages. The server stops after the run.
+ */
+@Slf4j
+public class OfflineServerListener implements IExecutionListener {
+    
+    private static OfflineServer server;
+    
+    @Override
+    public void onExecutionStart() {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isOfflineEnabled()) {
+            return;
+        }
+        synchronized (OfflineServerListener.class) {
+            if (server != null) {
+                return;
+            }
+            OfflineServer offlineServer = OfflineServer.fromConfig(config);
+            try {
+                offlineServer.start();
+            } catch (IOException e) {
+                log.error("Failed to start the offline server on port {}: {}", config.getOfflinePort(), e.getMessage());
+                throw new UncheckedIOException("Could not start the offline server on port " + config.getOfflinePort(), e);
+            }
+            server = offlineServer;
+            log.info("base.url {} replaced by the offline server {}", config.getBaseUrl(), server.getBaseUrl());
+            config.setBaseUrl(server.getBaseUrl());
+        }
+    }
+    
+    @Override
+    public void onExecutionFinish() {
+        synchronized (OfflineServerListener.class) {
+            if (server != null) {
+                server.stop();
+                server = null;
+            }
+        }
+    }
+}
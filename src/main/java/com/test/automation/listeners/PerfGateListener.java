@@ -0,0 +1,93 @@
+package com.test.automation.listeners;
+
+import com.test.automation.perf.PageTiming;
+import com.test.automation.perf.PageTimingCollector;
+import com.test.automation.perf.PerfGate;
+import com.test.automation.perf.PerfViolation;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * TestNG listener that gates page performance. The page timings collected while a test runs are
+ * checked by {@link PerfGate} against the budgets of perf.budget.file and the rolling baseline;
+ * with perf.gate=fail a passing test with counted violations is turned into a failure that names
+ * the page, metric and delta. At the end of the suite the run is added to the baseline.
+ * TestNG calls afterInvocation in reverse registration order, so listeners that need the outcome of
+ * the gate call {@link #check(ITestResult)} themselves instead of relying on this one running first.
+ */
+@Slf4j
+public class PerfGateListener implements IInvokedMethodListener, ISuiteListener {
+    
+    /** Result attribute holding the counted violations of a test, set in every gate mode */
+    public static final String VIOLATIONS_ATTRIBUTE = "perf.violations";
+    private static final String CHECKED_ATTRIBUTE = "perf.checked";
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            PageTimingCollector.getInstance().startTest();
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            check(testResult);
+        }
+    }
+    
+    /**
+     * Checks the page timings of a finished test method against the gate, once per result; later
+     * calls for the same result return the outcome of the first. Must be called on the test's thread.
+     * 
+     * @param testResult Result of the test method
+     * @return Counted violations, empty if the test is within its budgets or the gate is off
+     */
+    @SuppressWarnings("unchecked")
+    public static List<PerfViolation> check(ITestResult testResult) {
+        if (testResult.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            Object violations = testResult.getAttribute(VIOLATIONS_ATTRIBUTE);
+            return violations != null ? (List<PerfViolation>) violations : Collections.emptyList();
+        }
+        testResult.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+        List<PageTiming> timings = PageTimingCollector.getInstance().finishTest();
+        PerfGate gate = PerfGate.getInstance();
+        if (!gate.isEnabled() || timings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<PerfViolation> violations = gate.check(RetryAnalyzer.testKey(testResult), timings);
+        if (violations.isEmpty()) {
+            return violations;
+        }
+        testResult.setAttribute(VIOLATIONS_ATTRIBUTE, violations);
+        String message = violations.stream().map(PerfViolation::describe).collect(Collectors.joining("; "));
+        log.warn("Performance gate: {}", message);
+        if (gate.isFailing() && testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError("Performance gate: " + message));
+        }
+        return violations;
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        PerfGate gate = PerfGate.getInstance();
+        if (!gate.isEnabled()) {
+            return;
+        }
+        List<PerfViolation> violations = gate.getViolations();
+        if (!violations.isEmpty()) {
+            log.warn("Performance gate: {} violations in suite '{}'", violations.size(), suite.getName());
+            violations.forEach(violation -> log.warn("  {}", violation.describe()));
+        }
+        gate.finishRun();
+    }
+}
@@ -0,0 +1,49 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * TestNG listener that applies the parallelism of the active profile (suite.thread.count and
+ * suite.dataprovider.thread.count) to the suites before they run. Counts of 0 keep the values of
+ * testng.xml.
+ * A suite can also pin the instrumentation it depends on with a suite &lt;parameter&gt;, e.g. the
+ * comparison suite switches page timings on and the load suite switches them off. A system property
+ * of the same name still takes precedence.
+ */
+@Slf4j
+public class ProfileListener implements IAlterSuiteListener {
+    
+    private static final Map<String, BiConsumer<FrameworkConfig, String>> SUITE_SETTINGS = Map.of(
+            "perf.timings.enabled", (config, value) -> config.setPerfTimingsEnabled(Boolean.parseBoolean(value)),
+            "driver.metrics.enabled", (config, value) -> config.setDriverMetricsEnabled(Boolean.parseBoolean(value)));
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        for (XmlSuite suite : suites) {
+            SUITE_SETTINGS.forEach((key, setting) -> {
+                String value = suite.getParameter(key);
+                if (value != null && System.getProperty(key) == null) {
+                    setting.accept(config, value.trim());
+                    log.info("Suite '{}' sets {}={}", suite.getName(), key, value.trim());
+                }
+            });
+            if (config.getSuiteThreadCount() > 0) {
+                suite.setThreadCount(config.getSuiteThreadCount());
+            }
+            if (config.getSuiteDataProviderThreadCount() > 0) {
+                suite.setDataProviderThreadCount(config.getSuiteDataProviderThreadCount());
+            }
+            log.info("Suite '{}' runs with profile {}: thread-count {}, data-provider-thread-count {}",
+                    suite.getName(), config.getProfile().isEmpty() ? "none" : config.getProfile(),
+                    suite.getThreadCount(), suite.getDataProviderThreadCount());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.history.TestExecution;
+import com.test.automation.history.TestHistoryStore;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IAlterSuiteListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * TestNG listener that records test outcomes in the {@link TestHistoryStore} and moves chronically
+ * flaky tests to a quarantine lane.
+ * Tests and data provider rows whose flakiness score reaches quarantine.threshold are removed from
+ * their &lt;test&gt; and run in a "(quarantine)" copy of it that is appended to the suite, so they run
+ * after the critical path and never hold up its feedback. Must be registered in testng.xml, since
+ * it alters the suite; register it before {@link DeferredRetryListener} so quarantine lanes get
+ * deferred retries as well.
+ */
+@Slf4j
+public class QuarantineListener implements IAlterSuiteListener, IMethodInterceptor, IDataProviderInterceptor,
+        ITestListener, ISuiteListener {
+    
+    private static final String LANE = "quarantine";
+    private static final Set<String> quarantined = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        TestHistoryStore store = TestHistoryStore.getInstance();
+        if (!config.isQuarantineEnabled() || !store.isEnabled()) {
+            return;
+        }
+        
+        for (String testKey : store.getTestKeys()) {
+            if (store.isFlaky(testKey, config.getQuarantineThreshold(), config.getQuarantineMinRuns())) {
+                quarantined.add(testKey);
+                log.info("Quarantining flaky test {} (flakiness {})", testKey,
+                        String.format("%.2f", store.getFlakinessScore(testKey)));
+            }
+        }
+        if (quarantined.isEmpty()) {
+            return;
+        }
+        
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                if (!SuiteLanes.isLane(suite, test)) {
+                    SuiteLanes.addLane(suite, test, LANE);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (SuiteLanes.isLane(context, LANE)) {
+            return methods.stream()
+                    .filter(instance -> hasQuarantinedInvocation(instance.getMethod()))
+                    .collect(Collectors.toList());
+        }
+        if (SuiteLanes.hasLane(context, LANE)) {
+            // Data driven methods stay, their quarantined rows are filtered out individually
+            return methods.stream()
+                    .filter(instance -> instance.getMethod().isDataDriven()
+                            || !hasQuarantinedInvocation(instance.getMethod()))
+                    .collect(Collectors.toList());
+        }
+        return methods;
+    }
+    
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        boolean quarantineLane = SuiteLanes.isLane(iTestContext, LANE);
+        if (!quarantineLane && !SuiteLanes.hasLane(iTestContext, LANE)) {
+            return original;
+        }
+        String className = method.getTestClass().getName();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(original, Spliterator.ORDERED), false)
+                .filter(row -> quarantined.contains(RetryAnalyzer.testKey(className, method.getMethodName(), row))
+                        == quarantineLane)
+                .iterator();
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, TestExecution.PASS);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, TestExecution.FAIL);
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, TestExecution.SKIP);
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        TestHistoryStore.getInstance().save();
+    }
+    
+    private void record(ITestResult result, String outcome) {
+        TestHistoryStore.getInstance().record(RetryAnalyzer.testKey(result), outcome, result.wasRetried(),
+                LongestFirstScheduler.invocationMillis(result));
+    }
+    
+    private static boolean hasQuarantinedInvocation(ITestNGMethod method) {
+        String prefix = method.getTestClass().getName() + "#" + method.getMethodName() + "[";
+        return quarantined.stream().anyMatch(key -> key.startsWith(prefix));
+    }
+}
@@ -1,34 +1,98 @@
 package com.test.automation.listeners;
 
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.listeners.FailureClassifier.FailureType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Retry analyzer for failed tests
- * This class will retry a failed test a specified number of times
+ * Only infra failures (see {@link FailureClassifier}) are retried, up to retry.max.count times per
+ * test and retry.budget times for the whole suite. Every retry runs on a fresh browser session,
+ * because the driver is quit and recreated around each invocation. When the suite has deferred
+ * retry lanes, {@link DeferredRetryListener} moves the retry to the end of the suite instead.
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
     
     private static final Logger log = LoggerFactory.getLogger(RetryAnalyzer.class);
     
-    private int retryCount = 0;
-    private static final int MAX_RETRY_COUNT = 1; // Retry failed tests once
+    private static final String RETRY_DECIDED = "retryDecided";
+    private static final FrameworkConfig config = FrameworkConfig.getInstance();
+    private static final AtomicInteger remainingBudget = new AtomicInteger(config.getRetryBudget());
+    private static final Map<String, AtomicInteger> retryCounts = new ConcurrentHashMap<>();
     
     /**
      * This method is called when a test fails
      * 
      * @param result Result of test method execution
-     * @return true if test should be retried, false otherwise
+     * @return true if test should be retried right away, false otherwise
      */
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < MAX_RETRY_COUNT) {
-            log.info("Retrying test: {} for {} time", result.getName(), retryCount+1);
-            retryCount++;
-            return true;
+        // The failure was already considered (and possibly deferred) by DeferredRetryListener
+        if (result.getAttribute(RETRY_DECIDED) != null) {
+            return false;
+        }
+        return claimRetry(result);
+    }
+    
+    /**
+     * Decides whether a failed test is retried and, if so, takes one retry from the suite budget
+     * 
+     * @param result Result of the failed test
+     * @return true if the test may be retried
+     */
+    static boolean claimRetry(ITestResult result) {
+        result.setAttribute(RETRY_DECIDED, Boolean.TRUE);
+        FailureType type = FailureClassifier.classify(result.getThrowable());
+        if (type != FailureType.INFRA) {
+            log.info("Not retrying test: {} ({} failure)", result.getName(), type);
+            return false;
+        }
+        
+        AtomicInteger retryCount = retryCounts.computeIfAbsent(testKey(result), key -> new AtomicInteger());
+        if (retryCount.get() >= config.getRetryMaxCount()) {
+            log.info("Not retrying test: {}, already retried {} time(s)", result.getName(), retryCount.get());
+            return false;
         }
-        return false;
+        if (remainingBudget.getAndUpdate(budget -> Math.max(0, budget - 1)) <= 0) {
+            log.warn("Not retrying test: {}, suite retry budget of {} is used up", result.getName(),
+                    config.getRetryBudget());
+            return false;
+        }
+        
+        log.info("Retrying test: {} for {} time after infra failure: {} ({} retries left in suite budget)",
+                result.getName(), retryCount.incrementAndGet(), result.getThrowable().getClass().getSimpleName(),
+                remainingBudget.get());
+        return true;
+    }
+    
+    /**
+     * Creates a key that identifies a test invocation across retries
+     * 
+     * @param result ITestResult of the test
+     * @return Class, method and parameters of the test
+     */
+    static String testKey(ITestResult result) {
+        return testKey(result.getTestClass().getName(), result.getMethod().getMethodName(), result.getParameters());
+    }
+    
+    /**
+     * Creates a key that identifies a test invocation across retries
+     * 
+     * @param className Fully qualified test class name
+     * @param methodName Test method name
+     * @param parameters Invocation parameters
+     * @return Class, method and parameters of the test
+     */
+    static String testKey(String className, String methodName, Object[] parameters) {
+        return className + "#" + methodName + Arrays.deepToString(parameters);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * TestNG listener that runs one shard of the suite, selected with -Dshard=i/N.
+ * Every shard plans the whole suite the same way (see {@link ShardPlan}) and only runs the test
+ * methods and data provider rows assigned to it, so N JVMs or CI agents started with shards 1/N to
+ * N/N together run every test exactly once in about 1/N of the time. The shards' journals and
+ * Allure results are combined afterwards with
+ * {@link com.test.automation.journal.ShardReportMerger}.
+ */
+@Slf4j
+public class ShardListener implements IMethodInterceptor, IDataProviderInterceptor {
+    
+    private static ShardPlan plan;
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ShardPlan shardPlan = getPlan(context.getSuite());
+        if (shardPlan == null) {
+            return methods;
+        }
+        List<IMethodInstance> selected = methods.stream()
+                .filter(instance -> shardPlan.isSelected(instance.getMethod()))
+                .collect(Collectors.toList());
+        log.info("Shard {}/{}: running {} of {} methods of '{}'", shardPlan.getShard(), shardPlan.getShards(),
+                selected.size(), methods.size(), context.getName());
+        return selected;
+    }
+    
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        ShardPlan shardPlan = getPlan(iTestContext.getSuite());
+        if (shardPlan == null) {
+            return original;
+        }
+        String className = method.getTestClass().getName();
+        List<Object[]> rows = new ArrayList<>();
+        original.forEachRemaining(row -> {
+            if (shardPlan.isSelected(RetryAnalyzer.testKey(className, method.getMethodName(), row))) {
+                rows.add(row);
+            }
+        });
+        return rows.iterator();
+    }
+    
+    private static synchronized ShardPlan getPlan(ISuite suite) {
+        String shard = FrameworkConfig.getInstance().getShard();
+        if (shard == null || shard.trim().isEmpty()) {
+            return null;
+        }
+        if (plan == null) {
+            // Lanes hold copies of the original methods, those are planned once
+            List<ITestNGMethod> methods = suite.getAllMethods().stream()
+                    .filter(method -> !SuiteLanes.isLane(suite.getXmlSuite(), method.getXmlTest()))
+                    .collect(Collectors.toList());
+            plan = ShardPlan.plan(methods, shard);
+            log.info("Planned {} test methods over {} shards ({}), this is shard {}", methods.size(),
+                    plan.getShards(), plan.describe(), plan.getShard());
+        }
+        return plan;
+    }
+}
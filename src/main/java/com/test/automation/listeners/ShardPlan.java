@@ -0,0 +1,148 @@
+package com.test.automation.listeners;
+
+import com.test.automation.history.TestHistoryStore;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Splits the test invocations of a suite into shards of near-equal predicted duration.
+ * The units are test methods and the data provider rows known from the {@link TestHistoryStore}.
+ * They are assigned longest first to the shard with the least predicted time, with ties broken by
+ * key, so every JVM or agent that plans the same suite from the same history gets the same split.
+ * Rows without history are spread by a stable hash of their key.
+ */
+final class ShardPlan {
+    
+    private final int shard;
+    private final int shards;
+    private final Map<String, Integer> assignments = new HashMap<>();
+    private final long[] predictedMillis;
+    private final int[] unitCounts;
+    
+    private ShardPlan(int shard, int shards) {
+        this.shard = shard;
+        this.shards = shards;
+        this.predictedMillis = new long[shards];
+        this.unitCounts = new int[shards];
+    }
+    
+    /**
+     * Plans the shards of a suite
+     * 
+     * @param methods All test methods of the suite
+     * @param selector Shard selector in the form i/N, with i counting from 1
+     * @return Shard plan for shard i
+     */
+    static ShardPlan plan(Collection<ITestNGMethod> methods, String selector) {
+        String[] parts = selector.trim().split("/");
+        int shard;
+        int shards;
+        try {
+            shard = Integer.parseInt(parts[0].trim());
+            shards = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 0;
+        } catch (NumberFormatException e) {
+            shard = shards = 0;
+        }
+        if (shards < 1 || shard < 1 || shard > shards) {
+            throw new IllegalArgumentException("Invalid shard '" + selector + "', expected i/N with 1 <= i <= N");
+        }
+        
+        Map<String, Long> units = new HashMap<>();
+        List<String> historyKeys = TestHistoryStore.getInstance().getTestKeys();
+        for (ITestNGMethod method : methods) {
+            String className = method.getTestClass().getName();
+            if (!method.isDataDriven()) {
+                String key = RetryAnalyzer.testKey(className, method.getMethodName(), new Object[0]);
+                units.put(key, LongestFirstScheduler.predictMillis(key));
+                continue;
+            }
+            String prefix = className + "#" + method.getMethodName() + "[";
+            for (String key : historyKeys) {
+                if (key.startsWith(prefix)) {
+                    units.put(key, LongestFirstScheduler.predictMillis(key));
+                }
+            }
+        }
+        return plan(units, shard, shards);
+    }
+    
+    /**
+     * Assigns units of work to shards, longest first to the shard with the least predicted time
+     * 
+     * @param units Predicted duration in milliseconds by test invocation key
+     * @param shard Shard to plan for, counting from 1
+     * @param shards Number of shards
+     * @return Shard plan for the shard
+     */
+    static ShardPlan plan(Map<String, Long> units, int shard, int shards) {
+        ShardPlan plan = new ShardPlan(shard, shards);
+        // Sorted by key first, so the assignment does not depend on the order TestNG lists the methods in
+        List<Map.Entry<String, Long>> ordered = new ArrayList<>(new TreeMap<>(units).entrySet());
+        ordered.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        for (Map.Entry<String, Long> unit : ordered) {
+            int target = 0;
+            for (int i = 1; i < shards; i++) {
+                if (plan.predictedMillis[i] < plan.predictedMillis[target]) {
+                    target = i;
+                }
+            }
+            plan.assignments.put(unit.getKey(), target + 1);
+            plan.predictedMillis[target] += unit.getValue();
+            plan.unitCounts[target]++;
+        }
+        return plan;
+    }
+    
+    /**
+     * Checks whether a test method runs on this shard. Data driven methods run on every shard,
+     * their rows are selected with {@link #isSelected(String)}.
+     * 
+     * @param method Test method
+     * @return true if the method runs on this shard
+     */
+    boolean isSelected(ITestNGMethod method) {
+        return method.isDataDriven()
+                || isSelected(RetryAnalyzer.testKey(method.getTestClass().getName(), method.getMethodName(), new Object[0]));
+    }
+    
+    /**
+     * Checks whether a test invocation runs on this shard
+     * 
+     * @param testKey Test invocation key
+     * @return true if the invocation is assigned to this shard
+     */
+    boolean isSelected(String testKey) {
+        String key = testKey.replaceAll("[\\t\\r\\n]", " ");
+        Integer assigned = assignments.get(key);
+        return (assigned != null ? assigned : Math.floorMod(key.hashCode(), shards) + 1) == shard;
+    }
+    
+    int getShard() {
+        return shard;
+    }
+    
+    int getShards() {
+        return shards;
+    }
+    
+    /**
+     * Describes the planned units and predicted duration of every shard
+     * 
+     * @return Summary for the log
+     */
+    String describe() {
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < shards; i++) {
+            summary.append(i == 0 ? "" : ", ").append(i + 1).append(": ").append(unitCounts[i]).append(" units ")
+                    .append(String.format("%.1f s", predictedMillis[i] / 1000.0));
+        }
+        return summary.toString();
+    }
+}
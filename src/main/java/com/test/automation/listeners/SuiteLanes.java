@@ -0,0 +1,158 @@
+package com.test.automation.listeners;
+
+import org.testng.ITestContext;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the extra &lt;test&gt; lanes that listeners append to a suite (quarantine, deferred retries).
+ * A lane is a copy of an original &lt;test&gt; with the same classes and parameters that runs after
+ * all original tests, since the &lt;test&gt; blocks of a suite run one after another. Tests that only
+ * differ in their classes can share one lane.
+ */
+final class SuiteLanes {
+    
+    private static final Map<String, String> lanes = new ConcurrentHashMap<>();
+    private static final Map<String, String> laneOfTest = new ConcurrentHashMap<>();
+    
+    private SuiteLanes() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Appends a lane for a test to the end of its suite
+     * 
+     * @param suite Suite to add the lane to
+     * @param test Original test the lane is copied from
+     * @param kind Kind of lane, also used as name suffix
+     * @return Name of the new lane
+     */
+    static String addLane(XmlSuite suite, XmlTest test, String kind) {
+        // XmlTest.clone() adds the copy to the end of the suite
+        XmlTest lane = (XmlTest) test.clone();
+        lane.setName(laneName(test.getName(), kind));
+        register(suite, lane, List.of(test), kind);
+        return lane.getName();
+    }
+    
+    /**
+     * Appends one lane for several tests to the end of their suite.
+     * The lane is a copy of the first test with the classes of all tests, so the tests must be
+     * compatible (see {@link #canShareLane(XmlTest, XmlTest)}).
+     * 
+     * @param suite Suite to add the lane to
+     * @param tests Original tests the lane runs the classes of
+     * @param kind Kind of lane, also used as name suffix
+     * @return Name of the new lane
+     */
+    static String addLane(XmlSuite suite, List<XmlTest> tests, String kind) {
+        if (tests.size() == 1) {
+            return addLane(suite, tests.get(0), kind);
+        }
+        XmlTest first = tests.get(0);
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlTest test : tests) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                classes.add((XmlClass) xmlClass.clone());
+            }
+        }
+        XmlTest lane = (XmlTest) first.clone();
+        lane.setName(laneName(first.getName() + " and " + (tests.size() - 1) + " more", kind));
+        lane.setXmlClasses(classes);
+        register(suite, lane, tests, kind);
+        return lane.getName();
+    }
+    
+    /**
+     * Checks whether two tests can run in one lane: same parameters, groups and parallel settings,
+     * only classes (no packages) and no class in both
+     * 
+     * @param test First test
+     * @param other Second test
+     * @return true if a lane with the classes of both tests runs them like the tests do
+     */
+    static boolean canShareLane(XmlTest test, XmlTest other) {
+        return test.getLocalParameters().equals(other.getLocalParameters())
+                && test.getIncludedGroups().equals(other.getIncludedGroups())
+                && test.getExcludedGroups().equals(other.getExcludedGroups())
+                && test.getParallel() == other.getParallel()
+                && test.getThreadCount() == other.getThreadCount()
+                && Objects.equals(test.getPreserveOrder(), other.getPreserveOrder())
+                && test.getXmlPackages().isEmpty() && other.getXmlPackages().isEmpty()
+                && test.getXmlClasses().stream().noneMatch(xmlClass -> other.getXmlClasses().stream()
+                        .anyMatch(otherClass -> otherClass.getName().equals(xmlClass.getName())));
+    }
+    
+    /**
+     * Gets the name of the lane of a given kind for a test
+     * 
+     * @param testName Name of the original test
+     * @param kind Kind of lane
+     * @return Lane name
+     */
+    static String laneName(String testName, String kind) {
+        return testName + " (" + kind + ")";
+    }
+    
+    /**
+     * Checks whether a test context is a lane of the given kind
+     * 
+     * @param context Test context
+     * @param kind Kind of lane
+     * @return true if the context runs such a lane
+     */
+    static boolean isLane(ITestContext context, String kind) {
+        return kind.equals(lanes.get(key(context.getSuite().getName(), context.getName())));
+    }
+    
+    /**
+     * Checks whether a test is a lane of any kind
+     * 
+     * @param suite Suite of the test
+     * @param test Test to check
+     * @return true if the test was added as a lane
+     */
+    static boolean isLane(XmlSuite suite, XmlTest test) {
+        return lanes.containsKey(key(suite.getName(), test.getName()));
+    }
+    
+    /**
+     * Checks whether a lane of the given kind exists for a test
+     * 
+     * @param context Context of the original test
+     * @param kind Kind of lane
+     * @return true if the suite has such a lane for the test
+     */
+    static boolean hasLane(ITestContext context, String kind) {
+        return laneOf(context, kind) != null;
+    }
+    
+    /**
+     * Gets the name of the lane of the given kind that runs a test
+     * 
+     * @param context Context of the original test
+     * @param kind Kind of lane
+     * @return Lane name, or null if the suite has no such lane for the test
+     */
+    static String laneOf(ITestContext context, String kind) {
+        return laneOfTest.get(key(context.getSuite().getName(), context.getName()) + "/" + kind);
+    }
+    
+    private static void register(XmlSuite suite, XmlTest lane, List<XmlTest> tests, String kind) {
+        lanes.put(key(suite.getName(), lane.getName()), kind);
+        for (XmlTest test : tests) {
+            laneOfTest.put(key(suite.getName(), test.getName()) + "/" + kind, lane.getName());
+        }
+    }
+    
+    private static String key(String suiteName, String testName) {
+        return suiteName + "/" + testName;
+    }
+}
@@ -0,0 +1,122 @@
+package com.test.automation.listeners;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.impact.PageUsageAspect;
+import com.test.automation.impact.TestImpactMap;
+import com.test.automation.impact.TestImpactSelector;
+import com.test.automation.impact.TestImpactSelector.Reason;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TestNG listener for test impact analysis.
+ * Records the page object and component methods each test method touches (via
+ * {@link PageUsageAspect}) into the {@link TestImpactMap}. With impact.selection=true it only runs
+ * the test methods affected by the files changed since impact.base, plus a seeded safety sample of
+ * impact.sample.rate, and reports the estimated time saved compared with a full run.
+ * Register it before {@link LongestFirstScheduler}, since interceptors run in registration order.
+ */
+@Slf4j
+public class TestImpactListener implements IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+    
+    private static TestImpactSelector selector;
+    private final Map<Reason, AtomicInteger> reasons = new EnumMap<>(Reason.class);
+    private final AtomicLong fullRunMillis = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+    
+    public TestImpactListener() {
+        for (Reason reason : Reason.values()) {
+            reasons.put(reason, new AtomicInteger());
+        }
+    }
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isImpactSelection()) {
+            return methods;
+        }
+        
+        // Lanes re-run methods of the original tests, only count those once
+        boolean lane = SuiteLanes.isLane(context.getSuite().getXmlSuite(), context.getCurrentXmlTest());
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            Reason reason = getSelector(config).decide(method.getTestClass().getName(), method.getMethodName());
+            if (reason.isSelected()) {
+                selected.add(instance);
+            }
+            if (!lane) {
+                // Total time of the method, whether or not its rows run in parallel
+                long predicted = LongestFirstScheduler.predictMethodMillis(method, 1);
+                reasons.get(reason).incrementAndGet();
+                fullRunMillis.addAndGet(predicted);
+                if (!reason.isSelected()) {
+                    savedMillis.addAndGet(predicted);
+                }
+            }
+            log.debug("Impact selection: {}#{} {}", method.getTestClass().getName(), method.getMethodName(), reason);
+        }
+        log.info("Impact selection for '{}': running {} of {} methods", context.getName(), selected.size(), methods.size());
+        return selected;
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration()) {
+            PageUsageAspect.begin();
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        String testMethod = testResult.getTestClass().getName() + "#" + testResult.getMethod().getMethodName();
+        // Without the weaver agent nothing is recorded, keep the existing map
+        if (PageUsageAspect.isWoven() && FrameworkConfig.getInstance().isHistoryEnabled()) {
+            TestImpactMap.getInstance().record(testMethod, PageUsageAspect.collect());
+        } else {
+            PageUsageAspect.collect();
+        }
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        if (FrameworkConfig.getInstance().isHistoryEnabled()) {
+            TestImpactMap.getInstance().save();
+        }
+        if (fullRunMillis.get() == 0) {
+            return;
+        }
+        int total = reasons.values().stream().mapToInt(AtomicInteger::get).sum();
+        log.info("Impact selection ran {} of {} test methods {}", total - reasons.get(Reason.UNAFFECTED).get(), total,
+                reasons);
+        log.info("Estimated time saved: {} s of a {} s full run ({}%)", String.format("%.1f", savedMillis.get() / 1000.0),
+                String.format("%.1f", fullRunMillis.get() / 1000.0), savedMillis.get() * 100 / fullRunMillis.get());
+    }
+    
+    private static synchronized TestImpactSelector getSelector(FrameworkConfig config) {
+        if (selector == null) {
+            selector = new TestImpactSelector(config.getImpactBase(), TestImpactMap.getInstance(), config.getImpactSampleRate(),
+                    config.getImpactSampleSeed());
+        }
+        return selector;
+    }
+}
@@ -6,17 +6,30 @@ import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.test.automation.config.FrameworkConfig;
 import com.test.automation.factory.DriverFactory;
+import com.test.automation.journal.EventJournal;
+import com.test.automation.journal.EventType;
+import com.test.automation.logging.TestLogBuffer;
+import com.test.automation.perf.CommandLatencyRecorder;
+import com.test.automation.perf.PageTimingCollector;
 import com.test.automation.utils.ExtentManager;
 import io.qameta.allure.Attachment;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -24,11 +37,27 @@ import java.util.concurrent.ConcurrentHashMap;
  * TestNG Listener for test events and reporting
  */
 @Slf4j
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
     
-    private static final ExtentReports extent = ExtentManager.getInstance();
+    private static final String JOURNAL_TEST_ID = "journalTestId";
+    private static final boolean liveReport = !"journal".equalsIgnoreCase(FrameworkConfig.getInstance().getReportMode());
+    private static final ExtentReports extent = liveReport ? ExtentManager.getInstance() : null;
+    private static final EventJournal journal = EventJournal.getInstance();
     private static final ConcurrentHashMap<String, ExtentTest> testMap = new ConcurrentHashMap<>();
     
+    @Override
+    public void onStart(ISuite suite) {
+        journal.record(EventType.SUITE_START, Thread.currentThread().getId(), null, suite.getName(), null);
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        // Capture the test's logs from its first @BeforeMethod, so setup steps are included
+        if (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration()) {
+            TestLogBuffer.begin();
+        }
+    }
+    
     @Override
     public void onStart(ITestContext context) {
         log.info("Test Suite Started: {}", context.getName());
@@ -42,6 +71,15 @@ public class TestListener implements ITestListener {
         String className = result.getTestClass().getRealClass().getSimpleName();
         String description = result.getMethod().getDescription();
         
+        String journalTestId = journal.newTestId();
+        result.setAttribute(JOURNAL_TEST_ID, journalTestId);
+        String parameters = result.getParameters().length > 0 ? Arrays.toString(result.getParameters()) : "";
+        journal.testStarted(journalTestId, result.getTestClass().getName() + "#" + testName + parameters, description);
+        
+        if (!liveReport) {
+            return;
+        }
+        
         // For parallel execution - using thread safe map to store test instances
         ExtentTest test = extent.createTest(className + " - " + testName, description);
         testMap.put(getTestMapKey(result), test);
@@ -53,57 +91,142 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         log.info("Test Passed: {}", result.getName());
-        getTest(result).log(Status.PASS, MarkupHelper.createLabel("Test Passed", ExtentColor.GREEN));
+        TestLogBuffer.end();
+        journal.testFinished(getJournalTestId(result), EventType.TEST_PASS, null);
+        
+        ExtentTest test = getTest(result);
+        if (test != null) {
+            test.log(Status.PASS, MarkupHelper.createLabel("Test Passed", ExtentColor.GREEN));
+            completeTest(result);
+        }
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
         log.error("Test Failed: {}", result.getName(), result.getThrowable());
         
+        // The buffered logs of the test are only kept for failures
+        String testLog = TestLogBuffer.snapshot();
+        TestLogBuffer.end();
+        
+        String journalTestId = getJournalTestId(result);
         ExtentTest test = getTest(result);
-        test.log(Status.FAIL, MarkupHelper.createLabel("Test Failed", ExtentColor.RED));
-        test.log(Status.FAIL, result.getThrowable());
+        if (test != null) {
+            test.log(Status.FAIL, MarkupHelper.createLabel("Test Failed", ExtentColor.RED));
+            test.log(Status.FAIL, result.getThrowable());
+            if (!testLog.isEmpty()) {
+                test.info(MarkupHelper.createCodeBlock(escapeHtml(testLog)));
+            }
+        }
+        if (!testLog.isEmpty()) {
+            saveTestLog(testLog);
+        }
         
-        // Capture screenshot on failure
-        WebDriver driver = DriverFactory.getDriver();
-        if (driver != null) {
+        // Capture screenshot on failure, unless the active profile turns it off or the test has no session
+        boolean captureScreenshot = FrameworkConfig.getInstance().isScreenshotOnFailure();
+        WebDriver driver = captureScreenshot && DriverFactory.hasDriver() ? DriverFactory.getDriver() : null;
+        if (!captureScreenshot) {
+            log.debug("Screenshot on failure disabled for: {}", result.getName());
+        } else if (driver != null) {
             try {
                 byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                String base64Screenshot = Base64.getEncoder().encodeToString(screenshot);
                 
                 // Add screenshot to Extent Report using MediaEntityBuilder
-                test.fail("Screenshot on failure:", 
-                          MediaEntityBuilder.createScreenCaptureFromBase64String(base64Screenshot).build());
+                if (test != null) {
+                    String base64Screenshot = Base64.getEncoder().encodeToString(screenshot);
+                    test.fail("Screenshot on failure:", 
+                              MediaEntityBuilder.createScreenCaptureFromBase64String(base64Screenshot).build());
+                }
                 
                 // Add screenshot to Allure Report
                 saveScreenshot(screenshot);
+                
+                // Keep a reference in the journal so reports can be re-rendered later
+                journal.attachment(journalTestId, "Screenshot on failure", "png", screenshot);
             } catch (Exception e) {
                 log.error("Failed to capture or attach screenshot", e);
-                test.log(Status.WARNING, "Failed to capture screenshot: " + e.getMessage());
+                if (test != null) {
+                    test.log(Status.WARNING, "Failed to capture screenshot: " + e.getMessage());
+                }
             }
         } else {
              log.warn("WebDriver was null, could not capture screenshot for failed test: {}", result.getName());
-             test.log(Status.WARNING, "WebDriver instance was null, screenshot not captured.");
+             if (test != null) {
+                 test.log(Status.WARNING, "WebDriver instance was null, screenshot not captured.");
+             }
+        }
+        
+        journal.testFinished(journalTestId, EventType.TEST_FAIL, stackTrace(result.getThrowable()));
+        if (test != null) {
+            completeTest(result);
         }
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
         log.info("Test Skipped: {}", result.getName());
-        getTest(result).log(Status.SKIP, MarkupHelper.createLabel("Test Skipped", ExtentColor.YELLOW));
+        TestLogBuffer.end();
+        journal.testFinished(getJournalTestId(result), EventType.TEST_SKIP, stackTrace(result.getThrowable()));
+        
+        ExtentTest test = getTest(result);
+        if (test != null) {
+            if (DeferredRetryListener.isDeferred(result)) {
+                test.log(Status.SKIP, MarkupHelper.createLabel("Infra Failure - Retry Deferred", ExtentColor.ORANGE));
+                test.log(Status.SKIP, result.getThrowable());
+            } else {
+                test.log(Status.SKIP, MarkupHelper.createLabel("Test Skipped", ExtentColor.YELLOW));
+            }
+            completeTest(result);
+        }
     }
     
     @Override
     public void onFinish(ITestContext context) {
         log.info("Test Suite Finished: {}", context.getName());
         
-        // Write the Extent Report
-        extent.flush();
-        
         // Ensure all drivers are cleaned up - REMOVED from here, handled by @AfterMethod
         // DriverFactory.quitDriver(); 
     }
     
+    @Override
+    public void onFinish(ISuite suite) {
+        reportCommandLatencies();
+        
+        // Write the Extent Report once for the whole suite rather than once per <test> block
+        if (liveReport) {
+            ExtentManager.flush();
+        }
+        
+        journal.record(EventType.SUITE_FINISH, Thread.currentThread().getId(), null, suite.getName(), null);
+        journal.close();
+        if (journal.getJournalFile() != null) {
+            log.info("Event journal written to {}; render reports with {}", journal.getJournalFile(),
+                    "com.test.automation.journal.JournalRenderer");
+        }
+    }
+    
+    /**
+     * Writes the WebDriver command latencies of the suite and adds the call sites that spent the most
+     * time in commands to the Extent report
+     */
+    private void reportCommandLatencies() {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (!config.isDriverMetricsEnabled()) {
+            return;
+        }
+        CommandLatencyRecorder.CommandLatencies latencies = CommandLatencyRecorder.getInstance().merge();
+        if (latencies.getCommandCount() == 0) {
+            return;
+        }
+        latencies.write(PageTimingCollector.getPerfDir());
+        if (liveReport) {
+            ExtentTest test = extent.createTest("WebDriver Command Latency",
+                    "Call sites with the most time spent in WebDriver commands");
+            test.info(MarkupHelper.createTable(latencies.slowestCallSites(config.getDriverMetricsTop())));
+            ExtentManager.completeTest(test);
+        }
+    }
+    
     /**
      * Gets the ExtentTest instance for the current test
      * 
@@ -111,17 +234,63 @@ public class TestListener implements ITestListener {
      * @return The ExtentTest instance
      */
     private ExtentTest getTest(ITestResult result) {
-        return testMap.get(getTestMapKey(result));
+        String key = getTestMapKey(result);
+        return key == null ? null : testMap.get(key);
     }
     
     /**
-     * Creates a unique key for the test map based on the test method and thread ID
+     * Hands the finished test over to the report and releases it from the test map
+     * 
+     * @param result ITestResult of the finished test
+     */
+    private void completeTest(ITestResult result) {
+        ExtentManager.completeTest(testMap.remove(getTestMapKey(result)));
+    }
+    
+    /**
+     * Gets the event journal id assigned to the test in onTestStart
      * 
      * @param result ITestResult of the test
-     * @return Unique key for the test
+     * @return Journal test id, or null if the test was never started
+     */
+    private String getJournalTestId(ITestResult result) {
+        return (String) result.getAttribute(JOURNAL_TEST_ID);
+    }
+    
+    /**
+     * Formats a throwable and its causes as a stack trace string
+     * 
+     * @param throwable Throwable to format, may be null
+     * @return Stack trace text, or null if there is no throwable
+     */
+    private String stackTrace(Throwable throwable) {
+        if (throwable == null) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+    
+    /**
+     * Escapes text for display inside the report's HTML
+     * 
+     * @param text Text to escape
+     * @return HTML-safe text
+     */
+    private String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+    
+    /**
+     * Creates a unique key for the test map from the invocation id assigned in onTestStart.
+     * Method name and thread are not unique, since data provider rows of the same method run in parallel.
+     * 
+     * @param result ITestResult of the test
+     * @return Unique key for the test, or null if the test was never started
      */
     private String getTestMapKey(ITestResult result) {
-        return result.getMethod().getMethodName() + "_" + Thread.currentThread().getId();
+        return getJournalTestId(result);
     }
     
     /**
@@ -134,4 +303,15 @@ public class TestListener implements ITestListener {
     private byte[] saveScreenshot(byte[] screenshot) {
         return screenshot;
     }
+    
+    /**
+     * Saves the captured test log for Allure reporting
+     * 
+     * @param testLog Log lines of the failed test
+     * @return The test log
+     */
+    @Attachment(value = "Test log", type = "text/plain")
+    private String saveTestLog(String testLog) {
+        return testLog;
+    }
 } 
\ No newline at end of file
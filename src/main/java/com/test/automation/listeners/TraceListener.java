@@ -0,0 +1,94 @@
+package com.test.automation.listeners;
+
+import com.test.automation.trace.TraceRecorder;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TestNG listener that records test and configuration methods as the root trace spans of their
+ * threads (trace.enabled=true), and closes the trace file at the end of the suite. Spans of steps or
+ * commands a method left open, e.g. when it failed, are closed with it. Test spans are closed in the
+ * ITestListener callbacks, which TestNG calls once every afterInvocation listener has run, so the span
+ * status includes failed performance checks and deferred retries whatever the listener order.
+ */
+public class TraceListener implements IInvokedMethodListener, ITestListener, ISuiteListener {
+    
+    private static final ThreadLocal<Integer> depth = new ThreadLocal<>();
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        TraceRecorder recorder = TraceRecorder.getInstance();
+        if (!recorder.isEnabled()) {
+            return;
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("test", RetryAnalyzer.testKey(testResult));
+        depth.set(recorder.getDepth());
+        recorder.begin(testResult.getTestClass().getRealClass().getSimpleName() + "." + method.getTestMethod().getMethodName(),
+                method.isTestMethod() ? "test" : "configuration", attributes);
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            endSpan(testResult);
+        }
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        endSpan(result);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        endSpan(result);
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        endSpan(result);
+    }
+    
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        endSpan(result);
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        TraceRecorder.getInstance().close();
+    }
+    
+    private static void endSpan(ITestResult testResult) {
+        Integer parentDepth = depth.get();
+        if (parentDepth == null) {
+            return;
+        }
+        depth.remove();
+        TraceRecorder recorder = TraceRecorder.getInstance();
+        String status = status(testResult);
+        recorder.endTo(parentDepth + 1, status);
+        recorder.end(status);
+    }
+    
+    private static String status(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+                return "passed";
+            case ITestResult.FAILURE:
+                return "failed";
+            case ITestResult.SKIP:
+                return "skipped";
+            default:
+                return null;
+        }
+    }
+}
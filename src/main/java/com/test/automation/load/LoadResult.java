@@ -0,0 +1,146 @@
+package com.test.automation.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Merged outcome of a load run: a latency histogram per journey step (in microseconds), the number
+ * of completed and failed journeys and the measured time.
+ */
+@Slf4j
+public class LoadResult {
+    
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final long startMillis;
+    private long endMillis;
+    private long journeys;
+    private long errors;
+    
+    LoadResult(long startMillis) {
+        this.startMillis = startMillis;
+    }
+    
+    /**
+     * Merges the results of a session into this result
+     * 
+     * @param stepHistograms Step histograms of the session
+     * @param sessionJourneys Journeys the session completed
+     * @param sessionErrors Journeys of the session that failed
+     */
+    synchronized void merge(Map<String, Histogram> stepHistograms, long sessionJourneys, long sessionErrors) {
+        stepHistograms.forEach((step, histogram) -> histograms.computeIfAbsent(step, key -> {
+            Histogram merged = new Histogram(histogram.getNumberOfSignificantValueDigits());
+            merged.setTag(key);
+            return merged;
+        }).add(histogram));
+        journeys += sessionJourneys;
+        errors += sessionErrors;
+    }
+    
+    synchronized void finish(long endMillis) {
+        this.endMillis = endMillis;
+        histograms.values().forEach(histogram -> {
+            histogram.setStartTimeStamp(startMillis);
+            histogram.setEndTimeStamp(endMillis);
+        });
+    }
+    
+    /**
+     * Gets the merged latency histogram of a step
+     * 
+     * @param step Step name
+     * @return Histogram in microseconds, or null if the step never completed
+     */
+    public synchronized Histogram getHistogram(String step) {
+        return histograms.get(step);
+    }
+    
+    /**
+     * Gets the number of completed journeys
+     * 
+     * @return Completed journeys of all sessions
+     */
+    public synchronized long getJourneys() {
+        return journeys;
+    }
+    
+    /**
+     * Gets the number of failed journeys
+     * 
+     * @return Failed journeys of all sessions
+     */
+    public synchronized long getErrors() {
+        return errors;
+    }
+    
+    /**
+     * Gets the share of journeys that failed
+     * 
+     * @return Failed journeys divided by all journeys, 0 if none ran
+     */
+    public synchronized double getErrorRate() {
+        long total = journeys + errors;
+        return total == 0 ? 0 : errors / (double) total;
+    }
+    
+    /**
+     * Gets the measured time, from the start of the ramp-up to the end of the last session
+     * 
+     * @return Elapsed time in seconds
+     */
+    public synchronized double getElapsedSeconds() {
+        return Math.max(1, endMillis - startMillis) / 1000.0;
+    }
+    
+    /**
+     * Formats throughput and the p50, p95, p99 and maximum latency of each step as a table
+     * 
+     * @return Report text
+     */
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%d journeys, %d errors (%.1f%%) in %.1f s: %.2f journeys/s%n", journeys, errors,
+                getErrorRate() * 100, getElapsedSeconds(), journeys / getElapsedSeconds()));
+        report.append(String.format(Locale.ROOT, "%-22s %8s %10s %10s %10s %10s %10s%n", "step", "count", "per s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        histograms.forEach((step, histogram) -> report.append(String.format(Locale.ROOT,
+                "%-22s %8d %10.2f %10.1f %10.1f %10.1f %10.1f%n", step, histogram.getTotalCount(),
+                histogram.getTotalCount() / getElapsedSeconds(), histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0)));
+        return report.toString();
+    }
+    
+    /**
+     * Writes the step histograms in HdrHistogram log format, one tagged interval per step, so runs
+     * of several machines can be merged with HistogramLogReader
+     * 
+     * @param logFile Histogram log file
+     */
+    public synchronized void writeHistogramLog(Path logFile) {
+        try {
+            Files.createDirectories(logFile.toAbsolutePath().getParent());
+            HistogramLogWriter writer = new HistogramLogWriter(logFile.toFile());
+            try {
+                writer.outputLogFormatVersion();
+                writer.outputStartTime(startMillis);
+                writer.setBaseTime(startMillis);
+                writer.outputLegend();
+                histograms.values().forEach(writer::outputIntervalHistogram);
+            } finally {
+                writer.close();
+            }
+            log.info("Wrote load histograms of {} steps to {}", histograms.size(), logFile);
+        } catch (IOException e) {
+            log.error("Failed to write load histograms to {}", logFile, e);
+        }
+    }
+}
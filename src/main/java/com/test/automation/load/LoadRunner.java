@@ -0,0 +1,126 @@
+package com.test.automation.load;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.factory.DriverFactory;
+import com.test.automation.journey.CheckoutJourney;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Browser-level load generator. Runs load.sessions concurrent browser sessions, started evenly
+ * over load.rampup.seconds, that each repeat the {@link CheckoutJourney} against base.url for
+ * load.duration.seconds, or load.iterations times when that is set. Each session records step
+ * latencies in its own HDR histograms, which are merged when it ends.
+ */
+@Slf4j
+public class LoadRunner {
+    
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private final FrameworkConfig config;
+    private final CheckoutJourney journey = new CheckoutJourney();
+    
+    /**
+     * Creates a load runner with the load settings of the framework configuration
+     */
+    public LoadRunner() {
+        this.config = FrameworkConfig.getInstance();
+    }
+    
+    /**
+     * Runs the load and waits for all sessions to finish
+     * 
+     * @return Merged result of all sessions
+     */
+    public LoadResult run() {
+        int sessions = config.getLoadSessions();
+        if (sessions < 1) {
+            throw new IllegalArgumentException("load.sessions must be at least 1");
+        }
+        if (sessions > config.getMaxSessions()) {
+            throw new IllegalArgumentException("load.sessions (" + sessions + ") exceeds max.sessions ("
+                    + config.getMaxSessions() + "), raise it with -Dmax.sessions=" + sessions);
+        }
+        if (!config.isHeadless()) {
+            log.warn("Load sessions run headed, which limits how many sessions the machine can take");
+        }
+        long rampUpMillis = TimeUnit.SECONDS.toMillis(config.getLoadRampUpSeconds());
+        long startMillis = System.currentTimeMillis();
+        long deadline = config.getLoadIterations() > 0 ? Long.MAX_VALUE
+                : startMillis + rampUpMillis + TimeUnit.SECONDS.toMillis(config.getLoadDurationSeconds());
+        log.info("Starting load: {} sessions, ramp-up {} s, {}", sessions, config.getLoadRampUpSeconds(),
+                config.getLoadIterations() > 0 ? config.getLoadIterations() + " journeys per session"
+                        : config.getLoadDurationSeconds() + " s at full load");
+        
+        LoadResult result = new LoadResult(startMillis);
+        AtomicInteger sessionIds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(sessions, runnable -> {
+            Thread thread = new Thread(runnable, "load-session-" + sessionIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int session = 0; session < sessions; session++) {
+            long startDelay = sessions == 1 ? 0 : rampUpMillis * session / (sessions - 1);
+            executor.execute(() -> runSession(startMillis + startDelay, deadline, result));
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.info("Load running: {} journeys, {} errors so far", result.getJourneys(), result.getErrors());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the load sessions", e);
+        }
+        result.finish(System.currentTimeMillis());
+        return result;
+    }
+    
+    private void runSession(long startAt, long deadline, LoadResult result) {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        long journeys = 0;
+        long errors = 0;
+        try {
+            Thread.sleep(Math.max(0, startAt - System.currentTimeMillis()));
+            WebDriver driver = DriverFactory.getDriver();
+            int iterations = config.getLoadIterations();
+            while (iterations > 0 ? journeys + errors < iterations : System.currentTimeMillis() < deadline) {
+                try {
+                    resetSession(driver);
+                    journey.run(config.getLoadUser(), config.getLoadPassword(), (step, nanos) -> histograms
+                            .computeIfAbsent(step, key -> new Histogram(SIGNIFICANT_DIGITS))
+                            .recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+                    journeys++;
+                } catch (RuntimeException e) {
+                    errors++;
+                    log.warn("Load journey failed: {}", e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Load session could not start", e);
+            errors++;
+        } finally {
+            DriverFactory.quitDriver();
+            result.merge(histograms, journeys, errors);
+        }
+    }
+    
+    // Every journey starts logged out on the login page with an empty cart
+    private void resetSession(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        driver.get(config.getBaseUrl());
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+    }
+}
@@ -0,0 +1,79 @@
+package com.test.automation.logging;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.util.StringBuilders;
+
+import java.io.Serializable;
+
+/**
+ * Log4j2 appender that feeds log lines into the per-test {@link TestLogBuffer}.
+ * Events of threads without a running test are dropped before formatting. A pattern layout formats
+ * into a reused builder that the buffer copies into its reused slots, so capturing creates no
+ * garbage; the lines only become strings when the log of a failed test is read.
+ */
+@Plugin(name = "TestLogBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public class TestLogAppender extends AbstractAppender {
+    
+    private static final int MAX_REUSED_LINE_LENGTH = 2048;
+    
+    private final ThreadLocal<StringBuilder> lineBuilder = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    
+    protected TestLogAppender(String name, Filter filter, Layout<? extends Serializable> layout) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+    }
+    
+    /**
+     * Creates the appender from the log4j2 configuration
+     * 
+     * @param name Appender name
+     * @param capacity Maximum number of lines kept per test
+     * @param layout Layout of the captured lines, defaults to the message pattern
+     * @param filter Optional filter
+     * @return TestLogAppender instance
+     */
+    @PluginFactory
+    public static TestLogAppender createAppender(@PluginAttribute("name") String name,
+                                                 @PluginAttribute(value = "capacity", defaultInt = 5000) int capacity,
+                                                 @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                 @PluginElement("Filter") Filter filter) {
+        TestLogBuffer.setCapacity(capacity);
+        TestLogBuffer.appenderConfigured();
+        return new TestLogAppender(name == null ? "TestLogBuffer" : name, filter,
+                layout == null ? PatternLayout.createDefaultLayout() : layout);
+    }
+    
+    @Override
+    public void append(LogEvent event) {
+        if (event.getMarker() != null && event.getMarker().isInstanceOf(TestLogBuffer.SYNC_MARKER)) {
+            TestLogBuffer.synced(event.getThreadId());
+            return;
+        }
+        if (!TestLogBuffer.isCapturing(event.getThreadId())) {
+            return;
+        }
+        TestLogBuffer.capture(event.getThreadId(), event.getTimeMillis(), format(event));
+    }
+    
+    private CharSequence format(LogEvent event) {
+        Layout<? extends Serializable> layout = getLayout();
+        if (!(layout instanceof PatternLayout)) {
+            return layout.toSerializable(event).toString();
+        }
+        StringBuilder line = lineBuilder.get();
+        StringBuilders.trimToMaxSize(line, MAX_REUSED_LINE_LENGTH);
+        line.setLength(0);
+        ((PatternLayout) layout).serialize(event, line);
+        return line;
+    }
+}
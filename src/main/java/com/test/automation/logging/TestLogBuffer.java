@@ -0,0 +1,231 @@
+package com.test.automation.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.util.StringBuilders;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-memory log capture for the test running on each thread.
+ * Log lines are fed in by {@link TestLogAppender} from the async logger thread, keyed by the id of
+ * the thread that logged them, and only the most recent lines of each test are kept. The listener
+ * reads the buffer when a test fails and simply drops it otherwise, so passing tests cost no I/O.
+ */
+public final class TestLogBuffer {
+    
+    private static final long CAPTURE_TIMEOUT_MILLIS = 2000;
+    private static final int MAX_REUSED_LINE_LENGTH = 2048;
+    // Logged only to the TestLogBuffer appender (see log4j2.xml), which never captures it
+    static final Marker SYNC_MARKER = MarkerManager.getMarker("TEST_LOG_SYNC");
+    private static final Logger syncLogger = LogManager.getLogger("com.test.automation.logging.sync");
+    private static volatile boolean appenderConfigured;
+    private static final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+    private static volatile int capacity = 5000;
+    
+    private TestLogBuffer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Starts capturing for a new test on the current thread, discarding lines of the previous test.
+     * Does nothing if a test is already being captured, so it can be called from every
+     * configuration method that precedes the test as well as from the test start itself.
+     */
+    public static void begin() {
+        Ring ring = rings.computeIfAbsent(Thread.currentThread().getId(), id -> new Ring(capacity));
+        ring.begin(System.currentTimeMillis());
+    }
+    
+    /**
+     * Ends capturing for the current thread's test and releases its lines.
+     * Lines logged afterwards (e.g. by teardown) are dropped by the next {@link #begin()}.
+     */
+    public static void end() {
+        Ring ring = rings.get(Thread.currentThread().getId());
+        if (ring != null) {
+            ring.end();
+        }
+    }
+    
+    /**
+     * Gets the captured lines of the current thread's test.
+     * Log events are written asynchronously, so this first logs a sync marker and waits (bounded)
+     * until the appender has received it. Events of one thread are appended in order, so lines
+     * logged just before the call are included, whatever other threads keep logging.
+     * 
+     * @return Captured log text, oldest line first, or an empty string if nothing was captured
+     */
+    public static String snapshot() {
+        Ring ring = rings.get(Thread.currentThread().getId());
+        if (ring == null) {
+            return "";
+        }
+        awaitOwnEvents(ring);
+        return ring.snapshot();
+    }
+    
+    /**
+     * Checks whether a test is being captured on a thread, so events of other threads need not be formatted
+     * 
+     * @param threadId Id of the logging thread
+     * @return true if lines of the thread are kept
+     */
+    static boolean isCapturing(long threadId) {
+        Ring ring = rings.get(threadId);
+        return ring != null && ring.active;
+    }
+    
+    /**
+     * Adds a formatted log line for the thread that produced it. The line is copied, so the caller
+     * may reuse it.
+     * 
+     * @param threadId Id of the logging thread
+     * @param timestamp Time the event was logged
+     * @param line Formatted log line
+     */
+    static void capture(long threadId, long timestamp, CharSequence line) {
+        Ring ring = rings.get(threadId);
+        if (ring != null) {
+            ring.add(timestamp, line);
+        }
+    }
+    
+    /**
+     * Notes that the sync marker of a thread reached the appender
+     * 
+     * @param threadId Id of the thread that logged the marker
+     */
+    static void synced(long threadId) {
+        Ring ring = rings.get(threadId);
+        if (ring != null) {
+            ring.synced();
+        }
+    }
+    
+    /**
+     * Notes that the TestLogBuffer appender is part of the logging configuration, so sync markers are answered
+     */
+    static void appenderConfigured() {
+        appenderConfigured = true;
+    }
+    
+    /**
+     * Sets the number of lines kept per test
+     * 
+     * @param lines Maximum number of lines per test
+     */
+    static void setCapacity(int lines) {
+        capacity = Math.max(1, lines);
+    }
+    
+    private static void awaitOwnEvents(Ring ring) {
+        if (!appenderConfigured || !(LogManager.getContext(false) instanceof AsyncLoggerContext)) {
+            return;
+        }
+        long token = ring.requestSync();
+        syncLogger.info(SYNC_MARKER, "sync");
+        ring.awaitSync(token, CAPTURE_TIMEOUT_MILLIS);
+    }
+    
+    /**
+     * Fixed-size ring of log lines for one thread. The builders of its slots are reused from line to
+     * line and from test to test.
+     */
+    private static final class Ring {
+        
+        private final StringBuilder[] lines;
+        private int next;
+        private int size;
+        private long dropped;
+        private long since;
+        private volatile boolean active;
+        private long syncRequested;
+        private long syncReceived;
+        
+        private Ring(int capacity) {
+            this.lines = new StringBuilder[capacity];
+        }
+        
+        private synchronized void begin(long now) {
+            if (active) {
+                return;
+            }
+            clear();
+            since = now;
+            active = true;
+        }
+        
+        private synchronized void end() {
+            active = false;
+            clear();
+        }
+        
+        private synchronized void add(long timestamp, CharSequence line) {
+            // Events still queued from the previous test's teardown are older than the current test
+            if (!active || timestamp < since) {
+                return;
+            }
+            if (size == lines.length) {
+                dropped++;
+            } else {
+                size++;
+            }
+            StringBuilder slot = lines[next];
+            if (slot == null) {
+                slot = new StringBuilder(Math.max(line.length(), 128));
+                lines[next] = slot;
+            } else {
+                StringBuilders.trimToMaxSize(slot, MAX_REUSED_LINE_LENGTH);
+                slot.setLength(0);
+            }
+            slot.append(line);
+            next = (next + 1) % lines.length;
+        }
+        
+        private synchronized long requestSync() {
+            return ++syncRequested;
+        }
+        
+        private synchronized void synced() {
+            syncReceived++;
+            notifyAll();
+        }
+        
+        private synchronized void awaitSync(long token, long timeoutMillis) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long remaining = timeoutMillis;
+            while (syncReceived < token && remaining > 0) {
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+        
+        private synchronized String snapshot() {
+            StringBuilder text = new StringBuilder();
+            if (dropped > 0) {
+                text.append("... ").append(dropped).append(" earlier lines dropped ...").append(System.lineSeparator());
+            }
+            int first = (next - size + lines.length) % lines.length;
+            for (int i = 0; i < size; i++) {
+                text.append(lines[(first + i) % lines.length]);
+            }
+            return text.toString();
+        }
+        
+        private void clear() {
+            next = 0;
+            size = 0;
+            dropped = 0;
+        }
+    }
+}
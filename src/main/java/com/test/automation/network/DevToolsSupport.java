@@ -0,0 +1,91 @@
+package com.test.automation.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Access to the Chrome DevTools Protocol session of a driver, shared by the network recording and
+ * the network emulation.
+ * DevTools can only clear all listeners of a session at once, so event listeners are registered
+ * here: each event gets one DevTools listener that dispatches to the listeners added through
+ * {@link #addListener}, and {@link #removeListener} removes a single one of them.
+ */
+public final class DevToolsSupport {
+    
+    private static final Map<DevTools, Map<Event<?>, List<Consumer<?>>>> listeners = new WeakHashMap<>();
+    
+    private DevToolsSupport() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Gets the DevTools of a driver, with a CDP session created
+     * 
+     * @param driver WebDriver of the session, decorated or not
+     * @return DevTools instance, or null if the browser does not support CDP
+     */
+    public static DevTools getDevTools(WebDriver driver) {
+        // DevTools traffic does not go through the command latency decorator, so use the driver it wraps
+        WebDriver rawDriver = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        WebDriver cdpDriver = rawDriver instanceof RemoteWebDriver && !(rawDriver instanceof HasDevTools)
+                ? new Augmenter().augment(rawDriver)
+                : rawDriver;
+        if (!(cdpDriver instanceof HasDevTools)) {
+            return null;
+        }
+        DevTools devTools = ((HasDevTools) cdpDriver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        return devTools;
+    }
+    
+    /**
+     * Adds a listener for an event of a DevTools session
+     * 
+     * @param devTools DevTools of the session
+     * @param event Event to listen to
+     * @param listener Listener, removed again with {@link #removeListener}
+     */
+    @SuppressWarnings("unchecked")
+    public static <X> void addListener(DevTools devTools, Event<X> event, Consumer<X> listener) {
+        synchronized (listeners) {
+            Map<Event<?>, List<Consumer<?>>> events = listeners.computeIfAbsent(devTools, key -> new HashMap<>());
+            List<Consumer<?>> eventListeners = events.get(event);
+            if (eventListeners == null) {
+                List<Consumer<?>> dispatchList = new CopyOnWriteArrayList<>();
+                devTools.addListener(event, value -> dispatchList.forEach(each -> ((Consumer<X>) each).accept(value)));
+                events.put(event, dispatchList);
+                eventListeners = dispatchList;
+            }
+            eventListeners.add(listener);
+        }
+    }
+    
+    /**
+     * Removes a listener added with {@link #addListener}, leaving the other listeners of the session in place
+     * 
+     * @param devTools DevTools of the session
+     * @param event Event the listener was added for
+     * @param listener Listener to remove
+     */
+    public static <X> void removeListener(DevTools devTools, Event<X> event, Consumer<X> listener) {
+        synchronized (listeners) {
+            Map<Event<?>, List<Consumer<?>>> events = listeners.get(devTools);
+            List<Consumer<?>> eventListeners = events == null ? null : events.get(event);
+            if (eventListeners != null) {
+                eventListeners.remove(listener);
+            }
+        }
+    }
+}
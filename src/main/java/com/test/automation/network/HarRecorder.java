@@ -0,0 +1,285 @@
+package com.test.automation.network;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Records the network traffic of a browser session into a HAR 1.2 file through the Chrome DevTools
+ * Protocol. Entries are written as their requests finish; only requests still in flight are held
+ * in memory. The raw protocol events are used rather than a versioned devtools module, so the
+ * recorder does not depend on the browser version. Browsers without CDP are not recorded.
+ * Its event listeners are registered through {@link DevToolsSupport}, so stopping removes only
+ * them and not the listeners of others sharing the DevTools session.
+ */
+@Slf4j
+public class HarRecorder {
+    
+    private static final Json JSON = new Json();
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT = event("Network.requestWillBeSent");
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED = event("Network.responseReceived");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = event("Network.loadingFinished");
+    private static final Event<Map<String, Object>> LOADING_FAILED = event("Network.loadingFailed");
+    
+    private final DevTools devTools;
+    private final Path harFile;
+    private final BufferedWriter writer;
+    private final Consumer<Map<String, Object>> requestListener = this::onRequestWillBeSent;
+    private final Consumer<Map<String, Object>> responseListener = this::onResponseReceived;
+    private final Consumer<Map<String, Object>> finishedListener = params -> onLoadingDone(params, false);
+    private final Consumer<Map<String, Object>> failedListener = params -> onLoadingDone(params, true);
+    private final Map<String, Map<String, Object>> inFlight = new ConcurrentHashMap<>();
+    private int entries;
+    private long handlerNanos;
+    private boolean closed;
+    
+    private HarRecorder(DevTools devTools, Path harFile) throws IOException {
+        this.devTools = devTools;
+        this.harFile = harFile;
+        Files.createDirectories(harFile.toAbsolutePath().getParent());
+        this.writer = Files.newBufferedWriter(harFile, StandardCharsets.UTF_8);
+        writer.write("{\"log\": {\"version\": \"1.2\", \"creator\": {\"name\": \"selenium-java-e2e-ui-automation\", "
+                + "\"version\": \"1.0\"}, \"pages\": [], \"entries\": [\n");
+    }
+    
+    /**
+     * Starts recording the network traffic of a driver
+     * 
+     * @param driver WebDriver of the session
+     * @param harFile HAR file to write
+     * @return HarRecorder instance, or null if the browser does not support CDP
+     */
+    public static HarRecorder start(WebDriver driver, Path harFile) {
+        try {
+            DevTools devTools = DevToolsSupport.getDevTools(driver);
+            if (devTools == null) {
+                log.debug("Browser does not support CDP, no HAR recorded");
+                return null;
+            }
+            HarRecorder recorder = new HarRecorder(devTools, harFile);
+            DevToolsSupport.addListener(devTools, REQUEST_WILL_BE_SENT, recorder.requestListener);
+            DevToolsSupport.addListener(devTools, RESPONSE_RECEIVED, recorder.responseListener);
+            DevToolsSupport.addListener(devTools, LOADING_FINISHED, recorder.finishedListener);
+            DevToolsSupport.addListener(devTools, LOADING_FAILED, recorder.failedListener);
+            devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+            return recorder;
+        } catch (Exception e) {
+            log.warn("Could not start HAR recording: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Stops recording, writes the requests still in flight as unfinished entries and closes the file
+     * 
+     * @return The HAR file
+     */
+    public Path stop() {
+        try {
+            devTools.send(new Command<>("Network.disable", Collections.emptyMap()));
+        } catch (Exception e) {
+            log.debug("Could not disable network events: {}", e.getMessage());
+        }
+        DevToolsSupport.removeListener(devTools, REQUEST_WILL_BE_SENT, requestListener);
+        DevToolsSupport.removeListener(devTools, RESPONSE_RECEIVED, responseListener);
+        DevToolsSupport.removeListener(devTools, LOADING_FINISHED, finishedListener);
+        DevToolsSupport.removeListener(devTools, LOADING_FAILED, failedListener);
+        synchronized (this) {
+            for (Map<String, Object> pending : new ArrayList<>(inFlight.values())) {
+                writeEntry(pending, null, null, "unfinished");
+            }
+            inFlight.clear();
+            try {
+                writer.write("\n]}}\n");
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Could not finish HAR file {}: {}", harFile, e.getMessage());
+            }
+            closed = true;
+            log.info("Recorded {} requests to {} ({} KB, {} ms in event handlers)", entries, harFile,
+                    harFile.toFile().length() / 1024, handlerNanos / 1_000_000);
+        }
+        return harFile;
+    }
+    
+    private void onRequestWillBeSent(Map<String, Object> params) {
+        long start = System.nanoTime();
+        String requestId = (String) params.get("requestId");
+        Map<String, Object> previous = inFlight.remove(requestId);
+        if (previous != null && params.get("redirectResponse") instanceof Map) {
+            // The redirect response ends the previous hop of the same request id
+            previous.put("response", params.get("redirectResponse"));
+            synchronized (this) {
+                writeEntry(previous, asDouble(params.get("timestamp")), null, null);
+            }
+        }
+        inFlight.put(requestId, Collections.synchronizedMap(new HashMap<>(params)));
+        addHandlerTime(start);
+    }
+    
+    private void onResponseReceived(Map<String, Object> params) {
+        long start = System.nanoTime();
+        Map<String, Object> pending = inFlight.get((String) params.get("requestId"));
+        if (pending != null) {
+            pending.put("response", params.get("response"));
+            if (params.get("type") != null) {
+                pending.put("type", params.get("type"));
+            }
+        }
+        addHandlerTime(start);
+    }
+    
+    private void onLoadingDone(Map<String, Object> params, boolean failed) {
+        long start = System.nanoTime();
+        Map<String, Object> pending = inFlight.remove((String) params.get("requestId"));
+        if (pending != null) {
+            synchronized (this) {
+                writeEntry(pending, asDouble(params.get("timestamp")), asDouble(params.get("encodedDataLength")),
+                        failed ? String.valueOf(params.get("errorText")) : null);
+            }
+        }
+        addHandlerTime(start);
+    }
+    
+    private synchronized void addHandlerTime(long start) {
+        handlerNanos += System.nanoTime() - start;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void writeEntry(Map<String, Object> sent, Double endTimestamp, Double encodedDataLength, String error) {
+        if (closed) {
+            return;
+        }
+        Map<String, Object> request = (Map<String, Object>) sent.getOrDefault("request", Collections.emptyMap());
+        Map<String, Object> response = (Map<String, Object>) sent.getOrDefault("response", Collections.emptyMap());
+        double startTimestamp = asDouble(sent.get("timestamp"), 0);
+        double wallTime = asDouble(sent.get("wallTime"), System.currentTimeMillis() / 1000.0);
+        double total = endTimestamp == null ? 0 : Math.max(0, (endTimestamp - startTimestamp) * 1000);
+        
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", Instant.ofEpochMilli((long) (wallTime * 1000)).toString());
+        entry.put("time", total);
+        
+        Map<String, Object> harRequest = new LinkedHashMap<>();
+        harRequest.put("method", request.getOrDefault("method", "GET"));
+        harRequest.put("url", request.getOrDefault("url", ""));
+        harRequest.put("httpVersion", response.getOrDefault("protocol", ""));
+        harRequest.put("cookies", Collections.emptyList());
+        harRequest.put("headers", headers(request.get("headers")));
+        harRequest.put("queryString", Collections.emptyList());
+        harRequest.put("headersSize", -1);
+        harRequest.put("bodySize", request.get("postData") instanceof String
+                ? ((String) request.get("postData")).length() : 0);
+        entry.put("request", harRequest);
+        
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("size", encodedDataLength == null ? 0 : encodedDataLength.longValue());
+        content.put("mimeType", response.getOrDefault("mimeType", ""));
+        Map<String, Object> harResponse = new LinkedHashMap<>();
+        harResponse.put("status", response.getOrDefault("status", 0));
+        harResponse.put("statusText", response.getOrDefault("statusText", error == null ? "" : error));
+        harResponse.put("httpVersion", response.getOrDefault("protocol", ""));
+        harResponse.put("cookies", Collections.emptyList());
+        harResponse.put("headers", headers(response.get("headers")));
+        harResponse.put("content", content);
+        harResponse.put("redirectURL", "");
+        harResponse.put("headersSize", -1);
+        harResponse.put("bodySize", encodedDataLength == null ? -1 : encodedDataLength.longValue());
+        entry.put("response", harResponse);
+        
+        entry.put("cache", Collections.emptyMap());
+        entry.put("timings", timings(response.get("timing"), total));
+        if (response.get("remoteIPAddress") != null) {
+            entry.put("serverIPAddress", response.get("remoteIPAddress"));
+        }
+        entry.put("_resourceType", sent.getOrDefault("type", ""));
+        if (error != null) {
+            entry.put("_error", error);
+        }
+        
+        try {
+            StringBuilder line = new StringBuilder(entries == 0 ? "" : ",\n");
+            try (JsonOutput output = JSON.newOutput(line)) {
+                output.setPrettyPrint(false).write(entry);
+            }
+            writer.write(line.toString());
+            entries++;
+        } catch (IOException e) {
+            log.warn("Could not write HAR entry to {}: {}", harFile, e.getMessage());
+        }
+    }
+    
+    // Phases of the request from the CDP resource timing, as in the HAR export of Chrome's devtools
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> timings(Object resourceTiming, double total) {
+        Map<String, Object> timings = new LinkedHashMap<>();
+        if (!(resourceTiming instanceof Map)) {
+            timings.put("send", 0);
+            timings.put("wait", 0);
+            timings.put("receive", total);
+            return timings;
+        }
+        Map<String, Object> timing = (Map<String, Object>) resourceTiming;
+        double dnsStart = asDouble(timing.get("dnsStart"), -1);
+        double connectStart = asDouble(timing.get("connectStart"), -1);
+        double sslStart = asDouble(timing.get("sslStart"), -1);
+        double sendStart = asDouble(timing.get("sendStart"), 0);
+        double sendEnd = asDouble(timing.get("sendEnd"), sendStart);
+        double headersEnd = asDouble(timing.get("receiveHeadersEnd"), sendEnd);
+        double blocked = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+        
+        timings.put("blocked", blocked);
+        timings.put("dns", dnsStart >= 0 ? asDouble(timing.get("dnsEnd"), dnsStart) - dnsStart : -1);
+        timings.put("connect", connectStart >= 0 ? asDouble(timing.get("connectEnd"), connectStart) - connectStart : -1);
+        timings.put("ssl", sslStart >= 0 ? asDouble(timing.get("sslEnd"), sslStart) - sslStart : -1);
+        timings.put("send", sendEnd - sendStart);
+        timings.put("wait", headersEnd - sendEnd);
+        timings.put("receive", Math.max(0, total - headersEnd));
+        return timings;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> headers(Object headers) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        if (headers instanceof Map) {
+            ((Map<String, Object>) headers).forEach((name, value) -> {
+                Map<String, Object> header = new LinkedHashMap<>();
+                header.put("name", name);
+                header.put("value", String.valueOf(value));
+                list.add(header);
+            });
+        }
+        return list;
+    }
+    
+    private static Double asDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+    
+    private static double asDouble(Object value, double defaultValue) {
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+    
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+}
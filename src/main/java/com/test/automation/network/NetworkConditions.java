@@ -0,0 +1,39 @@
+package com.test.automation.network;
+
+import lombok.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Network conditions of a named emulation profile: the latency added to every request and the
+ * download and upload bandwidth, as applied through CDP Network.emulateNetworkConditions
+ */
+@Value
+public class NetworkConditions {
+    String name;
+    /** Minimum round trip time added to every request, in milliseconds */
+    double latencyMillis;
+    /** Download bandwidth in kilobits (1024 bits, as in Chrome DevTools) per second, 0 for no limit */
+    double downloadKbps;
+    /** Upload bandwidth in kilobits (1024 bits) per second, 0 for no limit */
+    double uploadKbps;
+    
+    /**
+     * Gets the parameters of Network.emulateNetworkConditions for these conditions
+     * 
+     * @return CDP command parameters, throughput in bytes per second (-1 for no limit)
+     */
+    public Map<String, Object> toCdpParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("offline", false);
+        parameters.put("latency", latencyMillis);
+        parameters.put("downloadThroughput", bytesPerSecond(downloadKbps));
+        parameters.put("uploadThroughput", bytesPerSecond(uploadKbps));
+        return parameters;
+    }
+    
+    private static double bytesPerSecond(double kbps) {
+        return kbps > 0 ? kbps * 1024 / 8 : -1;
+    }
+}
@@ -0,0 +1,262 @@
+package com.test.automation.network;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Emulates slow networks per browser session through CDP Network.emulateNetworkConditions (Chrome
+ * and Edge). The named profiles are read from network.profiles.file as name.latency.ms,
+ * name.download.kbps and name.upload.kbps lines; the profile none means no emulation. A name.alias
+ * line makes name another name of an existing profile: it resolves to that profile everywhere, so
+ * timings, baselines and budgets are kept under one name. The profile in effect on the current
+ * thread's session is kept, so timings can be recorded with it.
+ * The profile of a test is, in this order, that of its method's or class's {@link NetworkProfile},
+ * the network.profile parameter of its test in the suite xml, or network.profile.
+ */
+@Slf4j
+public class NetworkEmulator {
+    
+    public static final String NONE = "none";
+    public static final String PARAMETER = "network.profile";
+    
+    private static NetworkEmulator instance;
+    
+    private final Map<String, NetworkConditions> profiles;
+    private final Map<String, String> aliases;
+    private final String defaultProfile;
+    private final ThreadLocal<String> activeProfile = new ThreadLocal<>();
+    
+    private NetworkEmulator(FrameworkConfig config) {
+        Properties properties = load(config.getNetworkProfilesFile());
+        profiles = parseProfiles(properties);
+        aliases = parseAliases(properties, profiles);
+        log.info("Loaded network profiles {} (aliases {}) from {}", profiles.keySet(), aliases, config.getNetworkProfilesFile());
+        defaultProfile = normalize(config.getNetworkProfile());
+        // Fail at startup on a misspelled profile rather than silently running unthrottled
+        getConditions(defaultProfile);
+    }
+    
+    /**
+     * Gets the singleton instance of NetworkEmulator
+     * 
+     * @return NetworkEmulator instance
+     */
+    public static synchronized NetworkEmulator getInstance() {
+        if (instance == null) {
+            instance = new NetworkEmulator(FrameworkConfig.getInstance());
+        }
+        return instance;
+    }
+    
+    /**
+     * Gets the profile of network.profile, applied to every new session
+     * 
+     * @return Profile name (aliases resolved), none for no emulation
+     */
+    public String getDefaultProfile() {
+        return defaultProfile;
+    }
+    
+    /**
+     * Gets the profile of a test or configuration method. The method annotation only counts for test
+     * methods, so the setup that starts the session runs with the profile of the class or suite.
+     * 
+     * @param result Result of the running method, or null outside of TestNG methods
+     * @return Profile name (aliases resolved), none for no emulation
+     */
+    public String resolveProfile(ITestResult result) {
+        if (result == null) {
+            return defaultProfile;
+        }
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        NetworkProfile annotation = result.getMethod().isTest() && method != null
+                ? method.getAnnotation(NetworkProfile.class)
+                : null;
+        if (annotation == null && result.getTestClass() != null) {
+            annotation = result.getTestClass().getRealClass().getAnnotation(NetworkProfile.class);
+        }
+        if (annotation != null) {
+            return normalize(annotation.value());
+        }
+        String parameter = result.getTestContext() == null ? null
+                : result.getTestContext().getCurrentXmlTest().getParameter(PARAMETER);
+        return parameter != null ? normalize(parameter) : defaultProfile;
+    }
+    
+    /**
+     * Gets the network conditions of a profile
+     * 
+     * @param profile Profile name or alias
+     * @return Network conditions, or null for none
+     * @throws IllegalArgumentException if the profile is not defined
+     */
+    public NetworkConditions getConditions(String profile) {
+        String name = normalize(profile);
+        if (NONE.equals(name)) {
+            return null;
+        }
+        NetworkConditions conditions = profiles.get(name);
+        if (conditions == null) {
+            log.error("Unknown network profile '{}'", name);
+            throw new IllegalArgumentException("Unknown network profile '" + name + "', known profiles: "
+                    + String.join(", ", profiles.keySet()) + " and " + NONE);
+        }
+        return conditions;
+    }
+    
+    /**
+     * Applies a profile to the session of a driver, unless it is already in effect. A test that asks
+     * for throttling never runs unthrottled: it is skipped on browsers without CDP and fails when the
+     * emulation cannot be applied.
+     * 
+     * @param driver WebDriver of the session
+     * @param profile Profile name or alias, none (or empty) to end the emulation
+     * @throws SkipException if the browser does not support CDP (Firefox, Safari)
+     * @throws IllegalStateException if the CDP commands fail
+     */
+    public void apply(WebDriver driver, String profile) {
+        String name = normalize(profile);
+        NetworkConditions conditions = getConditions(name);
+        if (name.equals(getActiveProfile())) {
+            return;
+        }
+        // Zero latency and unlimited throughput end a previous emulation
+        NetworkConditions applied = conditions != null ? conditions : new NetworkConditions(NONE, 0, 0, 0);
+        DevTools devTools;
+        try {
+            devTools = DevToolsSupport.getDevTools(driver);
+            if (devTools != null) {
+                devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+                devTools.send(new Command<>("Network.emulateNetworkConditions", applied.toCdpParameters()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not apply network profile {}: {}", name, e.getMessage());
+            throw new IllegalStateException("Could not apply network profile " + name, e);
+        }
+        if (devTools == null) {
+            log.warn("Browser does not support CDP, network profile {} not applied", name);
+            throw new SkipException("Network profile " + name + " needs a browser with CDP (Chrome or Edge)");
+        }
+        activeProfile.set(name);
+        log.info("Network profile {} applied: latency {} ms, download {} kbps, upload {} kbps (0: no limit)",
+                name, applied.getLatencyMillis(), applied.getDownloadKbps(), applied.getUploadKbps());
+    }
+    
+    /**
+     * Gets the profile in effect on the current thread's session
+     * 
+     * @return Profile name, none if no profile was applied
+     */
+    public String getActiveProfile() {
+        String profile = activeProfile.get();
+        return profile != null ? profile : NONE;
+    }
+    
+    /**
+     * Forgets the profile of the current thread's session, when the session ends
+     */
+    public void reset() {
+        activeProfile.remove();
+    }
+    
+    private String normalize(String profile) {
+        String name = profile == null || profile.trim().isEmpty() ? NONE : profile.trim();
+        return aliases.getOrDefault(name, name);
+    }
+    
+    private static Properties load(String location) {
+        Properties properties = new Properties();
+        try (InputStream input = open(location)) {
+            if (input == null) {
+                log.warn("Network profile file {} not found, only the profile {} is available", location, NONE);
+                return properties;
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read network profile file " + location, e);
+        }
+        return properties;
+    }
+    
+    /**
+     * Reads the profiles (name.latency.ms, name.download.kbps and name.upload.kbps) of a profile file
+     * 
+     * @param properties Contents of the profile file
+     * @return Network conditions by profile name
+     */
+    static Map<String, NetworkConditions> parseProfiles(Properties properties) {
+        Map<String, NetworkConditions> profiles = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.endsWith(".latency.ms")) {
+                continue;
+            }
+            String name = key.substring(0, key.length() - ".latency.ms".length());
+            profiles.put(name, new NetworkConditions(name, number(properties, name + ".latency.ms"),
+                    number(properties, name + ".download.kbps"), number(properties, name + ".upload.kbps")));
+        }
+        return Collections.unmodifiableMap(profiles);
+    }
+    
+    /**
+     * Reads the aliases (name.alias=profile) of a profile file
+     * 
+     * @param properties Contents of the profile file
+     * @param profiles Profiles of the file
+     * @return Profile names by alias
+     * @throws IllegalArgumentException if an alias is also a profile or names an unknown profile
+     */
+    static Map<String, String> parseAliases(Properties properties, Map<String, NetworkConditions> profiles) {
+        Map<String, String> aliases = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.endsWith(".alias")) {
+                continue;
+            }
+            String alias = key.substring(0, key.length() - ".alias".length());
+            String profile = properties.getProperty(key).trim();
+            if (profiles.containsKey(alias) || !profiles.containsKey(profile)) {
+                throw new IllegalArgumentException("Invalid network profile alias " + key + "=" + profile
+                        + ": the alias must not be a profile itself and must name one of " + profiles.keySet());
+            }
+            aliases.put(alias, profile);
+        }
+        return Collections.unmodifiableMap(aliases);
+    }
+    
+    private static double number(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        try {
+            double number = value == null ? 0 : Double.parseDouble(value.trim());
+            if (number < 0) {
+                throw new NumberFormatException(value);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid network profile setting " + key + ": " + value, e);
+        }
+    }
+    
+    private static InputStream open(String location) throws IOException {
+        InputStream resource = NetworkEmulator.class.getClassLoader().getResourceAsStream(location);
+        if (resource != null) {
+            return resource;
+        }
+        Path file = Paths.get(location);
+        return Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+    }
+}
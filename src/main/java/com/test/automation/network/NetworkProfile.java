@@ -0,0 +1,24 @@
+package com.test.automation.network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test method, or every test method of a class, with a named network emulation profile of
+ * network.profiles.file (e.g. slow-4g, slow-3g, high-latency, or none for no emulation), applied by
+ * NetworkProfileListener when the test method starts. Takes precedence over the network.profile
+ * parameter of the suite's test and the network.profile setting.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface NetworkProfile {
+    
+    /**
+     * Gets the name of the network profile
+     * 
+     * @return Profile name
+     */
+    String value();
+}
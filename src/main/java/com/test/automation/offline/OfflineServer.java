@@ -0,0 +1,221 @@
+package com.test.automation.offline;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP server with a local replica of the SauceDemo pages the page objects target (login,
+ * inventory, item details, cart and the checkout steps, with the same ids and classes), served from
+ * src/main/resources/offline on the loopback interface. Runs need no network access and are not
+ * timed against the public site.
+ * Each response can be delayed by a fixed latency, a random jitter and a per page latency, to
+ * reproduce slow pages in performance experiments.
+ */
+@Slf4j
+public class OfflineServer {
+    
+    private static final String RESOURCE_DIR = "/offline";
+    private static final String LOGIN_PAGE = "index.html";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "svg", "image/svg+xml");
+    
+    private final int port;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final Map<String, Long> pageLatencyMillis;
+    private final AtomicLong requestCount = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Creates a server, started with {@link #start()}
+     * 
+     * @param port Port to listen on, 0 for a free port
+     * @param latencyMillis Delay of every response in milliseconds
+     * @param jitterMillis Maximum random delay added to every response in milliseconds
+     * @param pageLatencyMillis Delays of single pages (e.g. inventory.html) replacing latencyMillis
+     */
+    public OfflineServer(int port, long latencyMillis, long jitterMillis, Map<String, Long> pageLatencyMillis) {
+        if (latencyMillis < 0 || jitterMillis < 0) {
+            throw new IllegalArgumentException("Offline latency and jitter must not be negative");
+        }
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.pageLatencyMillis = Collections.unmodifiableMap(new HashMap<>(pageLatencyMillis));
+    }
+    
+    /**
+     * Creates a server with the offline settings of the configuration
+     * 
+     * @param config Framework configuration
+     * @return Server, not started yet
+     */
+    public static OfflineServer fromConfig(FrameworkConfig config) {
+        return new OfflineServer(config.getOfflinePort(), config.getOfflineLatencyMillis(),
+                config.getOfflineLatencyJitterMillis(), parsePageLatencies(config.getOfflineLatencyPages()));
+    }
+    
+    /**
+     * Parses per page latencies
+     * 
+     * @param spec Comma separated page:milliseconds pairs, e.g. inventory.html:500,cart.html:200
+     * @return Latency in milliseconds per page name
+     */
+    static Map<String, Long> parsePageLatencies(String spec) {
+        Map<String, Long> latencies = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            try {
+                long millis = separator > 0 ? Long.parseLong(entry.substring(separator + 1).trim()) : -1;
+                if (millis < 0) {
+                    throw new NumberFormatException(entry);
+                }
+                latencies.put(entry.substring(0, separator).trim().replaceFirst("^/+", ""), millis);
+            } catch (NumberFormatException e) {
+                log.error("Invalid offline.latency.pages entry '{}'", entry);
+                throw new IllegalArgumentException("Invalid offline.latency.pages entry '" + entry.trim()
+                        + "', expected page:milliseconds", e);
+            }
+        }
+        return latencies;
+    }
+    
+    /**
+     * Starts the server
+     * 
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Offline server already started on " + getBaseUrl());
+        }
+        AtomicInteger threads = new AtomicInteger();
+        // One thread per concurrent request, so the injected latency of one request does not delay the others
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "offline-server-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Offline SauceDemo server listening on {} (latency {} ms, jitter {} ms, pages {})", getBaseUrl(),
+                latencyMillis, jitterMillis, pageLatencyMillis.isEmpty() ? "none" : pageLatencyMillis);
+    }
+    
+    /**
+     * Stops the server
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        log.info("Offline SauceDemo server stopped after {} requests", requestCount.get());
+        server = null;
+        executor = null;
+    }
+    
+    /**
+     * Gets the base URL of the running server
+     * 
+     * @return Base URL, e.g. http://127.0.0.1:41234
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Offline server is not running");
+        }
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    /**
+     * Gets the number of requests served since the start
+     * 
+     * @return Request count
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String page = exchange.getRequestURI().getPath().replaceFirst("^/+", "");
+            if (page.isEmpty()) {
+                page = LOGIN_PAGE;
+            }
+            delay(page);
+            byte[] content = page.contains("..") ? null : read(page);
+            if (content == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String extension = page.substring(page.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type",
+                    CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            // Every page load fetches its resources again, so the injected latency applies to each of them
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, content.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(content);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void delay(String page) {
+        long millis = pageLatencyMillis.getOrDefault(page, latencyMillis);
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private byte[] read(String page) throws IOException {
+        try (InputStream input = OfflineServer.class.getResourceAsStream(RESOURCE_DIR + "/" + page)) {
+            return input == null ? null : input.readAllBytes();
+        }
+    }
+}
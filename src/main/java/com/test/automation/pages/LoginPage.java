@@ -1,5 +1,6 @@
 package com.test.automation.pages;
 
+import com.test.automation.constants.SauceConstants;
 import com.test.automation.pages.base.BasePage;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,8 @@ import org.openqa.selenium.support.FindBy;
 @Slf4j
 public class LoginPage extends BasePage {
     
+    private static final String ERROR_MESSAGE_CSS = "[data-test='error']";
+    
     @FindBy(id = "user-name")
     private WebElement usernameInput;
     
@@ -21,7 +24,7 @@ public class LoginPage extends BasePage {
     @FindBy(id = "login-button")
     private WebElement loginButton;
     
-    @FindBy(css = "[data-test='error']")
+    @FindBy(css = ERROR_MESSAGE_CSS)
     private WebElement errorMessage;
     
     /**
@@ -68,8 +71,14 @@ public class LoginPage extends BasePage {
         log.debug("Clicking login button");
         click(loginButton);
         
+        // Wait for the inventory URL or the error message, whichever comes first. The error is looked
+        // up by script, so a successful login does not wait out the implicit wait for an absent error.
+        wait.until(d -> d.getCurrentUrl().contains(SauceConstants.INVENTORY_PAGE)
+                || Boolean.TRUE.equals(js.executeScript("return document.querySelector(arguments[0]) !== null;",
+                        ERROR_MESSAGE_CSS)));
+        
         // Check if login was successful
-        if (isErrorMessageDisplayed()) {
+        if (!driver.getCurrentUrl().contains(SauceConstants.INVENTORY_PAGE)) {
             return this; // Stay on the LoginPage if there's an error
         }
         
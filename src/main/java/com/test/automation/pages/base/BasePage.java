@@ -1,6 +1,13 @@
 package com.test.automation.pages.base;
 
+import com.test.automation.config.FrameworkConfig;
 import com.test.automation.factory.DriverFactory;
+import com.test.automation.jfr.ElementClickEvent;
+import com.test.automation.jfr.ElementWaitEvent;
+import com.test.automation.jfr.FrameworkEvents;
+import com.test.automation.jfr.PageConstructionEvent;
+import com.test.automation.jfr.ScreenshotEvent;
+import com.test.automation.perf.PageTimingCollector;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
@@ -19,6 +26,8 @@ import java.util.List;
 @Slf4j
 public class BasePage {
     
+    private static final String JS_CLICK = "jsClick";
+    
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected Actions actions;
@@ -34,14 +43,35 @@ public class BasePage {
             throw new IllegalStateException("WebDriver is null. Make sure it's properly initialized before creating page objects.");
         }
         
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        PageConstructionEvent event = new PageConstructionEvent();
+        event.begin();
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(FrameworkConfig.getInstance().getExplicitWaitSeconds()));
         this.actions = new Actions(driver);
         this.js = (JavascriptExecutor) driver;
         PageFactory.initElements(driver, this);
         
+        if (isPageTransition()) {
+            PageTimingCollector.getInstance().collect(driver, getClass());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.page = getClass().getSimpleName();
+            event.commit();
+        }
+        
         log.debug("BasePage initialized with driver: {}", driver);
     }
     
+    /**
+     * Checks whether constructing this page object marks a page transition, whose timings are
+     * collected. Components that live inside pages return false.
+     * 
+     * @return true for page objects
+     */
+    protected boolean isPageTransition() {
+        return true;
+    }
+    
     /**
      * Waits for an element to be visible
      * 
@@ -49,12 +79,21 @@ public class BasePage {
      * @return The WebElement once visible
      */
     protected WebElement waitForElementVisible(WebElement element) {
+        ElementWaitEvent event = new ElementWaitEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
         try {
             return wait.until(ExpectedConditions.visibilityOf(element));
         } catch (TimeoutException e) {
+            outcome = FrameworkEvents.outcome(e);
             log.error("Element not visible after timeout: {}", element);
-            takeScreenshot();
+            takeFailureScreenshot();
             throw e;
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitWait(event, "visible", element, outcome);
         }
     }
     
@@ -65,19 +104,44 @@ public class BasePage {
      * @return The WebElement once clickable
      */
     protected WebElement waitForElementClickable(WebElement element) {
+        ElementWaitEvent event = new ElementWaitEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
         try {
             // Scroll to element before checking if it's clickable
             scrollToElement(element);
             return wait.until(ExpectedConditions.elementToBeClickable(element));
         } catch (TimeoutException e) {
+            outcome = FrameworkEvents.outcome(e);
             log.error("Element not clickable after timeout: {}", element);
-            takeScreenshot();
+            takeFailureScreenshot();
             throw e;
         } catch (StaleElementReferenceException e) {
             log.warn("Stale element reference when waiting for element to be clickable, retrying...");
             // Removed Thread.sleep before retry
-            return wait.until(ExpectedConditions.elementToBeClickable(element));
+            try {
+                return wait.until(ExpectedConditions.elementToBeClickable(element));
+            } catch (RuntimeException retryEx) {
+                outcome = FrameworkEvents.outcome(retryEx);
+                throw retryEx;
+            }
             // No InterruptedException handling needed here anymore
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitWait(event, "clickable", element, outcome);
+        }
+    }
+    
+    private void commitWait(ElementWaitEvent event, String condition, WebElement element, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.page = getClass().getSimpleName();
+            event.condition = condition;
+            event.locator = FrameworkEvents.locator(element);
+            event.outcome = outcome;
+            event.commit();
         }
     }
     
@@ -88,9 +152,36 @@ public class BasePage {
      * @param element WebElement to click
      */
     protected void click(WebElement element) {
+        ElementClickEvent event = new ElementClickEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
+        try {
+            outcome = clickWithFallbacks(element);
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.page = getClass().getSimpleName();
+                event.locator = FrameworkEvents.locator(element);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Clicks on an element, retrying stale elements and falling back to a JavaScript click
+     * 
+     * @param element WebElement to click
+     * @return success, or jsClick if the click was done through JavaScript
+     */
+    private String clickWithFallbacks(WebElement element) {
         WebElement clickableElement = null;
         try {
             clickableElement = waitForElementClickable(element);
+            PageTimingCollector.getInstance().markAction();
             clickableElement.click(); // Try standard click first
         } catch (ElementClickInterceptedException e) {
             log.warn("Standard click intercepted for element: {}. Retrying with JavaScript click.", element, e);
@@ -101,9 +192,10 @@ public class BasePage {
                     clickableElement = waitForElementClickable(element); 
                 }
                 js.executeScript("arguments[0].click();", clickableElement);
+                return JS_CLICK;
             } catch (Exception jsEx) {
                 log.error("JavaScript click also failed for element: {}", element, jsEx);
-                takeScreenshot(); // Screenshot on final failure
+                takeFailureScreenshot(); // Screenshot on final failure
                 throw jsEx; // Re-throw the exception from the JS click attempt
             }
         } catch (StaleElementReferenceException e) {
@@ -114,12 +206,13 @@ public class BasePage {
                 clickableElement.click(); 
             } catch (Exception retryEx) {
                  log.error("Click failed even after retry for stale element: {}", element, retryEx);
-                 takeScreenshot();
+                 takeFailureScreenshot();
                  // Decide whether to attempt JS click after stale retry failure
                  if (retryEx instanceof ElementClickInterceptedException) {
                      log.warn("Retry click intercepted, trying JS click as last resort.");
                      try {
                         js.executeScript("arguments[0].click();", clickableElement); // Use potentially refreshed clickableElement
+                        return JS_CLICK;
                      } catch (Exception jsRetryEx) {
                          log.error("JS click also failed after stale element retry for element: {}", element, jsRetryEx);
                          throw jsRetryEx;
@@ -130,9 +223,10 @@ public class BasePage {
             }
         } catch (Exception e) {
             log.error("Failed to click element: {}", element, e);
-            takeScreenshot();
+            takeFailureScreenshot();
             throw e; // Re-throw other unexpected exceptions
         }
+        return FrameworkEvents.SUCCESS;
     }
     
     /**
@@ -251,7 +345,26 @@ public class BasePage {
      * @return Screenshot as byte array
      */
     public byte[] takeScreenshot() {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = getClass().getSimpleName();
+            event.size = screenshot.length;
+            event.outcome = FrameworkEvents.SUCCESS;
+            event.commit();
+        }
+        return screenshot;
+    }
+    
+    /**
+     * Takes a screenshot after a failed interaction, unless the active profile turns failure screenshots off
+     */
+    private void takeFailureScreenshot() {
+        if (FrameworkConfig.getInstance().isScreenshotOnFailure()) {
+            takeScreenshot();
+        }
     }
     
     /**
@@ -49,6 +49,11 @@ public class HeaderComponent extends BasePage {
         PageFactory.initElements(driver, this);
     }
     
+    @Override
+    protected boolean isPageTransition() {
+        return false;
+    }
+    
     /**
      * Opens the side menu
      */
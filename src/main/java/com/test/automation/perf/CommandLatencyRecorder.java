@@ -0,0 +1,345 @@
+package com.test.automation.perf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebDriver listener that records the count and latency of every WebDriver command, by command type
+ * (e.g. WebElement.click) and by call site, the outermost page object method that sent it. Each
+ * thread records into its own histograms, so recording takes no locks; {@link #merge()} adds them up
+ * and should only be called once the sessions ended, at the end of the suite.
+ */
+@Slf4j
+public class CommandLatencyRecorder implements WebDriverListener {
+    
+    public static final String JSON_FILE = "webdriver-commands.json";
+    public static final String PROMETHEUS_FILE = "webdriver-commands.prom";
+    
+    private static final String FRAMEWORK_PACKAGE = "com.test.automation.";
+    private static final String PAGES_PACKAGE = "com.test.automation.pages.";
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static CommandLatencyRecorder instance;
+    
+    private final Queue<ThreadLatencies> threads = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadLatencies> latencies = ThreadLocal.withInitial(() -> {
+        ThreadLatencies thread = new ThreadLatencies();
+        threads.add(thread);
+        return thread;
+    });
+    
+    /**
+     * Creates a recorder; the run's recorder is {@link #getInstance()}
+     */
+    CommandLatencyRecorder() {
+    }
+    
+    /**
+     * Gets the singleton instance of CommandLatencyRecorder
+     * 
+     * @return CommandLatencyRecorder instance
+     */
+    public static synchronized CommandLatencyRecorder getInstance() {
+        if (instance == null) {
+            instance = new CommandLatencyRecorder();
+        }
+        return instance;
+    }
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            latencies.get().pending.push(new PendingCall(commandName(target, method), callSite(), System.nanoTime()));
+        }
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (isCommand(method)) {
+            latencies.get().finish(false);
+        }
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (isCommand(method)) {
+            latencies.get().finish(true);
+        }
+    }
+    
+    /**
+     * Merges the histograms of all threads
+     * 
+     * @return Merged latencies by command type and by call site
+     */
+    public CommandLatencies merge() {
+        CommandLatencies merged = new CommandLatencies();
+        for (ThreadLatencies thread : threads) {
+            thread.commands.forEach((command, stats) -> merged.commands
+                    .computeIfAbsent(command, key -> new Stats()).add(stats));
+            thread.callSites.forEach((site, stats) -> merged.callSites
+                    .computeIfAbsent(site, key -> new Stats()).add(stats));
+        }
+        return merged;
+    }
+    
+    /**
+     * Checks whether a decorated call is a WebDriver command. Accessors such as manage() or switchTo()
+     * return helper objects without talking to the browser and are not.
+     * 
+     * @param method Called method
+     * @return true if the call is a command
+     */
+    public static boolean isCommand(Method method) {
+        return method.getDeclaringClass() != Object.class && method.getReturnType().getEnclosingClass() != WebDriver.class
+                && !method.getName().startsWith("getWrapped");
+    }
+    
+    /**
+     * Gets the command type of a decorated call
+     * 
+     * @param target Decorated object the method was called on
+     * @param method Called method
+     * @return Command type, e.g. WebElement.click
+     */
+    public static String commandName(Object target, Method method) {
+        String type = target instanceof WebElement ? "WebElement"
+                : target instanceof WebDriver ? "WebDriver" : method.getDeclaringClass().getSimpleName();
+        return type + "." + method.getName();
+    }
+    
+    /**
+     * Finds the call site of the command on the current thread: the outermost page object method of
+     * the calls leading to it, or the first framework method if the command was not sent by a page
+     * object. Selenium frames in between, such as those of waits, are skipped.
+     * 
+     * @return Call site as "SimpleClassName#method"
+     */
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> {
+            StackWalker.StackFrame site = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(FRAMEWORK_PACKAGE) || className.equals(CommandLatencyRecorder.class.getName())) {
+                    continue;
+                }
+                if (site != null && !className.startsWith(PAGES_PACKAGE)) {
+                    break;
+                }
+                if (!frame.getMethodName().startsWith("lambda$")) {
+                    site = frame;
+                }
+                if (!className.startsWith(PAGES_PACKAGE)) {
+                    break;
+                }
+            }
+            return site == null ? "unknown"
+                    : site.getClassName().substring(site.getClassName().lastIndexOf('.') + 1) + "#" + site.getMethodName();
+        });
+    }
+    
+    /**
+     * Command latencies merged over all threads
+     */
+    public static class CommandLatencies {
+        
+        private final Map<String, Stats> commands = new TreeMap<>();
+        private final Map<String, Stats> callSites = new TreeMap<>();
+        
+        /**
+         * Gets the total number of recorded commands
+         * 
+         * @return Number of commands
+         */
+        public long getCommandCount() {
+            return commands.values().stream().mapToLong(stats -> stats.histogram.getTotalCount()).sum();
+        }
+        
+        /**
+         * Writes the latencies as JSON and in the Prometheus text exposition format
+         * 
+         * @param dir Directory of webdriver-commands.json and webdriver-commands.prom
+         */
+        public void write(Path dir) {
+            try {
+                Files.createDirectories(dir);
+                Map<String, Object> json = new LinkedHashMap<>();
+                json.put("commands", toJson(commands));
+                json.put("callSites", toJson(callSites));
+                Files.write(dir.resolve(JSON_FILE), new Json().toJson(json).getBytes(StandardCharsets.UTF_8));
+                Files.write(dir.resolve(PROMETHEUS_FILE), toPrometheus().getBytes(StandardCharsets.UTF_8));
+                log.info("Wrote latencies of {} WebDriver commands to {}", getCommandCount(), dir.resolve(JSON_FILE));
+            } catch (IOException e) {
+                log.warn("Could not write WebDriver command latencies to {}: {}", dir, e.getMessage());
+            }
+        }
+        
+        /**
+         * Gets the call sites that spent the most time in WebDriver commands
+         * 
+         * @param limit Maximum number of call sites
+         * @return Table rows of call site, commands, errors, total, mean, p95 and max (ms), with a header row
+         */
+        public String[][] slowestCallSites(int limit) {
+            List<String[]> rows = new ArrayList<>();
+            rows.add(new String[] {"Call site", "Commands", "Errors", "Total ms", "Mean ms", "p95 ms", "Max ms"});
+            callSites.entrySet().stream()
+                    .sorted(Comparator.comparingDouble((Map.Entry<String, Stats> entry) -> entry.getValue().totalMillis())
+                            .reversed())
+                    .limit(limit)
+                    .forEach(entry -> {
+                        Histogram histogram = entry.getValue().histogram;
+                        rows.add(new String[] {entry.getKey(), String.valueOf(histogram.getTotalCount()),
+                                String.valueOf(entry.getValue().errors), millis(entry.getValue().totalMillis()),
+                                millis(histogram.getMean() / 1000), millis(histogram.getValueAtPercentile(95) / 1000.0),
+                                millis(histogram.getMaxValue() / 1000.0)});
+                    });
+            return rows.toArray(new String[0][]);
+        }
+        
+        private static Map<String, Object> toJson(Map<String, Stats> latencies) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            latencies.forEach((name, stats) -> {
+                Histogram histogram = stats.histogram;
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("count", histogram.getTotalCount());
+                entry.put("errors", stats.errors);
+                entry.put("totalMs", round(stats.totalMillis()));
+                entry.put("meanMs", round(histogram.getMean() / 1000));
+                entry.put("p50Ms", round(histogram.getValueAtPercentile(50) / 1000.0));
+                entry.put("p95Ms", round(histogram.getValueAtPercentile(95) / 1000.0));
+                entry.put("p99Ms", round(histogram.getValueAtPercentile(99) / 1000.0));
+                entry.put("maxMs", round(histogram.getMaxValue() / 1000.0));
+                json.put(name, entry);
+            });
+            return json;
+        }
+        
+        private String toPrometheus() {
+            StringBuilder text = new StringBuilder();
+            appendSummary(text, "webdriver_command_duration_seconds", "Latency of WebDriver commands by command type",
+                    "command", commands);
+            appendSummary(text, "webdriver_call_site_duration_seconds",
+                    "Latency of WebDriver commands by calling page object method", "call_site", callSites);
+            text.append("# HELP webdriver_command_errors_total WebDriver commands that failed by command type\n");
+            text.append("# TYPE webdriver_command_errors_total counter\n");
+            commands.forEach((name, stats) -> text.append("webdriver_command_errors_total{command=\"")
+                    .append(escapeLabel(name)).append("\"} ").append(stats.errors).append('\n'));
+            return text.toString();
+        }
+        
+        private static void appendSummary(StringBuilder text, String metric, String help, String label,
+                Map<String, Stats> latencies) {
+            text.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+            text.append("# TYPE ").append(metric).append(" summary\n");
+            latencies.forEach((name, stats) -> {
+                String labelValue = label + "=\"" + escapeLabel(name) + "\"";
+                for (double quantile : new double[] {0.5, 0.95, 0.99}) {
+                    text.append(metric).append('{').append(labelValue).append(",quantile=\"").append(quantile)
+                            .append("\"} ").append(seconds(stats.histogram.getValueAtPercentile(quantile * 100)))
+                            .append('\n');
+                }
+                text.append(metric).append("_sum{").append(labelValue).append("} ")
+                        .append(seconds(stats.totalMillis() * 1000)).append('\n');
+                text.append(metric).append("_count{").append(labelValue).append("} ")
+                        .append(stats.histogram.getTotalCount()).append('\n');
+            });
+        }
+        
+        private static String escapeLabel(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+        
+        private static String seconds(double micros) {
+            return String.format(Locale.ROOT, "%.6f", micros / 1_000_000);
+        }
+        
+        private static String millis(double millis) {
+            return String.format(Locale.ROOT, "%.1f", millis);
+        }
+        
+        private static double round(double millis) {
+            return Math.round(millis * 10) / 10.0;
+        }
+    }
+    
+    // Latencies of one command type or call site, in microseconds
+    private static class Stats {
+        
+        private final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+        private long totalMicros;
+        private long errors;
+        
+        private void record(long micros, boolean error) {
+            histogram.recordValue(micros);
+            totalMicros += micros;
+            if (error) {
+                errors++;
+            }
+        }
+        
+        private void add(Stats other) {
+            histogram.add(other.histogram);
+            totalMicros += other.totalMicros;
+            errors += other.errors;
+        }
+        
+        private double totalMillis() {
+            return totalMicros / 1000.0;
+        }
+    }
+    
+    private static class PendingCall {
+        
+        private final String command;
+        private final String callSite;
+        private final long startNanos;
+        
+        private PendingCall(String command, String callSite, long startNanos) {
+            this.command = command;
+            this.callSite = callSite;
+            this.startNanos = startNanos;
+        }
+    }
+    
+    // Written by its own thread only, read by merge() once the thread stopped sending commands
+    private static class ThreadLatencies {
+        
+        private final Map<String, Stats> commands = new HashMap<>();
+        private final Map<String, Stats> callSites = new HashMap<>();
+        private final Deque<PendingCall> pending = new ArrayDeque<>();
+        
+        private void finish(boolean error) {
+            PendingCall call = pending.poll();
+            if (call == null) {
+                return;
+            }
+            long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - call.startNanos));
+            commands.computeIfAbsent(call.command, key -> new Stats()).record(micros, error);
+            callSites.computeIfAbsent(call.callSite, key -> new Stats()).record(micros, error);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.test.automation.perf;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.journey.StepRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the latency of user types on the same journey. Journey steps are recorded through
+ * {@link #recorder(String)}; the page timings of the run are added from
+ * page-timings.jsonl. Every step and page metric of every user type is compared with the reference
+ * user type (comparison.reference.user) with a Mann-Whitney U test, Bonferroni adjusted over all
+ * comparisons, and significant differences are checked against comparison.expected.
+ */
+@Slf4j
+public class LatencyComparison {
+    
+    public static final String REPORT_FILE = "user-type-comparison.tsv";
+    
+    private static LatencyComparison instance;
+    
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Map<String, List<Double>>> stepSamples = new ConcurrentHashMap<>();
+    
+    private LatencyComparison() {
+    }
+    
+    /**
+     * Gets the singleton instance of LatencyComparison
+     * 
+     * @return LatencyComparison instance
+     */
+    public static synchronized LatencyComparison getInstance() {
+        if (instance == null) {
+            instance = new LatencyComparison();
+        }
+        return instance;
+    }
+    
+    /**
+     * Gets a recorder for the journey steps of a user type
+     * 
+     * @param userType User type running the journey
+     * @return StepRecorder that records into this comparison
+     */
+    public StepRecorder recorder(String userType) {
+        return (step, nanos) -> record(userType, step, nanos / 1_000_000.0);
+    }
+    
+    /**
+     * Records the latency of a journey step
+     * 
+     * @param userType User type running the journey
+     * @param step Step name
+     * @param millis Latency in milliseconds
+     */
+    public void record(String userType, String step, double millis) {
+        stepSamples.computeIfAbsent(step, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(userType, key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(millis);
+    }
+    
+    /**
+     * Compares every user type with the reference user type, for each journey step and for each
+     * page metric collected during this run by tests whose key starts with testPrefix
+     * 
+     * @param testPrefix Prefix of the test keys whose page timings are compared, e.g. the test class name
+     * @return Differences ordered by subject and user type
+     */
+    public List<LatencyDifference> compare(String testPrefix) {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        String reference = config.getComparisonReferenceUser();
+        List<String> expected = Arrays.stream(config.getComparisonExpected().split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .collect(Collectors.toList());
+        
+        Map<String, Map<String, List<Double>>> samples = new TreeMap<>();
+        stepSamples.forEach((step, byUser) -> byUser.forEach((user, values) -> {
+            synchronized (values) {
+                samples.computeIfAbsent(step, key -> new TreeMap<>()).put(user, new ArrayList<>(values));
+            }
+        }));
+        addPageSamples(samples, testPrefix);
+        return compare(samples, reference, expected, config.getComparisonAlpha());
+    }
+    
+    /**
+     * Compares every user type with the reference user type for each subject
+     * 
+     * @param samples Samples by subject and user type
+     * @param reference Reference user type
+     * @param expected Expected differences, as user type or user type:subject prefix
+     * @param alpha Significance level of the Bonferroni adjusted p-values
+     * @return Differences ordered like the samples
+     */
+    static List<LatencyDifference> compare(Map<String, Map<String, List<Double>>> samples, String reference,
+                                           List<String> expected, double alpha) {
+        int comparisons = 0;
+        for (Map<String, List<Double>> byUser : samples.values()) {
+            if (byUser.containsKey(reference)) {
+                comparisons += byUser.size() - 1;
+            }
+        }
+        
+        List<LatencyDifference> differences = new ArrayList<>();
+        for (Map.Entry<String, Map<String, List<Double>>> subject : samples.entrySet()) {
+            List<Double> referenceValues = subject.getValue().get(reference);
+            if (referenceValues == null) {
+                continue;
+            }
+            for (Map.Entry<String, List<Double>> user : subject.getValue().entrySet()) {
+                if (user.getKey().equals(reference)) {
+                    continue;
+                }
+                List<Double> values = user.getValue();
+                double pValue = Math.min(1,
+                        LatencyStatistics.mannWhitneyP(values, referenceValues) * Math.max(1, comparisons));
+                boolean isExpected = expected.stream().anyMatch(entry -> entry.equals(user.getKey())
+                        || entry.startsWith(user.getKey() + ":")
+                        && subject.getKey().startsWith(entry.substring(user.getKey().length() + 1)));
+                differences.add(new LatencyDifference(subject.getKey(), user.getKey(), reference, values.size(),
+                        referenceValues.size(), PerfBaseline.median(values), PerfBaseline.median(referenceValues),
+                        LatencyStatistics.percentile(values, 90), LatencyStatistics.percentile(referenceValues, 90),
+                        pValue, pValue < alpha, isExpected));
+            }
+        }
+        return differences;
+    }
+    
+    /**
+     * Writes the differences as a tab separated report to perf.dir and logs them as a table
+     * 
+     * @param differences Differences to report
+     * @return The report
+     */
+    public String writeReport(List<LatencyDifference> differences) {
+        StringBuilder report = new StringBuilder(
+                "subject\tuser\treference\tn\treference n\tmedian\treference median\tratio\tp90\treference p90\tp\tsignificant\texpected\n");
+        for (LatencyDifference difference : differences) {
+            report.append(String.format(Locale.ROOT, "%s\t%s\t%s\t%d\t%d\t%.1f\t%.1f\t%.2f\t%.1f\t%.1f\t%.4f\t%s\t%s%n",
+                    difference.getSubject(), difference.getUserType(), difference.getReferenceUserType(),
+                    difference.getSamples(), difference.getReferenceSamples(), difference.getMedian(),
+                    difference.getReferenceMedian(), difference.getRatio(), difference.getP90(),
+                    difference.getReferenceP90(), difference.getPValue(), difference.isSignificant(),
+                    difference.isExpected()));
+        }
+        
+        Path reportFile = PageTimingCollector.getPerfDir().resolve(REPORT_FILE);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, report.toString().getBytes(StandardCharsets.UTF_8));
+            log.info("Wrote user type comparison of {} subjects to {}", differences.size(), reportFile);
+        } catch (IOException e) {
+            log.error("Failed to write user type comparison to {}", reportFile, e);
+        }
+        for (LatencyDifference difference : differences) {
+            log.info(String.format(Locale.ROOT, "%-45s %-25s median %8.1f vs %8.1f (x%.2f), p=%.4f%s",
+                    difference.getSubject(), difference.getUserType(), difference.getMedian(),
+                    difference.getReferenceMedian(), difference.getRatio(), difference.getPValue(),
+                    difference.isUnexpectedSlowdown() ? "  UNEXPECTED SLOWDOWN"
+                            : difference.isSignificant() ? "  significant" : ""));
+        }
+        return report.toString();
+    }
+    
+    private void addPageSamples(Map<String, Map<String, List<Double>>> samples, String testPrefix) {
+        Path timingsFile = PageTimingCollector.getPerfDir().resolve(PageTimingCollector.TIMINGS_FILE);
+        if (!Files.exists(timingsFile)) {
+            return;
+        }
+        Json json = new Json();
+        try {
+            for (String line : Files.readAllLines(timingsFile, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                PageTiming timing = PageTiming.fromMap(json.toType(line, Json.MAP_TYPE));
+                if (timing.getTimestamp() < startedAt || timing.getUserType() == null || timing.getTest() == null
+                        || !timing.getTest().startsWith(testPrefix)) {
+                    continue;
+                }
+                timing.getMetrics().forEach((metric, value) -> samples
+                        .computeIfAbsent(timing.getPage() + "." + metric, key -> new TreeMap<>())
+                        .computeIfAbsent(timing.getUserType(), key -> new ArrayList<>())
+                        .add(value));
+            }
+        } catch (IOException e) {
+            log.warn("Could not read page timings from {}: {}", timingsFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.test.automation.perf;
+
+import lombok.Value;
+
+/**
+ * Latency of a journey step or page metric for one user type, compared with the reference user type
+ */
+@Value
+public class LatencyDifference {
+    /** Journey step, or page metric as Page.metric */
+    String subject;
+    String userType;
+    String referenceUserType;
+    int samples;
+    int referenceSamples;
+    double median;
+    double referenceMedian;
+    double p90;
+    double referenceP90;
+    /** Mann-Whitney p-value, Bonferroni adjusted for the number of comparisons */
+    double pValue;
+    boolean significant;
+    /** true if the user type is expected to differ from the reference in this subject */
+    boolean expected;
+    
+    /**
+     * Gets the median of the user type relative to the reference
+     * 
+     * @return Ratio of the medians, or NaN if the reference median is 0
+     */
+    public double getRatio() {
+        return referenceMedian == 0 ? Double.NaN : median / referenceMedian;
+    }
+    
+    /**
+     * Checks whether this is a significant slowdown nobody expected
+     * 
+     * @return true if the user type is significantly slower than the reference where it should not be
+     */
+    public boolean isUnexpectedSlowdown() {
+        return significant && !expected && median > referenceMedian;
+    }
+}
@@ -0,0 +1,86 @@
+package com.test.automation.perf;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Distribution statistics for latency samples
+ */
+final class LatencyStatistics {
+    
+    private LatencyStatistics() {
+    }
+    
+    /**
+     * Calculates a percentile with the nearest-rank method
+     * 
+     * @param values Samples, not empty
+     * @param percentile Percentile between 0 and 100
+     * @return Smallest sample that at least the given share of samples does not exceed
+     */
+    static double percentile(List<Double> values, double percentile) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+    
+    /**
+     * Two-sided Mann-Whitney U test of whether two samples come from the same distribution, with
+     * the normal approximation corrected for ties and continuity. Being rank based, it is not
+     * thrown off by the long tails latency samples usually have.
+     * 
+     * @param first First sample
+     * @param second Second sample
+     * @return p-value; 1 if either sample is empty or all values are tied
+     */
+    static double mannWhitneyP(List<Double> first, List<Double> second) {
+        int n1 = first.size();
+        int n2 = second.size();
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+        int n = n1 + n2;
+        double[][] pooled = new double[n][];
+        for (int i = 0; i < n; i++) {
+            pooled[i] = new double[] {i < n1 ? first.get(i) : second.get(i - n1), i < n1 ? 0 : 1};
+        }
+        Arrays.sort(pooled, (a, b) -> Double.compare(a[0], b[0]));
+        
+        // Ranks, with tied values sharing their average rank
+        double firstRankSum = 0;
+        double tieCorrection = 0;
+        for (int start = 0; start < n; ) {
+            int end = start;
+            while (end + 1 < n && pooled[end + 1][0] == pooled[start][0]) {
+                end++;
+            }
+            double rank = (start + end) / 2.0 + 1;
+            int ties = end - start + 1;
+            tieCorrection += Math.pow(ties, 3) - ties;
+            for (int i = start; i <= end; i++) {
+                if (pooled[i][1] == 0) {
+                    firstRankSum += rank;
+                }
+            }
+            start = end + 1;
+        }
+        
+        double u = firstRankSum - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * n2 / 2.0;
+        double variance = n1 * n2 / 12.0 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = Math.max(0, Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1, 2 * (1 - normalCdf(z)));
+    }
+    
+    // Abramowitz and Stegun 7.1.26, accurate to about 1.5e-7
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
@@ -0,0 +1,123 @@
+package com.test.automation.perf;
+
+import com.test.automation.network.NetworkEmulator;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Performance timings of one page transition, as seen when its page object was constructed.
+ * Times are in milliseconds from the start of the navigation; metrics the browser did not report
+ * are null.
+ */
+@Value
+public class PageTiming {
+    long timestamp;
+    String test;
+    String page;
+    String userType;
+    /** Network emulation profile of the session, none without emulation */
+    String networkProfile;
+    /** Site the page was served by: the host of base.url, or offline for the embedded replica */
+    String target;
+    String url;
+    /** "hard" for a document load, "soft" for a client-side route change within the same document */
+    String navigation;
+    Double timeToFirstByte;
+    Double domContentLoaded;
+    Double loadEvent;
+    Double firstPaint;
+    Double firstContentfulPaint;
+    Double largestContentfulPaint;
+    Double cumulativeLayoutShift;
+    Long transferSize;
+    /** Time from the start of the navigation until the page object was ready */
+    Double pageReady;
+    /** Time from the last click of a page object until this page object was ready */
+    Double transition;
+    
+    /**
+     * Gets the timing as an ordered map, as written to the timings file
+     * 
+     * @return Field names mapped to their values
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("timestamp", timestamp);
+        map.put("test", test);
+        map.put("page", page);
+        map.put("userType", userType);
+        map.put("networkProfile", networkProfile);
+        map.put("target", target);
+        map.put("url", url);
+        map.put("navigation", navigation);
+        map.put("timeToFirstByte", timeToFirstByte);
+        map.put("domContentLoaded", domContentLoaded);
+        map.put("loadEvent", loadEvent);
+        map.put("firstPaint", firstPaint);
+        map.put("firstContentfulPaint", firstContentfulPaint);
+        map.put("largestContentfulPaint", largestContentfulPaint);
+        map.put("cumulativeLayoutShift", cumulativeLayoutShift);
+        map.put("transferSize", transferSize);
+        map.put("pageReady", pageReady);
+        map.put("transition", transition);
+        return map;
+    }
+    
+    /**
+     * Creates a timing from a map as written to the timings file
+     * 
+     * @param map Field names mapped to their values
+     * @return PageTiming instance
+     */
+    public static PageTiming fromMap(Map<String, Object> map) {
+        return new PageTiming(((Number) map.get("timestamp")).longValue(), (String) map.get("test"),
+                (String) map.get("page"), (String) map.get("userType"),
+                map.get("networkProfile") instanceof String ? (String) map.get("networkProfile") : NetworkEmulator.NONE,
+                (String) map.get("target"), (String) map.get("url"),
+                (String) map.get("navigation"), toDouble(map.get("timeToFirstByte")),
+                toDouble(map.get("domContentLoaded")), toDouble(map.get("loadEvent")), toDouble(map.get("firstPaint")),
+                toDouble(map.get("firstContentfulPaint")), toDouble(map.get("largestContentfulPaint")),
+                toDouble(map.get("cumulativeLayoutShift")),
+                map.get("transferSize") instanceof Number ? ((Number) map.get("transferSize")).longValue() : null,
+                toDouble(map.get("pageReady")), toDouble(map.get("transition")));
+    }
+    
+    /**
+     * Gets the page as it is keyed in budgets and baselines: the page name, with @ and the network
+     * profile appended for emulated networks (e.g. InventoryPage@slow-4g)
+     * 
+     * @return Page key
+     */
+    public String getPageKey() {
+        return networkProfile == null || NetworkEmulator.NONE.equals(networkProfile)
+                ? page
+                : page + "@" + networkProfile;
+    }
+    
+    /**
+     * Gets the metrics that describe this transition. The Navigation Timing, paint and layout
+     * metrics of a soft navigation belong to the document it happened in, so only its transition
+     * time is its own.
+     * 
+     * @return Reported metric names mapped to their values
+     */
+    public Map<String, Double> getMetrics() {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        if ("hard".equals(navigation)) {
+            toMap().forEach((name, value) -> {
+                if (value instanceof Number && !"timestamp".equals(name)) {
+                    metrics.put(name, ((Number) value).doubleValue());
+                }
+            });
+        } else if (transition != null) {
+            metrics.put("transition", transition);
+        }
+        return metrics;
+    }
+    
+    private static Double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+}
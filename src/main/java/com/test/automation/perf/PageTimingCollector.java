@@ -0,0 +1,217 @@
+package com.test.automation.perf;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.constants.SauceConstants;
+import com.test.automation.network.NetworkEmulator;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects Navigation Timing, paint timings, LCP and CLS when a page object is constructed, in a
+ * single script call, and appends them as one JSON line per page transition to
+ * page-timings.jsonl in perf.dir (by default page-performance next to the Allure results).
+ * Collection never fails a test; script or write errors are only logged. While the performance gate
+ * is on, the timings of the running test are also kept for {@link PerfGate}.
+ */
+@Slf4j
+public class PageTimingCollector {
+    
+    public static final String TIMINGS_FILE = "page-timings.jsonl";
+    /** Target of the timings of the embedded replica (offline.enabled), whatever its port */
+    public static final String OFFLINE_TARGET = "offline";
+    private static final String COLLECT_SCRIPT = "var nav = performance.getEntriesByType('navigation')[0] || {};"
+            + "var paint = {};"
+            + "performance.getEntriesByType('paint').forEach(function (e) { paint[e.name] = e.startTime; });"
+            + "function buffered(type) {"
+            + "  try { var o = new PerformanceObserver(function () {}); o.observe({type: type, buffered: true});"
+            + "    var entries = o.takeRecords(); o.disconnect(); return entries; } catch (e) { return null; } }"
+            + "var lcp = buffered('largest-contentful-paint'), shifts = buffered('layout-shift'), cls = null;"
+            + "if (shifts) { cls = 0; shifts.forEach(function (e) { if (!e.hadRecentInput) { cls += e.value; } }); }"
+            + "var user = document.cookie.match(new RegExp('(?:^|; )' + arguments[0] + '=([^;]*)'));"
+            + "return {timeOrigin: performance.timeOrigin, url: location.href, ttfb: nav.responseStart,"
+            + "  domContentLoaded: nav.domContentLoadedEventEnd, load: nav.loadEventEnd, transferSize: nav.transferSize,"
+            + "  firstPaint: paint['first-paint'], firstContentfulPaint: paint['first-contentful-paint'],"
+            + "  lcp: lcp && lcp.length ? lcp[lcp.length - 1].startTime : null, cls: cls,"
+            + "  now: performance.now(), user: user ? decodeURIComponent(user[1]) : null};";
+    
+    private static PageTimingCollector instance;
+    
+    private final boolean enabled;
+    private final Path timingsFile;
+    private final Json json = new Json();
+    private final ThreadLocal<Object> lastTimeOrigin = new ThreadLocal<>();
+    private final ThreadLocal<String> lastPage = new ThreadLocal<>();
+    private final ThreadLocal<Long> lastActionNanos = new ThreadLocal<>();
+    private final ThreadLocal<List<PageTiming>> testTimings = ThreadLocal.withInitial(ArrayList::new);
+    private final boolean keepTestTimings;
+    
+    private PageTimingCollector() {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        enabled = config.isPerfTimingsEnabled();
+        timingsFile = getPerfDir().resolve(TIMINGS_FILE);
+        keepTestTimings = enabled && !"off".equalsIgnoreCase(config.getPerfGate());
+    }
+    
+    /**
+     * Gets the singleton instance of PageTimingCollector
+     * 
+     * @return PageTimingCollector instance
+     */
+    public static synchronized PageTimingCollector getInstance() {
+        if (instance == null) {
+            instance = new PageTimingCollector();
+        }
+        return instance;
+    }
+    
+    /**
+     * Gets the directory of the page performance data: perf.dir, or page-performance next to the
+     * Allure results directory when perf.dir is empty
+     * 
+     * @return Page performance directory
+     */
+    public static Path getPerfDir() {
+        String perfDir = FrameworkConfig.getInstance().getPerfDir();
+        if (!perfDir.isEmpty()) {
+            return Paths.get(perfDir);
+        }
+        return Paths.get(System.getProperty("allure.results.directory", "allure-results")).toAbsolutePath()
+                .resolveSibling("page-performance");
+    }
+    
+    /**
+     * Marks a click of a page object, the start of a possible page transition
+     */
+    public void markAction() {
+        if (enabled) {
+            lastActionNanos.set(System.nanoTime());
+        }
+    }
+    
+    /**
+     * Starts keeping the timings of a test on the current thread
+     */
+    public void startTest() {
+        testTimings.get().clear();
+        lastActionNanos.remove();
+    }
+    
+    /**
+     * Gets the timings collected on the current thread since {@link #startTest()} and stops keeping them
+     * 
+     * @return Timings of the test, in collection order
+     */
+    public List<PageTiming> finishTest() {
+        List<PageTiming> timings = new ArrayList<>(testTimings.get());
+        testTimings.get().clear();
+        return timings;
+    }
+    
+    /**
+     * Collects and records the timings of the page the driver is on. Constructing the same page
+     * object again on the same document is not a new transition and is not recorded.
+     * 
+     * @param driver WebDriver of the current test
+     * @param pageClass Class of the page object that was constructed
+     */
+    public void collect(WebDriver driver, Class<?> pageClass) {
+        if (!enabled || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(COLLECT_SCRIPT, SauceConstants.SESSION_COOKIE);
+            if (!(result instanceof Map)) {
+                return;
+            }
+            Map<?, ?> values = (Map<?, ?>) result;
+            Object timeOrigin = values.get("timeOrigin");
+            boolean sameDocument = timeOrigin != null && timeOrigin.equals(lastTimeOrigin.get());
+            if (sameDocument && pageClass.getName().equals(lastPage.get())) {
+                return;
+            }
+            lastTimeOrigin.set(timeOrigin);
+            lastPage.set(pageClass.getName());
+            Long actionNanos = lastActionNanos.get();
+            lastActionNanos.remove();
+            Double transition = actionNanos == null ? null : (System.nanoTime() - actionNanos) / 1_000_000.0;
+            
+            PageTiming timing = new PageTiming(System.currentTimeMillis(), currentTest(), pageClass.getSimpleName(),
+                    (String) values.get("user"), NetworkEmulator.getInstance().getActiveProfile(), currentTarget(),
+                    (String) values.get("url"), sameDocument ? "soft" : "hard",
+                    toDouble(values.get("ttfb")), toDouble(values.get("domContentLoaded")),
+                    toDouble(values.get("load")), toDouble(values.get("firstPaint")),
+                    toDouble(values.get("firstContentfulPaint")), toDouble(values.get("lcp")),
+                    toDouble(values.get("cls")), toLong(values.get("transferSize")), toDouble(values.get("now")),
+                    transition);
+            write(timing);
+            if (keepTestTimings) {
+                testTimings.get().add(timing);
+            }
+        } catch (Exception e) {
+            log.debug("Could not collect page timings of {}: {}", pageClass.getSimpleName(), e.getMessage());
+        }
+    }
+    
+    private synchronized void write(PageTiming timing) throws IOException {
+        Files.createDirectories(timingsFile.getParent());
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput output = json.newOutput(line)) {
+            output.setPrettyPrint(false).write(timing.toMap());
+        }
+        line.append(System.lineSeparator());
+        Files.write(timingsFile, line.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+    
+    /**
+     * Gets the site the pages of this run are served by
+     * 
+     * @return offline for the embedded replica, otherwise the host of base.url
+     */
+    static String currentTarget() {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        if (config.isOfflineEnabled()) {
+            return OFFLINE_TARGET;
+        }
+        try {
+            String host = URI.create(config.getBaseUrl()).getHost();
+            return host != null ? host : config.getBaseUrl();
+        } catch (IllegalArgumentException e) {
+            return config.getBaseUrl();
+        }
+    }
+    
+    private static String currentTest() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return null;
+        }
+        return result.getTestClass().getName() + "#" + result.getMethod().getMethodName()
+                + Arrays.deepToString(result.getParameters());
+    }
+    
+    private static Double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+    
+    private static Long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+}
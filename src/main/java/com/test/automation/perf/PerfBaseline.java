@@ -0,0 +1,125 @@
+package com.test.automation.perf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rolling baseline of page performance. Keeps the median of each target site, page, navigation type
+ * and metric of the last window runs in a tab separated file; the baseline of a metric is the median
+ * of those run medians, so neither a spike within a run nor one slow run moves it much.
+ */
+@Slf4j
+public class PerfBaseline {
+    
+    private final Path baselineFile;
+    private final int window;
+    private final int minRuns;
+    private final Map<String, List<Double>> runMedians = new TreeMap<>();
+    
+    /**
+     * Creates a baseline backed by the given file, loading it if it exists
+     * 
+     * @param baselineFile Baseline file
+     * @param window Number of runs kept per metric
+     * @param minRuns Number of runs a metric needs before it has a baseline
+     */
+    public PerfBaseline(Path baselineFile, int window, int minRuns) {
+        this.baselineFile = baselineFile;
+        this.window = Math.max(1, window);
+        this.minRuns = Math.max(1, minRuns);
+        load();
+    }
+    
+    /**
+     * Gets the baseline of a metric
+     * 
+     * @param key Metric key, see {@link PerfGate#metricKey(String, String, String, String)}
+     * @return Median of the run medians, or null if fewer than the minimum number of runs are recorded
+     */
+    public synchronized Double getBaseline(String key) {
+        List<Double> medians = runMedians.get(key);
+        return medians == null || medians.size() < minRuns ? null : median(medians);
+    }
+    
+    /**
+     * Adds a run to the baseline and writes the trimmed baseline back to disk
+     * 
+     * @param runSamples All samples of the run per metric key
+     */
+    public synchronized void addRun(Map<String, List<Double>> runSamples) {
+        if (runSamples.isEmpty()) {
+            return;
+        }
+        runSamples.forEach((key, samples) -> {
+            List<Double> medians = runMedians.computeIfAbsent(key, k -> new ArrayList<>());
+            medians.add(median(samples));
+            if (medians.size() > window) {
+                medians.subList(0, medians.size() - window).clear();
+            }
+        });
+        
+        try {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Path tempFile = baselineFile.resolveSibling(baselineFile.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, List<Double>> entry : runMedians.entrySet()) {
+                    StringBuilder line = new StringBuilder(entry.getKey());
+                    for (Double value : entry.getValue()) {
+                        line.append('\t').append(value);
+                    }
+                    writer.write(line.toString());
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, baselineFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved page performance baseline of {} metrics to {}", runSamples.size(), baselineFile);
+        } catch (IOException e) {
+            log.error("Failed to save page performance baseline to {}", baselineFile, e);
+        }
+    }
+    
+    /**
+     * Calculates the median of some values
+     * 
+     * @param values Values, not empty
+     * @return Median
+     */
+    static double median(Collection<Double> values) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+    
+    private void load() {
+        if (!Files.exists(baselineFile)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(baselineFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length < 2) {
+                    continue;
+                }
+                List<Double> medians = new ArrayList<>();
+                Arrays.stream(fields, 1, fields.length).forEach(value -> medians.add(Double.parseDouble(value)));
+                runMedians.put(fields[0], medians);
+            }
+            log.info("Loaded page performance baseline of {} metrics from {}", runMedians.size(), baselineFile);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable page performance baseline {}: {}", baselineFile, e.getMessage());
+            runMedians.clear();
+        }
+    }
+}
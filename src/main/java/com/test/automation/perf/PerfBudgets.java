@@ -0,0 +1,93 @@
+package com.test.automation.perf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Per-page performance budgets, read from a properties file of page.metric=limit lines, e.g.
+ * InventoryPage.largestContentfulPaint=2500. Metric names are those of page-timings.jsonl; the page
+ * * sets a budget for every page that has no budget of its own for the metric.
+ * Timings on an emulated network have budgets of their own, keyed page@profile (e.g.
+ * InventoryPage@slow-4g or *@slow-4g); the budgets of the unthrottled pages do not apply to them.
+ */
+@Slf4j
+public class PerfBudgets {
+    
+    private static final String ANY_PAGE = "*";
+    
+    private final Map<String, Double> budgets;
+    
+    private PerfBudgets(Map<String, Double> budgets) {
+        this.budgets = Collections.unmodifiableMap(budgets);
+    }
+    
+    /**
+     * Loads budgets from the classpath, or from the file system if no such resource exists.
+     * A missing budget file means no budgets.
+     * 
+     * @param location Classpath resource or file path
+     * @return PerfBudgets instance
+     */
+    public static PerfBudgets load(String location) {
+        Properties properties = new Properties();
+        try (InputStream input = open(location)) {
+            if (input == null) {
+                log.warn("Performance budget file {} not found, no budgets are checked", location);
+                return new PerfBudgets(Collections.emptyMap());
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read performance budget file " + location, e);
+        }
+        
+        Map<String, Double> budgets = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.lastIndexOf('.');
+            if (separator <= 0 || separator == key.length() - 1) {
+                throw new IllegalArgumentException("Invalid performance budget '" + key + "', expected page.metric");
+            }
+            try {
+                budgets.put(key, Double.parseDouble(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid limit of performance budget '" + key + "': "
+                        + properties.getProperty(key), e);
+            }
+        }
+        log.info("Loaded {} performance budgets from {}", budgets.size(), location);
+        return new PerfBudgets(budgets);
+    }
+    
+    /**
+     * Gets the budget of a metric on a page
+     * 
+     * @param page Page key, the simple class name of the page object with an optional @profile
+     * @param metric Metric name
+     * @return Limit, or null if neither the page nor * (with the same @profile) has a budget for the metric
+     */
+    public Double getBudget(String page, String metric) {
+        Double budget = budgets.get(page + "." + metric);
+        if (budget != null) {
+            return budget;
+        }
+        int profile = page.indexOf('@');
+        return budgets.get(ANY_PAGE + (profile >= 0 ? page.substring(profile) : "") + "." + metric);
+    }
+    
+    private static InputStream open(String location) throws IOException {
+        InputStream resource = PerfBudgets.class.getClassLoader().getResourceAsStream(location);
+        if (resource != null) {
+            return resource;
+        }
+        Path file = Paths.get(location);
+        return Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+    }
+}
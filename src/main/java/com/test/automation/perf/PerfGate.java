@@ -0,0 +1,196 @@
+package com.test.automation.perf;
+
+import com.test.automation.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the page timings of each test against the performance budgets and the rolling baseline.
+ * A metric of a test is the median of its samples in the test. It violates a limit when it exceeds
+ * the limit by more than perf.gate.tolerance (relative) and by more than the noise floor of the
+ * metric (absolute). The first perf.gate.strikes - 1 violations of a page metric in a run are only
+ * logged as possible one-off spikes; only later ones are returned and fail their tests.
+ */
+@Slf4j
+public class PerfGate {
+    
+    public static final String BASELINE_FILE = "page-baseline.tsv";
+    
+    private static PerfGate instance;
+    
+    private final String mode;
+    private final double tolerance;
+    private final double noiseMillis;
+    private final int strikes;
+    private final PerfBudgets budgets;
+    private final PerfBaseline baseline;
+    private final Map<String, List<Double>> runSamples = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> violationCounts = new ConcurrentHashMap<>();
+    private final List<PerfViolation> violations = Collections.synchronizedList(new ArrayList<>());
+    
+    private PerfGate(FrameworkConfig config) {
+        this(config.getPerfGate(), config.getPerfGateTolerance(), config.getPerfGateNoiseMillis(),
+                config.getPerfGateStrikes(), PerfBudgets.load(config.getPerfBudgetFile()),
+                config.isHistoryEnabled()
+                        ? new PerfBaseline(Paths.get(config.getHistoryDir(), BASELINE_FILE), config.getHistoryWindow(),
+                                config.getPerfBaselineMinRuns())
+                        : null);
+    }
+    
+    /**
+     * Creates a gate with the given settings; the run's gate is created by {@link #getInstance()}
+     * 
+     * @param mode off, warn or fail
+     * @param tolerance Relative tolerance of the limits
+     * @param noiseMillis Noise floor of the time metrics
+     * @param strikes Violations of a page metric in a run before they count
+     * @param budgets Performance budgets
+     * @param baseline Rolling baseline, or null for budgets only
+     */
+    PerfGate(String mode, double tolerance, double noiseMillis, int strikes, PerfBudgets budgets, PerfBaseline baseline) {
+        this.mode = mode.toLowerCase();
+        this.tolerance = tolerance;
+        this.noiseMillis = noiseMillis;
+        this.strikes = Math.max(1, strikes);
+        this.budgets = budgets;
+        this.baseline = baseline;
+    }
+    
+    /**
+     * Gets the singleton instance of PerfGate
+     * 
+     * @return PerfGate instance
+     */
+    public static synchronized PerfGate getInstance() {
+        if (instance == null) {
+            instance = new PerfGate(FrameworkConfig.getInstance());
+        }
+        return instance;
+    }
+    
+    /**
+     * Checks whether the gate checks timings at all (perf.gate is warn or fail)
+     * 
+     * @return true unless perf.gate=off
+     */
+    public boolean isEnabled() {
+        return !"off".equals(mode);
+    }
+    
+    /**
+     * Checks whether violations fail their tests (perf.gate=fail) rather than only being logged
+     * 
+     * @return true if violations fail tests
+     */
+    public boolean isFailing() {
+        return "fail".equals(mode);
+    }
+    
+    /**
+     * Creates the key of a metric in the baseline. Timings of the offline replica and of the public
+     * site have separate baselines, as have those of different network profiles.
+     * 
+     * @param target Site the page was served by, see {@link PageTiming#getTarget()}
+     * @param page Page key, see {@link PageTiming#getPageKey()}
+     * @param navigation hard or soft
+     * @param metric Metric name
+     * @return Metric key
+     */
+    public static String metricKey(String target, String page, String navigation, String metric) {
+        return target + "|" + page + "|" + navigation + "|" + metric;
+    }
+    
+    /**
+     * Checks the timings of a finished test and adds them to the run's samples
+     * 
+     * @param test Test invocation key
+     * @param timings Timings collected during the test
+     * @return Violations that count against the test; empty if it is within its limits
+     */
+    public List<PerfViolation> check(String test, List<PageTiming> timings) {
+        Map<String, List<Double>> samples = new LinkedHashMap<>();
+        for (PageTiming timing : timings) {
+            timing.getMetrics().forEach((metric, value) -> samples
+                    .computeIfAbsent(metricKey(timing.getTarget(), timing.getPageKey(), timing.getNavigation(), metric),
+                            key -> new ArrayList<>())
+                    .add(value));
+        }
+        
+        List<PerfViolation> counted = new ArrayList<>();
+        samples.forEach((key, values) -> {
+            runSamples.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).addAll(values);
+            String[] parts = key.split("\\|");
+            String page = parts[1];
+            String navigation = parts[2];
+            String metric = parts[3];
+            double value = PerfBaseline.median(values);
+            Double budget = budgets.getBudget(page, metric);
+            if (budget != null && exceeds(value, budget, metric)) {
+                count(key, new PerfViolation(test, page, navigation, metric, PerfViolation.BUDGET, value, budget), counted);
+            }
+            Double reference = baseline == null ? null : baseline.getBaseline(key);
+            if (reference != null && exceeds(value, reference, metric)) {
+                count(key, new PerfViolation(test, page, navigation, metric, PerfViolation.BASELINE, value, reference),
+                        counted);
+            }
+        });
+        return counted;
+    }
+    
+    /**
+     * Gets the violations that counted against tests so far
+     * 
+     * @return Violations in the order they were found
+     */
+    public List<PerfViolation> getViolations() {
+        synchronized (violations) {
+            return new ArrayList<>(violations);
+        }
+    }
+    
+    /**
+     * Adds the run's samples to the rolling baseline
+     */
+    public void finishRun() {
+        if (baseline != null) {
+            baseline.addRun(new HashMap<>(runSamples));
+        }
+        runSamples.clear();
+    }
+    
+    private boolean exceeds(double value, double limit, String metric) {
+        double noiseFloor;
+        switch (metric) {
+            case "cumulativeLayoutShift":
+                noiseFloor = 0.01;
+                break;
+            case "transferSize":
+                noiseFloor = 1024;
+                break;
+            default:
+                noiseFloor = noiseMillis;
+        }
+        return value > limit * (1 + tolerance) && value - limit > noiseFloor;
+    }
+    
+    private void count(String metricKey, PerfViolation violation, List<PerfViolation> counted) {
+        String key = metricKey + "|" + violation.getKind();
+        int count = violationCounts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        if (count < strikes) {
+            log.warn("Performance gate: {} (strike {} of {}, tolerated as a possible spike)", violation.describe(),
+                    count, strikes);
+            return;
+        }
+        violations.add(violation);
+        counted.add(violation);
+    }
+}
@@ -0,0 +1,55 @@
+package com.test.automation.perf;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * A page metric of a test that exceeded its budget or regressed against the baseline
+ */
+@Value
+public class PerfViolation {
+    public static final String BUDGET = "budget";
+    public static final String BASELINE = "baseline";
+    
+    String test;
+    String page;
+    String navigation;
+    String metric;
+    /** BUDGET or BASELINE */
+    String kind;
+    double value;
+    double limit;
+    
+    /**
+     * Gets how far the value is over the limit
+     * 
+     * @return Value minus limit
+     */
+    public double getDelta() {
+        return value - limit;
+    }
+    
+    /**
+     * Describes the violation for logs and test failures
+     * 
+     * @return Description including the delta and the test
+     */
+    public String describe() {
+        String relative = limit > 0 ? String.format(Locale.ROOT, ", %+.1f%%", getDelta() * 100 / limit) : "";
+        return String.format(Locale.ROOT, "%s %s (%s navigation) %s exceeds its %s of %s by %s%s in %s", page, metric,
+                navigation, format(value), kind, format(limit), format(getDelta()).replaceFirst("^(?!-)", "+"),
+                relative, test);
+    }
+    
+    private String format(double amount) {
+        switch (metric) {
+            case "cumulativeLayoutShift":
+                return String.format(Locale.ROOT, "%.3f", amount);
+            case "transferSize":
+                return String.format(Locale.ROOT, "%.0f bytes", amount);
+            default:
+                return String.format(Locale.ROOT, "%.0f ms", amount);
+        }
+    }
+}
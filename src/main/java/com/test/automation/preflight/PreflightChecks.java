@@ -0,0 +1,144 @@
+package com.test.automation.preflight;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.factory.DriverFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the environment before any test runs: that base.url responds, that the grid hub is ready
+ * (when use.grid=true) and that a browser session can be started. Each check is bounded by
+ * preflight.timeout.seconds, so a dead environment is detected in seconds instead of one page load
+ * timeout per test.
+ */
+@Slf4j
+public final class PreflightChecks {
+    
+    private static final Pattern GRID_READY = Pattern.compile("\"ready\"\\s*:\\s*true");
+    
+    private PreflightChecks() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Runs all preflight checks, stopping at the first failure
+     * 
+     * @return Description of the first failed check, or null if the environment is usable
+     */
+    public static String run() {
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        Duration timeout = Duration.ofSeconds(config.getPreflightTimeoutSeconds());
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        long startTime = System.currentTimeMillis();
+        
+        List<String> passed = new ArrayList<>();
+        String failure = checkBaseUrl(client, config.getBaseUrl(), timeout);
+        if (failure == null) {
+            passed.add("base url");
+            if (config.isUseGrid()) {
+                failure = checkGrid(client, config.getGridUrl(), timeout);
+                if (failure == null) {
+                    passed.add("grid");
+                }
+            }
+        }
+        if (failure == null) {
+            failure = checkDriver(timeout);
+            if (failure == null) {
+                passed.add("browser session");
+            }
+        }
+        
+        if (failure == null) {
+            log.info("Preflight checks passed ({}) in {} ms", String.join(", ", passed),
+                    System.currentTimeMillis() - startTime);
+        } else {
+            log.error("Preflight check failed after {} ms: {}", System.currentTimeMillis() - startTime, failure);
+        }
+        return failure;
+    }
+    
+    private static String checkBaseUrl(HttpClient client, String baseUrl, Duration timeout) {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl)).timeout(timeout).GET()
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                return "base url " + baseUrl + " returned HTTP " + response.statusCode();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "base url check interrupted";
+        } catch (Exception e) {
+            return "base url " + baseUrl + " is not reachable (" + e + ")";
+        }
+    }
+    
+    private static String checkGrid(HttpClient client, String gridUrl, Duration timeout) {
+        String statusUrl = gridUrl.replaceAll("/+$", "").replaceAll("/wd/hub$", "") + "/status";
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(statusUrl)).timeout(timeout)
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200 || !GRID_READY.matcher(response.body()).find()) {
+                return "grid " + statusUrl + " is not ready (HTTP " + response.statusCode() + ")";
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "grid check interrupted";
+        } catch (Exception e) {
+            return "grid " + statusUrl + " is not reachable (" + e + ")";
+        }
+    }
+    
+    // Starting a session also warms up the WebDriverManager driver cache for the tests
+    private static String checkDriver(Duration timeout) {
+        // On a thread of its own, so a grid that hangs while creating the session cannot block the run.
+        // The driver lives in that thread's ThreadLocal and is quit there, also after a timeout.
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "preflight-driver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<?> session = executor.submit(() -> {
+            try {
+                DriverFactory.getDriver();
+            } finally {
+                DriverFactory.quitDriver();
+            }
+        });
+        executor.shutdown();
+        try {
+            session.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return null;
+        } catch (TimeoutException e) {
+            session.cancel(true);
+            return "browser session did not start within " + timeout.getSeconds() + " s";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            session.cancel(true);
+            return "browser session check interrupted";
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+            return "browser session could not be started (" + cause.getClass().getSimpleName() + ": "
+                    + String.valueOf(cause.getMessage()).split("\n", 2)[0] + ")";
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.test.automation.state;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.constants.SauceConstants;
+import com.test.automation.factory.DriverFactory;
+import com.test.automation.pages.CartPage;
+import com.test.automation.pages.CheckoutInformationPage;
+import com.test.automation.pages.CheckoutOverviewPage;
+import io.qameta.allure.Step;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the application's client-side state and deep-links to a journey stage.
+ * SauceDemo keeps its session in the session-username cookie and the cart in the cart-contents
+ * localStorage entry, so a test can start on the cart or a checkout step in a single navigation
+ * instead of logging in, adding products one by one and clicking through.
+ * 
+ * Usage: new StateSeeder(SauceConstants.STANDARD_USER).withCart(SauceConstants.PRODUCT_BACKPACK).openCart()
+ */
+@Slf4j
+public class StateSeeder {
+    
+    private static final long SESSION_MINUTES = 10;
+    private static final Map<String, Integer> PRODUCT_IDS = new HashMap<>();
+    
+    static {
+        PRODUCT_IDS.put(SauceConstants.PRODUCT_BIKE_LIGHT, 0);
+        PRODUCT_IDS.put(SauceConstants.PRODUCT_BOLT_T_SHIRT, 1);
+        PRODUCT_IDS.put(SauceConstants.PRODUCT_ONESIE, 2);
+        PRODUCT_IDS.put(SauceConstants.PRODUCT_RED_T_SHIRT, 3);
+        PRODUCT_IDS.put(SauceConstants.PRODUCT_BACKPACK, 4);
+        PRODUCT_IDS.put(SauceConstants.PRODUCT_FLEECE_JACKET, 5);
+    }
+    
+    private final String username;
+    private final List<Integer> cart = new ArrayList<>();
+    
+    /**
+     * Creates a seeder for a session of the given user
+     * 
+     * @param username User the session belongs to
+     */
+    public StateSeeder(String username) {
+        this.username = username;
+    }
+    
+    /**
+     * Adds products to the seeded cart
+     * 
+     * @param productNames Product names, see the PRODUCT_ constants in SauceConstants
+     * @return StateSeeder instance for method chaining
+     */
+    public StateSeeder withCart(String... productNames) {
+        for (String productName : productNames) {
+            Integer id = PRODUCT_IDS.get(productName);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown product: " + productName);
+            }
+            cart.add(id);
+        }
+        return this;
+    }
+    
+    /**
+     * Seeds the state and opens the cart page
+     * 
+     * @return CartPage instance
+     */
+    @Step("Open cart with seeded state")
+    public CartPage openCart() {
+        seedAndOpen(SauceConstants.CART_PAGE);
+        return new CartPage();
+    }
+    
+    /**
+     * Seeds the state and opens the first checkout step (customer information)
+     * 
+     * @return CheckoutInformationPage instance
+     */
+    @Step("Open checkout information with seeded state")
+    public CheckoutInformationPage openCheckoutInformation() {
+        seedAndOpen(SauceConstants.CHECKOUT_STEP_ONE);
+        return new CheckoutInformationPage();
+    }
+    
+    /**
+     * Seeds the state and opens the second checkout step (order overview)
+     * 
+     * @return CheckoutOverviewPage instance
+     */
+    @Step("Open checkout overview with seeded state")
+    public CheckoutOverviewPage openCheckoutOverview() {
+        seedAndOpen(SauceConstants.CHECKOUT_STEP_TWO);
+        return new CheckoutOverviewPage();
+    }
+    
+    // Cookies and storage can only be written for the current origin, so the session must be on base.url
+    private void seedAndOpen(String page) {
+        WebDriver driver = DriverFactory.getDriver();
+        String baseUrl = FrameworkConfig.getInstance().getBaseUrl().replaceAll("/+$", "");
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+        }
+        
+        driver.manage().deleteCookieNamed(SauceConstants.SESSION_COOKIE);
+        driver.manage().addCookie(new Cookie.Builder(SauceConstants.SESSION_COOKIE, username)
+                .path("/")
+                .expiresOn(new Date(System.currentTimeMillis() + SESSION_MINUTES * 60_000))
+                .build());
+        String cartContents = cart.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+        ((JavascriptExecutor) driver).executeScript(
+                "window.localStorage.setItem(arguments[0], arguments[1]);", SauceConstants.CART_STORAGE_KEY, cartContents);
+        
+        log.info("Seeded session of {} with cart {}, opening {}", username, cartContents, page);
+        driver.get(baseUrl + "/" + page);
+    }
+}
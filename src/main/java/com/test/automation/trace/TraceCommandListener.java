@@ -0,0 +1,37 @@
+package com.test.automation.trace;
+
+import com.test.automation.perf.CommandLatencyRecorder;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * WebDriver listener that records every WebDriver command as a trace span, nested in the step or test
+ * that sent it
+ */
+public class TraceCommandListener implements WebDriverListener {
+    
+    private final TraceRecorder recorder = TraceRecorder.getInstance();
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (CommandLatencyRecorder.isCommand(method)) {
+            recorder.begin(CommandLatencyRecorder.commandName(target, method), "command", null);
+        }
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (CommandLatencyRecorder.isCommand(method)) {
+            recorder.end(null);
+        }
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (CommandLatencyRecorder.isCommand(method)) {
+            recorder.end(e.getTargetException().getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.test.automation.trace;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.perf.PageTimingCollector;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records tests, Allure steps and WebDriver commands as nested spans and streams them to a trace file
+ * in the Chrome trace event format (JSON array of complete events), which Perfetto or chrome://tracing
+ * open offline. Spans nest per thread; each span carries its id and the id of its parent span, and
+ * each thread is named after the thread that ran it. Events are written as their spans end, and the
+ * format allows a missing closing bracket, so the file of an aborted run is still readable.
+ */
+@Slf4j
+public class TraceRecorder {
+    
+    public static final String TRACE_FILE = "trace.json";
+    
+    private static TraceRecorder instance;
+    
+    private final boolean enabled;
+    private final Path traceFile;
+    private final Json json = new Json();
+    private final AtomicLong spanIds = new AtomicLong();
+    private final long originNanos = System.nanoTime();
+    private final long originMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private final ThreadLocal<Deque<Span>> openSpans = new ThreadLocal<>();
+    private BufferedWriter writer;
+    private int events;
+    private boolean closed;
+    
+    private TraceRecorder(FrameworkConfig config) {
+        enabled = config.isTraceEnabled();
+        traceFile = config.getTraceFile().isEmpty() ? PageTimingCollector.getPerfDir().resolve(TRACE_FILE)
+                : Paths.get(config.getTraceFile());
+    }
+    
+    /**
+     * Gets the singleton instance of TraceRecorder
+     * 
+     * @return TraceRecorder instance
+     */
+    public static synchronized TraceRecorder getInstance() {
+        if (instance == null) {
+            instance = new TraceRecorder(FrameworkConfig.getInstance());
+        }
+        return instance;
+    }
+    
+    /**
+     * Checks whether spans are recorded (trace.enabled)
+     * 
+     * @return true if tracing is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Opens a span on the current thread, as a child of the innermost open span of the thread
+     * 
+     * @param name Span name
+     * @param category Span category, e.g. test, step or command
+     * @param attributes Attributes added to the span's args, may be null
+     */
+    public void begin(String name, String category, Map<String, Object> attributes) {
+        if (!enabled) {
+            return;
+        }
+        Deque<Span> spans = openSpans.get();
+        if (spans == null) {
+            spans = new ArrayDeque<>();
+            openSpans.set(spans);
+            writeThreadName();
+        }
+        Span parent = spans.peek();
+        spans.push(new Span(spanIds.incrementAndGet(), parent == null ? 0 : parent.id, name, category, attributes,
+                System.nanoTime()));
+    }
+    
+    /**
+     * Closes the innermost open span of the current thread and writes it to the trace file
+     * 
+     * @param status Outcome added to the span's args, may be null
+     */
+    public void end(String status) {
+        Deque<Span> spans = openSpans.get();
+        Span span = spans == null ? null : spans.poll();
+        if (span == null) {
+            return;
+        }
+        long endNanos = System.nanoTime();
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("spanId", span.id);
+        if (span.parentId != 0) {
+            args.put("parentId", span.parentId);
+        }
+        if (status != null) {
+            args.put("status", status);
+        }
+        if (span.attributes != null) {
+            args.putAll(span.attributes);
+        }
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", span.name);
+        event.put("cat", span.category);
+        event.put("ph", "X");
+        event.put("ts", toMicros(span.startNanos));
+        event.put("dur", Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - span.startNanos)));
+        event.put("pid", 1);
+        event.put("tid", Thread.currentThread().getId());
+        event.put("args", args);
+        write(event);
+    }
+    
+    /**
+     * Closes the innermost open spans of the current thread until only the given number are left,
+     * e.g. spans of steps or commands that a failing test left open
+     * 
+     * @param depth Number of open spans to keep
+     * @param status Outcome added to the closed spans
+     */
+    public void endTo(int depth, String status) {
+        while (getDepth() > depth) {
+            end(status);
+        }
+    }
+    
+    /**
+     * Gets the number of open spans of the current thread
+     * 
+     * @return Open span count
+     */
+    public int getDepth() {
+        Deque<Span> spans = openSpans.get();
+        return spans == null ? 0 : spans.size();
+    }
+    
+    /**
+     * Closes the trace file. Spans that end later are dropped.
+     */
+    public synchronized void close() {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.write("\n]\n");
+            writer.close();
+            log.info("Wrote {} trace events to {}", events, traceFile);
+        } catch (IOException e) {
+            log.warn("Could not finish trace file {}: {}", traceFile, e.getMessage());
+        }
+    }
+    
+    private void writeThreadName() {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", "thread_name");
+        event.put("ph", "M");
+        event.put("pid", 1);
+        event.put("tid", Thread.currentThread().getId());
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("name", Thread.currentThread().getName());
+        event.put("args", args);
+        write(event);
+    }
+    
+    private synchronized void write(Map<String, Object> event) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                Files.createDirectories(traceFile.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(traceFile, StandardCharsets.UTF_8);
+                writer.write("[\n");
+            } else {
+                writer.write(",\n");
+            }
+            StringBuilder line = new StringBuilder();
+            try (JsonOutput output = json.newOutput(line)) {
+                output.setPrettyPrint(false).write(event);
+            }
+            writer.write(line.toString());
+            events++;
+        } catch (IOException e) {
+            log.warn("Could not write trace event to {}: {}", traceFile, e.getMessage());
+        }
+    }
+    
+    private long toMicros(long nanos) {
+        return originMicros + TimeUnit.NANOSECONDS.toMicros(nanos - originNanos);
+    }
+    
+    private static class Span {
+        
+        private final long id;
+        private final long parentId;
+        private final String name;
+        private final String category;
+        private final Map<String, Object> attributes;
+        private final long startNanos;
+        
+        private Span(long id, long parentId, String name, String category, Map<String, Object> attributes,
+                long startNanos) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.category = category;
+            this.attributes = attributes;
+            this.startNanos = startNanos;
+        }
+    }
+}
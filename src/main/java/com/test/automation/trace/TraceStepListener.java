@@ -0,0 +1,21 @@
+package com.test.automation.trace;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Allure lifecycle listener that records {@code @Step} methods as trace spans.
+ * Registered through META-INF/services/io.qameta.allure.listener.LifecycleListener.
+ */
+public class TraceStepListener implements StepLifecycleListener {
+    
+    @Override
+    public void beforeStepStart(StepResult result) {
+        TraceRecorder.getInstance().begin(result.getName(), "step", null);
+    }
+    
+    @Override
+    public void afterStepStop(StepResult result) {
+        TraceRecorder.getInstance().end(result.getStatus() == null ? null : result.getStatus().value());
+    }
+}
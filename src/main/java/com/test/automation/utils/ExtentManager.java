@@ -1,12 +1,17 @@
 package com.test.automation.utils;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.test.automation.config.FrameworkConfig;
+import com.test.automation.jfr.FrameworkEvents;
+import com.test.automation.jfr.ReportFlushEvent;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -17,7 +22,9 @@ import java.time.format.DateTimeFormatter;
 public class ExtentManager {
     
     private static final String REPORT_DIR = "test-output/extent-reports";
+    private static final String STREAMING_MODE = "streaming";
     private static ExtentReports extent;
+    private static StreamingReportWriter streamingWriter;
     
     private ExtentManager() {
         // Private constructor to prevent instantiation
@@ -35,6 +42,64 @@ public class ExtentManager {
         return extent;
     }
     
+    /**
+     * Marks a test as finished.
+     * In streaming mode the test is written to disk and released from the in-memory report.
+     * 
+     * @param test The finished ExtentTest
+     */
+    public static synchronized void completeTest(ExtentTest test) {
+        if (test == null || streamingWriter == null) {
+            return;
+        }
+        ReportFlushEvent event = new ReportFlushEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
+        try {
+            streamingWriter.append(test.getModel());
+            extent.removeTest(test);
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitFlushEvent(event, "completeTest", outcome);
+        }
+    }
+    
+    /**
+     * Writes the report to disk. Should be called once, at the end of the suite.
+     */
+    public static synchronized void flush() {
+        if (extent == null) {
+            return;
+        }
+        ReportFlushEvent event = new ReportFlushEvent();
+        event.begin();
+        String outcome = FrameworkEvents.SUCCESS;
+        try {
+            if (streamingWriter != null) {
+                streamingWriter.finish();
+            } else {
+                extent.flush();
+            }
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitFlushEvent(event, "flush", outcome);
+        }
+    }
+    
+    private static void commitFlushEvent(ReportFlushEvent event, String operation, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.mode = streamingWriter != null ? STREAMING_MODE : "spark";
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+    
     /**
      * Creates a new ExtentReports instance
      * 
@@ -51,27 +116,45 @@ public class ExtentManager {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
         String reportFilePath = REPORT_DIR + "/TestReport_" + timestamp + ".html";
         
-        // Configure the report
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFilePath);
-        sparkReporter.config().setDocumentTitle("Automation Test Report");
-        sparkReporter.config().setReportName("UI Automation Test Results");
-        sparkReporter.config().setTheme(Theme.STANDARD);
-        sparkReporter.config().setEncoding("UTF-8");
-        sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
-        
-        // Create and configure ExtentReports
+        FrameworkConfig config = FrameworkConfig.getInstance();
         extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
+        
+        if (STREAMING_MODE.equalsIgnoreCase(config.getReportMode())) {
+            try {
+                streamingWriter = new StreamingReportWriter(Paths.get(reportFilePath));
+            } catch (IOException e) {
+                log.error("Failed to create streaming report writer, falling back to Spark reporter", e);
+            }
+        }
+        
+        if (streamingWriter == null) {
+            // Configure the report
+            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFilePath);
+            sparkReporter.config().setDocumentTitle("Automation Test Report");
+            sparkReporter.config().setReportName("UI Automation Test Results");
+            sparkReporter.config().setTheme(Theme.STANDARD);
+            sparkReporter.config().setEncoding("UTF-8");
+            sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
+            extent.attachReporter(sparkReporter);
+        }
         
         // Add system info
-        FrameworkConfig config = FrameworkConfig.getInstance();
-        extent.setSystemInfo("Browser", config.getBrowser());
-        extent.setSystemInfo("Operating System", System.getProperty("os.name"));
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        extent.setSystemInfo("Environment", config.getBaseUrl());
+        setSystemInfo("Browser", config.getBrowser());
+        setSystemInfo("Operating System", System.getProperty("os.name"));
+        setSystemInfo("Java Version", System.getProperty("java.version"));
+        setSystemInfo("Environment", config.getBaseUrl());
         
-        log.info("Extent Report initialized at: {}", reportFilePath);
+        log.info("Extent Report initialized at: {} (mode: {})", reportFilePath,
+                streamingWriter != null ? STREAMING_MODE : "spark");
         
         return extent;
     }
-} 
\ No newline at end of file
+    
+    private static void setSystemInfo(String key, String value) {
+        if (streamingWriter != null) {
+            streamingWriter.setSystemInfo(key, value);
+        } else {
+            extent.setSystemInfo(key, value);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.test.automation.utils;
 
 import com.test.automation.config.FrameworkConfig;
 import com.test.automation.factory.DriverFactory;
+import com.test.automation.jfr.FrameworkEvents;
+import com.test.automation.jfr.ScreenshotEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
@@ -34,7 +36,22 @@ public class ScreenshotUtils {
     public static byte[] takeScreenshot() {
         log.debug("Taking screenshot");
         WebDriver driver = DriverFactory.getDriver();
-        return driver != null ? ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES) : null;
+        if (driver == null) {
+            return null;
+        }
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        byte[] screenshot = null;
+        String outcome = FrameworkEvents.SUCCESS;
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            return screenshot;
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitScreenshotEvent(event, screenshot, outcome);
+        }
     }
     
     /**
@@ -50,6 +67,10 @@ public class ScreenshotUtils {
             return null;
         }
         
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        byte[] screenshotBytes = null;
+        String outcome = FrameworkEvents.SUCCESS;
         try {
             // Create screenshots directory if it doesn't exist
             Path screenshotDir = Paths.get(config.getScreenshotDir());
@@ -63,15 +84,31 @@ public class ScreenshotUtils {
             Path screenshotPath = screenshotDir.resolve(screenshotFileName);
             
             // Take and save screenshot
-            byte[] screenshotBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            screenshotBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
             Files.write(screenshotPath, screenshotBytes);
             
             log.info("Screenshot saved to: {}", screenshotPath);
             return screenshotPath.toString();
             
         } catch (IOException e) {
+            outcome = FrameworkEvents.outcome(e);
             log.error("Failed to save screenshot", e);
             return null;
+        } catch (RuntimeException e) {
+            outcome = FrameworkEvents.outcome(e);
+            throw e;
+        } finally {
+            commitScreenshotEvent(event, screenshotBytes, outcome);
+        }
+    }
+    
+    private static void commitScreenshotEvent(ScreenshotEvent event, byte[] screenshot, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = ScreenshotUtils.class.getSimpleName();
+            event.size = screenshot == null ? 0 : screenshot.length;
+            event.outcome = outcome;
+            event.commit();
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.test.automation.utils;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Category;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.ScreenCapture;
+import com.aventstack.extentreports.model.Test;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Report writer that streams each finished test to disk as an HTML chunk.
+ * Only a small index entry per test is kept in memory; the final report is
+ * assembled once at the end of the suite by wrapping the chunks in an HTML shell.
+ */
+@Slf4j
+public class StreamingReportWriter {
+    
+    private final Path reportFile;
+    private final Path chunkFile;
+    private final Writer chunkWriter;
+    private final List<IndexEntry> index = new ArrayList<>();
+    private final Map<String, String> systemInfo = new LinkedHashMap<>();
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private final Date suiteStart = new Date();
+    private boolean finished;
+    
+    /**
+     * Creates a writer for the given report file
+     * 
+     * @param reportFile Path of the final HTML report
+     * @throws IOException if the chunk file cannot be created
+     */
+    public StreamingReportWriter(Path reportFile) throws IOException {
+        this.reportFile = reportFile;
+        this.chunkFile = reportFile.resolveSibling(reportFile.getFileName() + ".chunks");
+        this.chunkWriter = Files.newBufferedWriter(chunkFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+    
+    /**
+     * Adds an entry to the environment table of the report
+     * 
+     * @param key Name of the entry
+     * @param value Value of the entry
+     */
+    public synchronized void setSystemInfo(String key, String value) {
+        systemInfo.put(key, value);
+    }
+    
+    /**
+     * Renders a finished test as an HTML chunk and appends it to disk
+     * 
+     * @param test Extent model of the finished test
+     */
+    public synchronized void append(Test test) {
+        if (finished) {
+            log.warn("Report already finished, dropping test: {}", test.getName());
+            return;
+        }
+        String anchor = "test-" + (index.size() + 1);
+        String categories = test.getCategorySet().stream()
+                .map(Category::getName)
+                .collect(Collectors.joining(", "));
+        
+        StringBuilder html = new StringBuilder(1024);
+        html.append("<section class=\"test ").append(statusClass(test.getStatus()))
+                .append("\" id=\"").append(anchor).append("\">\n");
+        html.append("<h3>").append(escape(test.getName()))
+                .append(" <span class=\"badge\">").append(test.getStatus()).append("</span></h3>\n");
+        if (test.getDescription() != null && !test.getDescription().isEmpty()) {
+            html.append("<p class=\"desc\">").append(escape(test.getDescription())).append("</p>\n");
+        }
+        html.append("<p class=\"meta\">").append(escape(categories)).append(" | ")
+                .append(timeFormat.format(test.getStartTime())).append(" | ")
+                .append(test.timeTakenPretty()).append("</p>\n");
+        html.append("<table class=\"logs\">\n");
+        for (Log entry : test.getLogs()) {
+            html.append("<tr class=\"").append(statusClass(entry.getStatus())).append("\"><td>")
+                    .append(entry.getStatus()).append("</td><td>")
+                    .append(timeFormat.format(entry.getTimestamp())).append("</td><td>");
+            if (entry.getDetails() != null) {
+                // Details are produced by Extent's MarkupHelper and are already HTML
+                html.append(entry.getDetails());
+            }
+            if (entry.hasException()) {
+                html.append("<pre>").append(escape(entry.getException().getStackTrace())).append("</pre>");
+            }
+            if (entry.hasMedia()) {
+                appendMedia(html, entry.getMedia());
+            }
+            html.append("</td></tr>\n");
+        }
+        html.append("</table>\n</section>\n");
+        
+        try {
+            chunkWriter.write(html.toString());
+            chunkWriter.flush();
+            index.add(new IndexEntry(anchor, test.getName(), categories, test.getStatus(), test.timeTaken()));
+        } catch (IOException e) {
+            log.error("Failed to append test '{}' to report chunk file", test.getName(), e);
+        }
+    }
+    
+    /**
+     * Builds the final HTML report from the index and the chunk file.
+     * Subsequent calls have no effect.
+     */
+    public synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            chunkWriter.close();
+            try (OutputStream out = Files.newOutputStream(reportFile)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writeHeader(writer);
+                writer.flush();
+                Files.copy(chunkFile, out);
+                writer.write("</main>\n</body>\n</html>\n");
+                writer.flush();
+            }
+            Files.deleteIfExists(chunkFile);
+            log.info("Streaming report written with {} tests: {}", index.size(), reportFile);
+        } catch (IOException e) {
+            log.error("Failed to assemble streaming report: {}", reportFile, e);
+        }
+    }
+    
+    private void writeHeader(Writer writer) throws IOException {
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        for (IndexEntry entry : index) {
+            counts.merge(entry.status, 1, Integer::sum);
+        }
+        
+        writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n");
+        writer.write("<title>Automation Test Report</title>\n");
+        writer.write("<style>\n"
+                + "body{font-family:sans-serif;margin:0;background:#f5f6fa;color:#333}\n"
+                + "header,main{padding:16px 24px}header{background:#2d3e50;color:#fff}\n"
+                + "table{border-collapse:collapse;width:100%;background:#fff}td,th{border:1px solid #ddd;padding:4px 8px;text-align:left;vertical-align:top}\n"
+                + ".test{background:#fff;margin:16px 0;padding:8px 16px;border-left:6px solid #999}\n"
+                + ".pass{border-color:#2ecc71}.fail{border-color:#e74c3c}.skip{border-color:#f1c40f}.warning{border-color:#e67e22}\n"
+                + "tr.pass td:first-child{color:#2ecc71}tr.fail td:first-child{color:#e74c3c}tr.skip td:first-child{color:#c9a400}\n"
+                + ".badge{font-size:12px;padding:2px 6px;background:#eee;border-radius:4px}.meta,.desc{color:#777;margin:4px 0}\n"
+                + "pre{white-space:pre-wrap;font-size:12px}img{max-width:640px;display:block}\n"
+                + "</style>\n</head>\n<body>\n");
+        writer.write("<header><h1>UI Automation Test Results</h1><p>Started "
+                + timeFormat.format(suiteStart) + " | Finished " + timeFormat.format(new Date()) + "</p></header>\n");
+        writer.write("<main>\n<h2>Summary</h2>\n<table>\n<tr>");
+        writer.write("<th>Tests</th>");
+        for (Status status : counts.keySet()) {
+            writer.write("<th>" + status + "</th>");
+        }
+        writer.write("</tr>\n<tr><td>" + index.size() + "</td>");
+        for (Integer count : counts.values()) {
+            writer.write("<td>" + count + "</td>");
+        }
+        writer.write("</tr>\n</table>\n");
+        
+        writer.write("<h2>Environment</h2>\n<table>\n");
+        for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+            writer.write("<tr><th>" + escape(info.getKey()) + "</th><td>" + escape(info.getValue()) + "</td></tr>\n");
+        }
+        writer.write("</table>\n");
+        
+        writer.write("<h2>Tests</h2>\n<table>\n<tr><th>Test</th><th>Category</th><th>Status</th><th>Duration (ms)</th></tr>\n");
+        for (IndexEntry entry : index) {
+            writer.write("<tr class=\"" + statusClass(entry.status) + "\"><td><a href=\"#" + entry.anchor + "\">"
+                    + escape(entry.name) + "</a></td><td>" + escape(entry.categories) + "</td><td>"
+                    + entry.status + "</td><td>" + entry.durationMillis + "</td></tr>\n");
+        }
+        writer.write("</table>\n<h2>Details</h2>\n");
+    }
+    
+    private void appendMedia(StringBuilder html, Media media) {
+        if (media instanceof ScreenCapture && ((ScreenCapture) media).getBase64() != null) {
+            String base64 = ((ScreenCapture) media).getBase64();
+            if (!base64.startsWith("data:")) {
+                base64 = "data:image/png;base64," + base64;
+            }
+            html.append("<img src=\"").append(base64).append("\" alt=\"screenshot\">");
+        } else if (media.getPath() != null) {
+            html.append("<img src=\"").append(escape(media.getPath())).append("\" alt=\"screenshot\">");
+        }
+    }
+    
+    private static String statusClass(Status status) {
+        return status == null ? "" : status.toLower();
+    }
+    
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+    
+    /**
+     * Lightweight per-test summary retained in memory until the report is assembled
+     */
+    private static final class IndexEntry {
+        private final String anchor;
+        private final String name;
+        private final String categories;
+        private final Status status;
+        private final long durationMillis;
+        
+        private IndexEntry(String anchor, String name, String categories, Status status, long durationMillis) {
+            this.anchor = anchor;
+            this.name = name;
+            this.categories = categories;
+            this.status = status;
+            this.durationMillis = durationMillis;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+/*
+ * Local replica of the SauceDemo pages for offline runs (OfflineServer). Renders each page from the
+ * product catalog below with the ids, classes and data-test attributes the page objects use. Like the
+ * real site, the session is the session-username cookie and the cart is the cart-contents
+ * localStorage entry (a JSON array of product ids), so the login state cache and StateSeeder work
+ * unchanged.
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user',
+        'visual_user'];
+    // performance_glitch_user logs in slowly on the real site as well
+    var GLITCH_DELAY_MS = 1500;
+    var TAX_RATE = 0.08;
+
+    var PRODUCTS = [
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: 'A red light isn\'t the desired state in testing but it sure helps when riding your bike at night. '
+                + 'Water-resistant with 3 lighting modes, 1 AAA battery included.'},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% '
+                + 'ringspun combed cotton, heather gray with red bolt.'},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: 'Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap '
+                + 'bottom closure, two-needle hemmed sleeved and bottom won\'t unravel.'},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate '
+                + 'a few tests. Super-soft and comfy ringspun combed cotton.'},
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with '
+                + 'unequaled laptop and tablet protection.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: 'It\'s not every day that you come across a midweight quarter-zip fleece jacket capable of '
+                + 'handling everything from a relaxing day outdoors to a busy day at the office.'}
+    ];
+
+    var SORTS = {
+        az: function (a, b) { return a.name.localeCompare(b.name); },
+        za: function (a, b) { return b.name.localeCompare(a.name); },
+        lohi: function (a, b) { return a.price - b.price; },
+        hilo: function (a, b) { return b.price - a.price; }
+    };
+
+    var root = document.getElementById('root');
+    var page = root.getAttribute('data-page');
+    var sort = 'az';
+    var menuOpen = false;
+
+    // ---- State ----
+
+    function sessionUser() {
+        var match = document.cookie.match(/(?:^|;\s*)session-username=([^;]*)/);
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function cart() {
+        try {
+            var ids = JSON.parse(window.localStorage.getItem('cart-contents') || '[]');
+            return Array.isArray(ids) ? ids : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length === 0) {
+            window.localStorage.removeItem('cart-contents');
+        } else {
+            window.localStorage.setItem('cart-contents', JSON.stringify(ids));
+        }
+    }
+
+    function inCart(id) {
+        return cart().indexOf(id) >= 0;
+    }
+
+    function toggleCart(id) {
+        var ids = cart();
+        var index = ids.indexOf(id);
+        if (index >= 0) {
+            ids.splice(index, 1);
+        } else {
+            ids.push(id);
+        }
+        saveCart(ids);
+        render();
+    }
+
+    function product(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function go(target) {
+        window.location.href = target;
+    }
+
+    // ---- Markup helpers ----
+
+    function el(tag, attributes, children) {
+        var element = document.createElement(tag);
+        Object.keys(attributes || {}).forEach(function (name) {
+            if (name === 'onclick' || name === 'onchange') {
+                element[name] = attributes[name];
+            } else {
+                element.setAttribute(name, attributes[name]);
+            }
+        });
+        (children || []).forEach(function (child) {
+            if (child !== null) {
+                element.appendChild(typeof child === 'string' ? document.createTextNode(child) : child);
+            }
+        });
+        return element;
+    }
+
+    function slug(item) {
+        return item.name.toLowerCase().replace(/ /g, '-');
+    }
+
+    function price(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function cartButton(item) {
+        var added = inCart(item.id);
+        var id = (added ? 'remove-' : 'add-to-cart-') + slug(item);
+        return el('button', {
+            'class': 'btn btn_small btn_inventory ' + (added ? 'btn_secondary' : 'btn_primary'),
+            id: id, name: id, 'data-test': id,
+            onclick: function () { toggleCart(item.id); }
+        }, [added ? 'Remove' : 'Add to cart']);
+    }
+
+    function errorBox(message) {
+        return el('div', {'class': 'error-message-container' + (message ? ' error' : '')}, [
+            message ? el('h3', {'data-test': 'error'}, [message]) : null
+        ]);
+    }
+
+    function header(title, extra) {
+        var count = cart().length;
+        var menu = el('div', menuOpen ? {'class': 'bm-menu-wrap'} : {'class': 'bm-menu-wrap', hidden: 'hidden'}, [
+            el('nav', {'class': 'bm-item-list'}, [
+                el('a', {id: 'inventory_sidebar_link', 'class': 'bm-item menu-item', href: 'inventory.html'},
+                    ['All Items']),
+                el('a', {id: 'about_sidebar_link', 'class': 'bm-item menu-item', href: 'https://saucelabs.com/'},
+                    ['About']),
+                el('a', {id: 'logout_sidebar_link', 'class': 'bm-item menu-item', href: '#', onclick: function () {
+                    document.cookie = 'session-username=; path=/; max-age=0';
+                    go('./');
+                    return false;
+                }}, ['Logout']),
+                el('a', {id: 'reset_sidebar_link', 'class': 'bm-item menu-item', href: '#', onclick: function () {
+                    saveCart([]);
+                    render();
+                    return false;
+                }}, ['Reset App State'])
+            ]),
+            el('button', {id: 'react-burger-cross-btn', type: 'button', onclick: function () {
+                menuOpen = false;
+                menu.hidden = true;
+            }}, ['Close Menu'])
+        ]);
+        return el('div', {id: 'header_container', 'class': 'header_container'}, [
+            el('div', {'class': 'primary_header'}, [
+                el('div', {id: 'menu_button_container'}, [
+                    el('button', {id: 'react-burger-menu-btn', type: 'button', onclick: function () {
+                        menuOpen = true;
+                        menu.hidden = false;
+                    }}, ['Open Menu']),
+                    menu
+                ]),
+                el('div', {'class': 'header_label'}, [el('div', {'class': 'app_logo'}, ['Swag Labs'])]),
+                el('div', {id: 'shopping_cart_container', 'class': 'shopping_cart_container'}, [
+                    el('a', {'class': 'shopping_cart_link', 'data-test': 'shopping-cart-link', href: 'cart.html'}, [
+                        count > 0 ? el('span', {'class': 'shopping_cart_badge', 'data-test': 'shopping-cart-badge'},
+                            [String(count)]) : null
+                    ])
+                ])
+            ]),
+            el('div', {'class': 'header_secondary_container'}, [
+                el('span', {'class': 'title', 'data-test': 'title'}, [title]),
+                extra || null
+            ])
+        ]);
+    }
+
+    function cartList(ids, removable) {
+        var items = ids.map(product).filter(function (item) { return item !== null; }).map(function (item) {
+            return el('div', {'class': 'cart_item', 'data-test': 'inventory-item'}, [
+                el('div', {'class': 'cart_quantity'}, ['1']),
+                el('div', {'class': 'cart_item_label'}, [
+                    el('a', {id: 'item_' + item.id + '_title_link', href: 'inventory-item.html?id=' + item.id}, [
+                        el('div', {'class': 'inventory_item_name'}, [item.name])
+                    ]),
+                    el('div', {'class': 'inventory_item_desc'}, [item.desc]),
+                    el('div', {'class': 'item_pricebar'}, [
+                        el('div', {'class': 'inventory_item_price'}, [price(item.price)]),
+                        removable ? cartButton(item) : null
+                    ])
+                ])
+            ]);
+        });
+        return el('div', {'class': 'cart_list', 'data-test': 'cart-list'}, [
+            el('div', {'class': 'cart_quantity_label'}, ['QTY']),
+            el('div', {'class': 'cart_desc_label'}, ['Description'])
+        ].concat(items));
+    }
+
+    // ---- Pages ----
+
+    function loginPage() {
+        var message = window.sessionStorage.getItem('offline-login-error');
+        window.sessionStorage.removeItem('offline-login-error');
+        var username = el('input', {id: 'user-name', name: 'user-name', 'data-test': 'username', type: 'text',
+            placeholder: 'Username', autocomplete: 'off'});
+        var password = el('input', {id: 'password', name: 'password', 'data-test': 'password', type: 'password',
+            placeholder: 'Password', autocomplete: 'off'});
+        var form = el('form', {}, [
+            username,
+            password,
+            errorBox(message),
+            el('input', {id: 'login-button', name: 'login-button', 'data-test': 'login-button', type: 'submit',
+                'class': 'submit-button btn_action', value: 'Login'})
+        ]);
+        form.onsubmit = function (event) {
+            event.preventDefault();
+            var error = null;
+            if (!username.value) {
+                error = 'Epic sadface: Username is required';
+            } else if (!password.value) {
+                error = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(username.value) < 0 || password.value !== PASSWORD) {
+                error = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (username.value === 'locked_out_user') {
+                error = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+            // LoginPage waits for either the inventory URL or an error, so a previous error must go first
+            form.replaceChild(errorBox(error), form.querySelector('.error-message-container'));
+            if (error) {
+                return;
+            }
+            document.cookie = 'session-username=' + encodeURIComponent(username.value) + '; path=/';
+            var delay = username.value === 'performance_glitch_user' ? GLITCH_DELAY_MS : 0;
+            window.setTimeout(function () { go('inventory.html'); }, delay);
+        };
+        return el('div', {'class': 'login_container'}, [
+            el('div', {'class': 'login_logo'}, ['Swag Labs']),
+            el('div', {'class': 'login_wrapper'}, [el('div', {id: 'login_button_container'}, [form])])
+        ]);
+    }
+
+    function inventoryPage() {
+        var select = el('select', {'class': 'product_sort_container', 'data-test': 'product-sort-container',
+            onchange: function () {
+                sort = select.value;
+                render();
+            }}, [
+            el('option', {value: 'az'}, ['Name (A to Z)']),
+            el('option', {value: 'za'}, ['Name (Z to A)']),
+            el('option', {value: 'lohi'}, ['Price (low to high)']),
+            el('option', {value: 'hilo'}, ['Price (high to low)'])
+        ]);
+        select.value = sort;
+        var items = PRODUCTS.slice().sort(SORTS[sort]).map(function (item) {
+            return el('div', {'class': 'inventory_item', 'data-test': 'inventory-item'}, [
+                el('div', {'class': 'inventory_item_description'}, [
+                    el('div', {'class': 'inventory_item_label'}, [
+                        el('a', {id: 'item_' + item.id + '_title_link', href: 'inventory-item.html?id=' + item.id}, [
+                            el('div', {'class': 'inventory_item_name', 'data-test': 'inventory-item-name'},
+                                [item.name])
+                        ]),
+                        el('div', {'class': 'inventory_item_desc'}, [item.desc])
+                    ]),
+                    el('div', {'class': 'pricebar'}, [
+                        el('div', {'class': 'inventory_item_price', 'data-test': 'inventory-item-price'},
+                            [price(item.price)]),
+                        cartButton(item)
+                    ])
+                ])
+            ]);
+        });
+        return [
+            header('Products', el('div', {'class': 'right_component'}, [select])),
+            el('div', {id: 'inventory_container', 'class': 'inventory_container'}, [
+                el('div', {'class': 'inventory_list'}, items)
+            ])
+        ];
+    }
+
+    function itemPage() {
+        var item = product(parseInt(new URLSearchParams(window.location.search).get('id'), 10));
+        var back = el('button', {id: 'back-to-products', 'class': 'btn btn_secondary back', onclick: function () {
+            go('inventory.html');
+        }}, ['Back to products']);
+        if (item === null) {
+            return [header('', back), el('div', {'class': 'inventory_details'}, ['ITEM NOT FOUND'])];
+        }
+        return [
+            header('', back),
+            el('div', {id: 'inventory_item_container', 'class': 'inventory_details'}, [
+                el('div', {'class': 'inventory_details_container'}, [
+                    el('div', {'class': 'inventory_details_desc_container'}, [
+                        el('div', {'class': 'inventory_details_name large_size'}, [item.name]),
+                        el('div', {'class': 'inventory_details_desc large_size'}, [item.desc]),
+                        el('div', {'class': 'inventory_details_price'}, [price(item.price)]),
+                        cartButton(item)
+                    ])
+                ])
+            ])
+        ];
+    }
+
+    function cartPage() {
+        return [
+            header('Your Cart'),
+            el('div', {id: 'cart_contents_container'}, [
+                cartList(cart(), true),
+                el('div', {'class': 'cart_footer'}, [
+                    el('button', {id: 'continue-shopping', 'class': 'btn btn_secondary back', onclick: function () {
+                        go('inventory.html');
+                    }}, ['Continue Shopping']),
+                    el('button', {id: 'checkout', 'class': 'btn btn_action checkout_button', onclick: function () {
+                        go('checkout-step-one.html');
+                    }}, ['Checkout'])
+                ])
+            ])
+        ];
+    }
+
+    function checkoutStepOnePage() {
+        var firstName = el('input', {id: 'first-name', 'data-test': 'firstName', type: 'text',
+            placeholder: 'First Name'});
+        var lastName = el('input', {id: 'last-name', 'data-test': 'lastName', type: 'text',
+            placeholder: 'Last Name'});
+        var postalCode = el('input', {id: 'postal-code', 'data-test': 'postalCode', type: 'text',
+            placeholder: 'Zip/Postal Code'});
+        var form = el('form', {}, [
+            el('div', {'class': 'checkout_info'}, [firstName, lastName, postalCode, errorBox(null)]),
+            el('div', {'class': 'checkout_buttons'}, [
+                el('button', {id: 'cancel', type: 'button', 'class': 'btn btn_secondary back cart_cancel_link',
+                    onclick: function () { go('cart.html'); }}, ['Cancel']),
+                el('input', {id: 'continue', 'data-test': 'continue', type: 'submit',
+                    'class': 'submit-button btn btn_primary', value: 'Continue'})
+            ])
+        ]);
+        form.onsubmit = function (event) {
+            event.preventDefault();
+            var error = !firstName.value ? 'Error: First Name is required'
+                : !lastName.value ? 'Error: Last Name is required'
+                    : !postalCode.value ? 'Error: Postal Code is required' : null;
+            if (error) {
+                var container = form.querySelector('.error-message-container');
+                container.parentNode.replaceChild(errorBox(error), container);
+                return;
+            }
+            go('checkout-step-two.html');
+        };
+        return [header('Checkout: Your Information'), el('div', {id: 'checkout_info_container'}, [form])];
+    }
+
+    function checkoutStepTwoPage() {
+        var ids = cart();
+        var subtotal = ids.map(product).reduce(function (sum, item) { return sum + (item ? item.price : 0); }, 0);
+        var tax = Math.round(subtotal * TAX_RATE * 100) / 100;
+        return [
+            header('Checkout: Overview'),
+            el('div', {id: 'checkout_summary_container'}, [
+                cartList(ids, false),
+                el('div', {'class': 'summary_info'}, [
+                    el('div', {'class': 'summary_subtotal_label', 'data-test': 'subtotal-label'},
+                        ['Item total: ' + price(subtotal)]),
+                    el('div', {'class': 'summary_tax_label', 'data-test': 'tax-label'}, ['Tax: ' + price(tax)]),
+                    el('div', {'class': 'summary_total_label', 'data-test': 'total-label'},
+                        ['Total: ' + price(subtotal + tax)]),
+                    el('div', {'class': 'cart_footer'}, [
+                        el('button', {id: 'cancel', 'class': 'btn btn_secondary back cart_cancel_link',
+                            onclick: function () { go('inventory.html'); }}, ['Cancel']),
+                        el('button', {id: 'finish', 'class': 'btn btn_action cart_button', onclick: function () {
+                            saveCart([]);
+                            go('checkout-complete.html');
+                        }}, ['Finish'])
+                    ])
+                ])
+            ])
+        ];
+    }
+
+    function checkoutCompletePage() {
+        return [
+            header('Checkout: Complete!'),
+            el('div', {id: 'checkout_complete_container', 'class': 'checkout_complete_container'}, [
+                el('h2', {'class': 'complete-header', 'data-test': 'complete-header'}, ['Thank you for your order!']),
+                el('div', {'class': 'complete-text', 'data-test': 'complete-text'},
+                    ['Your order has been dispatched, and will arrive just as fast as the pony can get there!']),
+                el('button', {id: 'back-to-products', 'class': 'btn btn_primary btn_small', onclick: function () {
+                    go('inventory.html');
+                }}, ['Back Home'])
+            ])
+        ];
+    }
+
+    var PAGES = {
+        'login': loginPage,
+        'inventory': inventoryPage,
+        'item': itemPage,
+        'cart': cartPage,
+        'checkout-step-one': checkoutStepOnePage,
+        'checkout-step-two': checkoutStepTwoPage,
+        'checkout-complete': checkoutCompletePage
+    };
+
+    function render() {
+        var content = PAGES[page]();
+        root.innerHTML = '';
+        (Array.isArray(content) ? content : [content]).forEach(function (node) {
+            root.appendChild(node);
+        });
+    }
+
+    if (page !== 'login' && sessionUser() === null) {
+        // Same guard as the real site: pages behind the login send the browser back to the login form
+        window.sessionStorage.setItem('offline-login-error', 'Epic sadface: You can only access \''
+            + window.location.pathname + '\' when you are logged in.');
+        window.location.replace('./');
+        return;
+    }
+    render();
+}());
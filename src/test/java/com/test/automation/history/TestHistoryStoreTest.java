@@ -0,0 +1,97 @@
+package com.test.automation.history;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the flakiness score and the quarantine gate of the test history
+ */
+public class TestHistoryStoreTest {
+    
+    private static final String REVISION_A = "1111111111111111111111111111111111111111";
+    private static final String REVISION_B = "2222222222222222222222222222222222222222";
+    
+    @Test(description = "A test without history is not flaky")
+    public void testEmptyHistory() {
+        Assert.assertEquals(TestHistoryStore.flakinessScore(Collections.emptyList()), 0.0);
+    }
+    
+    @Test(description = "A pass after a retry in the same run counts as flaky")
+    public void testPassedOnRetry() {
+        List<TestExecution> executions = List.of(
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_A, TestExecution.PASS, true),
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_B, TestExecution.FAIL, true));
+        
+        // Failing again on retry is not flaky
+        Assert.assertEquals(TestHistoryStore.flakinessScore(executions), 0.25);
+    }
+    
+    @Test(description = "Outcomes alternating on the same commit count as flaky")
+    public void testAlternationOnSameRevision() {
+        List<TestExecution> executions = List.of(
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_A, TestExecution.FAIL, false),
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_A, TestExecution.PASS, false));
+        
+        Assert.assertEquals(TestHistoryStore.flakinessScore(executions), 0.5);
+    }
+    
+    @Test(description = "A regression followed by its fix on a new commit is not flakiness")
+    public void testRegressionAndFix() {
+        List<TestExecution> executions = List.of(
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_B, TestExecution.FAIL, false),
+                execution(REVISION_B, TestExecution.FAIL, false),
+                execution("3333333333333333333333333333333333333333", TestExecution.PASS, false));
+        
+        Assert.assertEquals(TestHistoryStore.flakinessScore(executions), 0.0);
+    }
+    
+    @Test(description = "Alternations are compared per commit, even when runs of commits interleave")
+    public void testInterleavedRevisions() {
+        List<TestExecution> executions = List.of(
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_B, TestExecution.FAIL, false),
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_B, TestExecution.PASS, false));
+        
+        Assert.assertEquals(TestHistoryStore.flakinessScore(executions), 0.25);
+    }
+    
+    @Test(description = "Skips and runs of an unknown or modified revision only count retries")
+    public void testSkipsAndUnknownRevisions() {
+        List<TestExecution> executions = List.of(
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution(REVISION_A, TestExecution.SKIP, false),
+                execution(REVISION_A, TestExecution.PASS, false),
+                execution("", TestExecution.FAIL, false),
+                execution("", TestExecution.PASS, false),
+                execution("", TestExecution.PASS, true));
+        
+        Assert.assertEquals(TestHistoryStore.flakinessScore(executions), 1 / 6.0, 1e-9);
+    }
+    
+    @Test(description = "The quarantine gate needs both the minimum number of runs and the threshold")
+    public void testQuarantineGate() {
+        List<TestExecution> executions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            executions.add(execution(REVISION_A, i % 2 == 0 ? TestExecution.PASS : TestExecution.FAIL, false));
+        }
+        // 3 flaky runs out of 4
+        Assert.assertFalse(TestHistoryStore.isFlaky(executions, 0.3, 5), "Too few runs");
+        Assert.assertTrue(TestHistoryStore.isFlaky(executions, 0.3, 4));
+        Assert.assertTrue(TestHistoryStore.isFlaky(executions, 0.75, 4), "Score equal to the threshold");
+        Assert.assertFalse(TestHistoryStore.isFlaky(executions, 0.8, 4), "Score below the threshold");
+    }
+    
+    private static TestExecution execution(String revision, String outcome, boolean retried) {
+        return new TestExecution("run", revision, "LoginTest#testLogin[standard_user]", outcome, retried, 1000);
+    }
+}
@@ -0,0 +1,123 @@
+package com.test.automation.journal;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for writing the event journal and reading it back. Test methods may run in parallel,
+ * so each one writes its own journal file.
+ */
+public class EventJournalTest {
+    
+    private Path journalDir;
+    
+    @BeforeClass
+    public void createJournalDir() throws IOException {
+        journalDir = Files.createTempDirectory("journal");
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void deleteJournalDir() throws IOException {
+        try (Stream<Path> files = Files.walk(journalDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    @Test(description = "Events are read back with their type, thread, ids and texts")
+    public void testRoundTrip() throws IOException {
+        Path journalFile = journalDir.resolve("testRoundTrip.tjnl");
+        EventJournal journal = new EventJournal(journalFile);
+        journal.record(EventType.TEST_START, 7, "test-1", "LoginTest.testLogin", null);
+        journal.record(EventType.LOG, 7, "test-1", "INFO", "Logged in as standard_user");
+        journal.record(EventType.STEP_START, 8, null, null, null);
+        journal.record(EventType.TEST_PASS, 7, "test-1", "Prüfung — ✓ 🙂", "");
+        journal.close();
+        
+        List<JournalEvent> events = JournalReader.readAll(journalFile);
+        
+        Assert.assertEquals(events.size(), 4);
+        assertEvent(events.get(0), EventType.TEST_START, 7, "test-1", "LoginTest.testLogin", null);
+        assertEvent(events.get(1), EventType.LOG, 7, "test-1", "INFO", "Logged in as standard_user");
+        assertEvent(events.get(2), EventType.STEP_START, 8, null, null, null);
+        assertEvent(events.get(3), EventType.TEST_PASS, 7, "test-1", "Prüfung — ✓ 🙂", "");
+        Assert.assertTrue(events.get(0).getTimestamp() > 0);
+    }
+    
+    @Test(description = "Events spanning several buffer swaps and records larger than a buffer keep their order")
+    public void testLargeJournal() throws IOException {
+        Path journalFile = journalDir.resolve("testLargeJournal.tjnl");
+        String line = "x".repeat(1000);
+        String oversized = "y".repeat(300 * 1024);
+        EventJournal journal = new EventJournal(journalFile);
+        for (int i = 0; i < 1000; i++) {
+            journal.record(EventType.LOG, 1, "test-" + i, "INFO", i == 500 ? oversized : line);
+        }
+        journal.close();
+        
+        List<JournalEvent> events = JournalReader.readAll(journalFile);
+        
+        Assert.assertEquals(events.size(), 1000);
+        for (int i = 0; i < events.size(); i++) {
+            Assert.assertEquals(events.get(i).getTestId(), "test-" + i);
+            Assert.assertEquals(events.get(i).getDetail(), i == 500 ? oversized : line);
+        }
+    }
+    
+    @Test(description = "Events after close are ignored")
+    public void testClosed() throws IOException {
+        Path journalFile = journalDir.resolve("testClosed.tjnl");
+        EventJournal journal = new EventJournal(journalFile);
+        journal.record(EventType.SUITE_START, 1, null, "suite", null);
+        journal.close();
+        journal.record(EventType.SUITE_FINISH, 1, null, "suite", null);
+        
+        Assert.assertFalse(journal.isEnabled());
+        Assert.assertEquals(JournalReader.readAll(journalFile).size(), 1);
+    }
+    
+    @Test(description = "A journal cut off in the middle of a record is read up to that record")
+    public void testTruncatedJournal() throws IOException {
+        Path journalFile = journalDir.resolve("testTruncatedJournal.tjnl");
+        EventJournal journal = new EventJournal(journalFile);
+        journal.record(EventType.TEST_START, 1, "test-1", "first", null);
+        journal.record(EventType.TEST_START, 1, "test-2", "second", "detail");
+        journal.close();
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        
+        List<JournalEvent> events = JournalReader.readAll(journalFile);
+        
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getName(), "first");
+    }
+    
+    @Test(description = "Files that are not journals are rejected", expectedExceptions = IOException.class)
+    public void testNotAJournal() throws IOException {
+        Path journalFile = journalDir.resolve("testNotAJournal.tjnl");
+        Files.write(journalFile, "not a journal".getBytes());
+        JournalReader.readAll(journalFile);
+    }
+    
+    private static void assertEvent(JournalEvent event, EventType type, long threadId, String testId, String name,
+                                    String detail) {
+        Assert.assertEquals(event.getType(), type);
+        Assert.assertEquals(event.getThreadId(), threadId);
+        Assert.assertEquals(event.getTestId(), testId);
+        Assert.assertEquals(event.getName(), name);
+        Assert.assertEquals(event.getDetail(), detail);
+    }
+}
@@ -0,0 +1,70 @@
+package com.test.automation.listeners;
+
+import com.test.automation.factory.SessionUnavailableException;
+import com.test.automation.listeners.FailureClassifier.FailureType;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+
+/**
+ * Unit tests for the classification of test failures into infra and product failures
+ */
+public class FailureClassifierTest {
+    
+    @DataProvider(name = "failures")
+    public Object[][] getFailures() {
+        return new Object[][] {
+                {new AssertionError("expected [3] but found [2]"), FailureType.PRODUCT},
+                {new NoSuchElementException("no such element"), FailureType.PRODUCT},
+                {new TimeoutException("Expected condition failed"), FailureType.PRODUCT},
+                {new IllegalStateException("Login failed for user: locked_out_user"), FailureType.PRODUCT},
+                {new UncheckedIOException(new IOException("Could not write report")), FailureType.PRODUCT},
+                {new SessionNotCreatedException("Could not start a new session"), FailureType.INFRA},
+                {new NoSuchSessionException("Session ID is null"), FailureType.INFRA},
+                {new UnreachableBrowserException("Error communicating with the remote browser"), FailureType.INFRA},
+                {new SessionUnavailableException("Timed out waiting for one of 4 browser sessions"), FailureType.INFRA},
+                {new WebDriverException("java.net.ConnectException: Connection refused"), FailureType.INFRA},
+                {new SocketTimeoutException("Read timed out"), FailureType.INFRA},
+                {new HttpTimeoutException("request timed out"), FailureType.INFRA},
+                {new UncheckedIOException(new SocketException("Connection reset")), FailureType.INFRA},
+                {new RuntimeException("wrapped", new ConnectException("Connection refused")), FailureType.INFRA},
+                {null, FailureType.PRODUCT}
+        };
+    }
+    
+    @Test(dataProvider = "failures", description = "Failures are classified by their cause chain")
+    public void testClassify(Throwable failure, FailureType expected) {
+        Assert.assertEquals(FailureClassifier.classify(failure), expected);
+    }
+    
+    @Test(description = "I/O errors raised by the WebDriver HTTP client are infra failures")
+    public void testWebDriverTransportError() {
+        UncheckedIOException failure = new UncheckedIOException(new IOException("HTTP/1.1 header parser received no bytes"));
+        failure.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("org.openqa.selenium.remote.http.jdk.JdkHttpClient", "execute0", "JdkHttpClient.java", 391)
+        });
+        
+        Assert.assertEquals(FailureClassifier.classify(failure), FailureType.INFRA);
+    }
+    
+    @Test(description = "An assertion error wrapping an infra failure is still a product failure")
+    public void testAssertionFirst() {
+        AssertionError failure = new AssertionError("page did not load");
+        failure.initCause(new SocketTimeoutException("Read timed out"));
+        
+        Assert.assertEquals(FailureClassifier.classify(failure), FailureType.PRODUCT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.test.automation.listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the makespan of a longest-first schedule
+ */
+public class LongestFirstSchedulerTest {
+    
+    @Test(description = "Each duration goes to the worker that becomes free first")
+    public void testMakespan() {
+        // 5 and 4 start at once, the 3s follow on the worker that finishes first: 4+3, 5+3, 7+3
+        Assert.assertEquals(LongestFirstScheduler.makespan(List.of(5L, 4L, 3L, 3L, 3L), 2), 10);
+    }
+    
+    @Test(description = "Longest first shortens the schedule compared with shortest first")
+    public void testLongestFirstOrder() {
+        List<Long> longestFirst = List.of(6L, 5L, 4L, 3L, 2L, 1L);
+        List<Long> shortestFirst = List.of(1L, 2L, 3L, 4L, 5L, 6L);
+        
+        // 6, 5, 4 start at once, then 4+3, 5+2 and 6+1
+        Assert.assertEquals(LongestFirstScheduler.makespan(longestFirst, 3), 7);
+        // 1, 2, 3 start at once, then 1+4, 2+5 and 3+6
+        Assert.assertEquals(LongestFirstScheduler.makespan(shortestFirst, 3), 9);
+    }
+    
+    @Test(description = "One worker runs everything in sequence")
+    public void testSingleWorker() {
+        Assert.assertEquals(LongestFirstScheduler.makespan(List.of(5L, 4L, 3L), 1), 12);
+    }
+    
+    @Test(description = "With more workers than durations the longest one decides")
+    public void testMoreWorkersThanDurations() {
+        Assert.assertEquals(LongestFirstScheduler.makespan(List.of(5L, 9L, 3L), 8), 9);
+    }
+    
+    @Test(description = "Nothing to run takes no time")
+    public void testEmpty() {
+        Assert.assertEquals(LongestFirstScheduler.makespan(Collections.emptyList(), 4), 0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.test.automation.listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for splitting test invocations into shards
+ */
+public class ShardPlanTest {
+    
+    @Test(description = "Every invocation runs on exactly one shard")
+    public void testPartition() {
+        Map<String, Long> units = units(25);
+        List<ShardPlan> plans = plans(units, 4);
+        
+        for (String key : units.keySet()) {
+            Assert.assertEquals(plans.stream().filter(plan -> plan.isSelected(key)).count(), 1, key);
+        }
+    }
+    
+    @Test(description = "Shards get about the same predicted time")
+    public void testBalanced() {
+        Map<String, Long> units = new LinkedHashMap<>();
+        units.put("CheckoutTest#testCheckout[]", 9000L);
+        units.put("LoginTest#testLogin[performance_glitch_user, secret_sauce]", 8000L);
+        units.put("CartTest#testAddToCart[]", 4000L);
+        units.put("CartTest#testRemoveFromCart[]", 4000L);
+        units.put("InventoryTest#testSort[]", 3000L);
+        units.put("LoginTest#testLogin[standard_user, secret_sauce]", 2000L);
+        List<ShardPlan> plans = plans(units, 2);
+        
+        // 9000 + 4000 + 2000 against 8000 + 4000 + 3000
+        Assert.assertEquals(shardMillis(plans.get(0), units), 15000);
+        Assert.assertEquals(shardMillis(plans.get(1), units), 15000);
+    }
+    
+    @Test(description = "The plan does not depend on the order the invocations are listed in")
+    public void testDeterministic() {
+        Map<String, Long> units = units(30);
+        List<Map.Entry<String, Long>> reversed = new ArrayList<>(units.entrySet());
+        Collections.reverse(reversed);
+        Map<String, Long> reversedUnits = new LinkedHashMap<>();
+        reversed.forEach(unit -> reversedUnits.put(unit.getKey(), unit.getValue()));
+        
+        for (int shard = 1; shard <= 3; shard++) {
+            ShardPlan plan = ShardPlan.plan(units, shard, 3);
+            ShardPlan reversedPlan = ShardPlan.plan(reversedUnits, shard, 3);
+            for (String key : units.keySet()) {
+                Assert.assertEquals(reversedPlan.isSelected(key), plan.isSelected(key), key);
+            }
+        }
+    }
+    
+    @Test(description = "Invocations without history run on exactly one shard, chosen by their key")
+    public void testUnplannedInvocations() {
+        List<ShardPlan> plans = plans(units(5), 3);
+        
+        for (int i = 0; i < 50; i++) {
+            String key = "NewTest#testNew[" + i + "]";
+            Assert.assertEquals(plans.stream().filter(plan -> plan.isSelected(key)).count(), 1, key);
+        }
+    }
+    
+    @Test(description = "Shard selectors must be i/N with 1 <= i <= N")
+    public void testInvalidSelectors() {
+        for (String selector : List.of("0/2", "3/2", "1", "a/b", "1/0", "")) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> ShardPlan.plan(Collections.emptyList(), selector));
+        }
+    }
+    
+    private static Map<String, Long> units(int count) {
+        Map<String, Long> units = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            units.put("SomeTest#test" + i + "[]", 1000L + (i * 7919L) % 5000);
+        }
+        return units;
+    }
+    
+    private static List<ShardPlan> plans(Map<String, Long> units, int shards) {
+        List<ShardPlan> plans = new ArrayList<>();
+        for (int shard = 1; shard <= shards; shard++) {
+            plans.add(ShardPlan.plan(units, shard, shards));
+        }
+        return plans;
+    }
+    
+    private static long shardMillis(ShardPlan plan, Map<String, Long> units) {
+        return units.entrySet().stream()
+                .filter(unit -> plan.isSelected(unit.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
@@ -0,0 +1,96 @@
+package com.test.automation.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for merging the step histograms and journey counts of load sessions
+ */
+public class LoadResultTest {
+    
+    @Test(description = "Step histograms of all sessions are added up per step")
+    public void testMerge() {
+        LoadResult result = new LoadResult(1000);
+        result.merge(Map.of("login", histogram(1000, 100), "checkout", histogram(5000, 50)), 100, 2);
+        result.merge(Map.of("login", histogram(3000, 300)), 300, 6);
+        result.finish(11000);
+        
+        Histogram login = result.getHistogram("login");
+        Assert.assertEquals(login.getTotalCount(), 400);
+        Assert.assertEquals(login.getMinValue(), 1000, 1);
+        Assert.assertEquals(login.getMaxValue(), 3000, 3);
+        // 100 samples at 1 ms and 300 at 3 ms
+        Assert.assertEquals(login.getValueAtPercentile(20), 1000, 1);
+        Assert.assertEquals(login.getValueAtPercentile(50), 3000, 3);
+        Assert.assertEquals(login.getTag(), "login");
+        Assert.assertEquals(login.getStartTimeStamp(), 1000);
+        Assert.assertEquals(login.getEndTimeStamp(), 11000);
+        Assert.assertEquals(result.getHistogram("checkout").getTotalCount(), 50);
+        Assert.assertNull(result.getHistogram("addToCart"));
+    }
+    
+    @Test(description = "Journeys and errors of all sessions are added up")
+    public void testCounts() {
+        LoadResult result = new LoadResult(0);
+        result.merge(new HashMap<>(), 100, 2);
+        result.merge(new HashMap<>(), 300, 6);
+        result.finish(10000);
+        
+        Assert.assertEquals(result.getJourneys(), 400);
+        Assert.assertEquals(result.getErrors(), 8);
+        Assert.assertEquals(result.getErrorRate(), 8 / 408.0, 1e-9);
+        Assert.assertEquals(result.getElapsedSeconds(), 10.0);
+        Assert.assertEquals(new LoadResult(0).getErrorRate(), 0.0);
+    }
+    
+    @Test(description = "Merging does not change the session histograms")
+    public void testSessionHistogramsUnchanged() {
+        Histogram session = histogram(2000, 10);
+        LoadResult result = new LoadResult(0);
+        result.merge(Map.of("login", session), 10, 0);
+        result.merge(Map.of("login", histogram(2000, 10)), 10, 0);
+        
+        Assert.assertEquals(session.getTotalCount(), 10);
+        Assert.assertEquals(result.getHistogram("login").getTotalCount(), 20);
+    }
+    
+    @Test(description = "The histogram log holds one tagged interval per step")
+    public void testHistogramLog() throws IOException {
+        Path logFile = Files.createTempFile("load-histograms", ".hlog");
+        try {
+            LoadResult result = new LoadResult(System.currentTimeMillis());
+            result.merge(Map.of("login", histogram(1000, 10), "checkout", histogram(5000, 5)), 10, 0);
+            result.finish(System.currentTimeMillis() + 1000);
+            result.writeHistogramLog(logFile);
+            
+            Map<String, Long> counts = new HashMap<>();
+            HistogramLogReader reader = new HistogramLogReader(logFile.toFile());
+            try {
+                Histogram interval;
+                while ((interval = (Histogram) reader.nextIntervalHistogram()) != null) {
+                    counts.put(interval.getTag(), interval.getTotalCount());
+                }
+            } finally {
+                reader.close();
+            }
+            
+            Assert.assertEquals(counts, Map.of("login", 10L, "checkout", 5L));
+        } finally {
+            Files.deleteIfExists(logFile);
+        }
+    }
+    
+    private static Histogram histogram(long micros, int count) {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValueWithCount(micros, count);
+        return histogram;
+    }
+}
@@ -0,0 +1,31 @@
+package com.test.automation.network;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+/**
+ * Unit tests for the CDP parameters of network conditions
+ */
+public class NetworkConditionsTest {
+    
+    @Test(description = "Bandwidth in kilobits of 1024 bits per second is sent as bytes per second")
+    public void testToCdpParameters() {
+        Map<String, Object> parameters = new NetworkConditions("slow-4g", 562.5, 1474.56, 675).toCdpParameters();
+        
+        Assert.assertEquals(parameters.get("offline"), false);
+        Assert.assertEquals((double) parameters.get("latency"), 562.5, 1e-9);
+        Assert.assertEquals((double) parameters.get("downloadThroughput"), 188743.68, 1e-6);
+        Assert.assertEquals((double) parameters.get("uploadThroughput"), 86400.0, 1e-6);
+    }
+    
+    @Test(description = "A bandwidth of 0 means no limit")
+    public void testToCdpParametersWithoutLimit() {
+        Map<String, Object> parameters = new NetworkConditions("high-latency", 300, 0, 0).toCdpParameters();
+        
+        Assert.assertEquals((double) parameters.get("latency"), 300.0, 1e-9);
+        Assert.assertEquals((double) parameters.get("downloadThroughput"), -1.0);
+        Assert.assertEquals((double) parameters.get("uploadThroughput"), -1.0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.automation.network;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Unit tests for reading the profiles and aliases of a network profile file
+ */
+public class NetworkEmulatorTest {
+    
+    @Test(description = "Profiles are read from their latency and bandwidth settings, missing bandwidth means no limit")
+    public void testParseProfiles() {
+        Properties properties = new Properties();
+        properties.setProperty("slow-3g.latency.ms", "2000");
+        properties.setProperty("slow-3g.download.kbps", " 400 ");
+        properties.setProperty("slow-3g.upload.kbps", "400");
+        properties.setProperty("high-latency.latency.ms", "300");
+        
+        Map<String, NetworkConditions> profiles = NetworkEmulator.parseProfiles(properties);
+        
+        Assert.assertEquals(profiles.keySet().toString(), "[high-latency, slow-3g]");
+        Assert.assertEquals(profiles.get("slow-3g"), new NetworkConditions("slow-3g", 2000, 400, 400));
+        Assert.assertEquals(profiles.get("high-latency"), new NetworkConditions("high-latency", 300, 0, 0));
+    }
+    
+    @Test(description = "Negative or non numeric settings are rejected")
+    public void testParseInvalidProfiles() {
+        for (String value : new String[] {"-1", "fast"}) {
+            Properties properties = new Properties();
+            properties.setProperty("slow-3g.latency.ms", "2000");
+            properties.setProperty("slow-3g.download.kbps", value);
+            
+            Assert.assertThrows(IllegalArgumentException.class, () -> NetworkEmulator.parseProfiles(properties));
+        }
+    }
+    
+    @Test(description = "Aliases name an existing profile")
+    public void testParseAliases() {
+        Properties properties = new Properties();
+        properties.setProperty("slow-4g.latency.ms", "562.5");
+        properties.setProperty("fast-3g.alias", " slow-4g");
+        
+        Map<String, String> aliases = NetworkEmulator.parseAliases(properties, NetworkEmulator.parseProfiles(properties));
+        
+        Assert.assertEquals(aliases, Map.of("fast-3g", "slow-4g"));
+    }
+    
+    @Test(description = "Aliases of unknown profiles and aliases shadowing a profile are rejected")
+    public void testParseInvalidAliases() {
+        Properties unknown = new Properties();
+        unknown.setProperty("slow-4g.latency.ms", "562.5");
+        unknown.setProperty("fast-3g.alias", "fast-4g");
+        Properties shadowing = new Properties();
+        shadowing.setProperty("slow-4g.latency.ms", "562.5");
+        shadowing.setProperty("fast-3g.latency.ms", "562.5");
+        shadowing.setProperty("fast-3g.alias", "slow-4g");
+        
+        for (Properties properties : new Properties[] {unknown, shadowing}) {
+            Map<String, NetworkConditions> profiles = NetworkEmulator.parseProfiles(properties);
+            Assert.assertThrows(IllegalArgumentException.class, () -> NetworkEmulator.parseAliases(properties, profiles));
+        }
+    }
+    
+    @Test(description = "The bundled profile file keeps fast-3g as an alias of slow-4g")
+    public void testBundledProfiles() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = NetworkEmulatorTest.class.getResourceAsStream("/network-profiles.properties")) {
+            properties.load(in);
+        }
+        
+        Map<String, NetworkConditions> profiles = NetworkEmulator.parseProfiles(properties);
+        
+        Assert.assertEquals(profiles.get("slow-4g"), new NetworkConditions("slow-4g", 562.5, 1474.56, 675));
+        Assert.assertEquals(NetworkEmulator.parseAliases(properties, profiles).get("fast-3g"), "slow-4g");
+    }
+}
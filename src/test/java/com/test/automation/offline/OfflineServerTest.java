@@ -0,0 +1,75 @@
+package com.test.automation.offline;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Unit tests for the per page latencies and responses of the offline SauceDemo replica
+ */
+public class OfflineServerTest {
+    
+    @Test(description = "Page latencies are parsed from page:milliseconds pairs")
+    public void testParsePageLatencies() {
+        Map<String, Long> latencies = OfflineServer.parsePageLatencies(" inventory.html:500, /cart.html : 200,,");
+        
+        Assert.assertEquals(latencies, Map.of("inventory.html", 500L, "cart.html", 200L));
+    }
+    
+    @Test(description = "No page latencies are configured by default")
+    public void testParseEmptyPageLatencies() {
+        Assert.assertEquals(OfflineServer.parsePageLatencies(""), Collections.emptyMap());
+    }
+    
+    @Test(description = "Entries without a page or a non-negative number of milliseconds are rejected")
+    public void testParseInvalidPageLatencies() {
+        for (String spec : new String[] {"inventory.html", "inventory.html:", "inventory.html:fast",
+                "inventory.html:-5", ":500", "inventory.html:500,cart.html"}) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> OfflineServer.parsePageLatencies(spec));
+        }
+    }
+    
+    @Test(description = "Pages are served with their injected latency")
+    public void testServePageWithLatency() throws IOException, InterruptedException {
+        OfflineServer server = new OfflineServer(0, 0, 0, Map.of("inventory.html", 300L));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            
+            long start = System.nanoTime();
+            HttpResponse<String> inventory = client.send(
+                    HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "/inventory.html")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long inventoryMillis = (System.nanoTime() - start) / 1_000_000;
+            HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "/")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> missing = client.send(
+                    HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "/../pom.xml")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            
+            Assert.assertEquals(inventory.statusCode(), 200);
+            Assert.assertTrue(inventoryMillis >= 300, "Inventory page served after " + inventoryMillis + " ms");
+            Assert.assertEquals(login.statusCode(), 200);
+            Assert.assertEquals(login.body(), page("index.html"), "Login page served for /");
+            Assert.assertEquals(missing.statusCode(), 404);
+            Assert.assertEquals(server.getRequestCount(), 3);
+        } finally {
+            server.stop();
+        }
+    }
+    
+    private static String page(String name) throws IOException {
+        try (InputStream in = OfflineServerTest.class.getResourceAsStream("/offline/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.test.automation.perf;
+
+import com.test.automation.perf.CommandLatencyRecorder.CommandLatencies;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for merging the per-thread WebDriver command latencies
+ */
+public class CommandLatencyRecorderTest {
+    
+    @Test(description = "Commands recorded on several threads are merged by command type and call site")
+    public void testMerge() throws Exception {
+        CommandLatencyRecorder recorder = new CommandLatencyRecorder();
+        Method getTitle = WebDriver.class.getMethod("getTitle");
+        Method findElement = WebDriver.class.getMethod("findElement", By.class);
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (int call = 0; call < 25; call++) {
+                    recorder.beforeAnyCall(null, getTitle, new Object[0]);
+                    recorder.afterAnyCall(null, getTitle, new Object[0], "Swag Labs");
+                }
+                recorder.beforeAnyCall(null, findElement, new Object[0]);
+                recorder.onError(null, findElement, new Object[0], new InvocationTargetException(new RuntimeException()));
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        CommandLatencies merged = recorder.merge();
+        
+        Assert.assertEquals(merged.getCommandCount(), 104);
+        String[][] callSites = merged.slowestCallSites(10);
+        // Header row and the one call site of all commands
+        Assert.assertEquals(callSites.length, 2);
+        Assert.assertEquals(callSites[1][1], "104");
+        Assert.assertEquals(callSites[1][2], "4");
+    }
+    
+    @Test(description = "Accessors that return WebDriver helper objects are not commands")
+    public void testIsCommand() throws NoSuchMethodException {
+        Assert.assertTrue(CommandLatencyRecorder.isCommand(WebDriver.class.getMethod("getTitle")));
+        Assert.assertTrue(CommandLatencyRecorder.isCommand(WebElement.class.getMethod("click")));
+        Assert.assertFalse(CommandLatencyRecorder.isCommand(WebDriver.class.getMethod("manage")));
+        Assert.assertFalse(CommandLatencyRecorder.isCommand(WebDriver.class.getMethod("switchTo")));
+        Assert.assertFalse(CommandLatencyRecorder.isCommand(Object.class.getMethod("toString")));
+        Assert.assertEquals(CommandLatencyRecorder.commandName(null, WebDriver.class.getMethod("getTitle")),
+                "WebDriver.getTitle");
+    }
+}
@@ -0,0 +1,101 @@
+package com.test.automation.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for the statistics of the user type latency comparison. Reference p-values are those
+ * of the two-sided normal approximation with tie and continuity correction (R's wilcox.test with
+ * exact = FALSE).
+ */
+public class LatencyComparisonTest {
+    
+    private static final List<Double> FAST = List.of(100.0, 110.0, 115.0, 120.0, 125.0, 130.0, 135.0, 140.0);
+    private static final List<Double> SLOW = List.of(120.0, 135.0, 150.0, 160.0, 180.0, 200.0, 210.0, 250.0);
+    private static final List<Double> TIED_LOW = List.of(1.0, 2.0, 2.0, 3.0, 3.0, 3.0, 4.0);
+    private static final List<Double> TIED_HIGH = List.of(2.0, 3.0, 4.0, 4.0, 5.0, 5.0, 6.0);
+    
+    @Test(description = "Mann-Whitney U p-value of samples with a few ties across them")
+    public void testMannWhitney() {
+        Assert.assertEquals(LatencyStatistics.mannWhitneyP(SLOW, FAST), 0.0073187, 1e-6);
+        Assert.assertEquals(LatencyStatistics.mannWhitneyP(FAST, SLOW), 0.0073187, 1e-6);
+    }
+    
+    @Test(description = "Mann-Whitney U p-value with many tied values")
+    public void testMannWhitneyTieCorrection() {
+        Assert.assertEquals(LatencyStatistics.mannWhitneyP(TIED_LOW, TIED_HIGH), 0.0430514, 1e-6);
+    }
+    
+    @Test(description = "Identical, all tied or empty samples show no difference")
+    public void testMannWhitneyNoDifference() {
+        Assert.assertEquals(LatencyStatistics.mannWhitneyP(FAST, FAST), 1.0, 1e-6);
+        Assert.assertEquals(LatencyStatistics.mannWhitneyP(List.of(5.0, 5.0, 5.0), List.of(5.0, 5.0)), 1.0);
+        Assert.assertEquals(LatencyStatistics.mannWhitneyP(Collections.emptyList(), FAST), 1.0);
+    }
+    
+    @Test(description = "Percentiles use the nearest-rank method")
+    public void testPercentile() {
+        List<Double> values = List.of(7.0, 1.0, 10.0, 3.0, 5.0, 2.0, 9.0, 4.0, 8.0, 6.0);
+        
+        Assert.assertEquals(LatencyStatistics.percentile(values, 90), 9.0);
+        Assert.assertEquals(LatencyStatistics.percentile(values, 50), 5.0);
+        Assert.assertEquals(LatencyStatistics.percentile(values, 100), 10.0);
+        Assert.assertEquals(LatencyStatistics.percentile(values, 0), 1.0);
+    }
+    
+    @Test(description = "p-values are Bonferroni adjusted over all comparisons with the reference")
+    public void testBonferroni() {
+        Map<String, Map<String, List<Double>>> samples = new TreeMap<>();
+        samples.put("InventoryPage.loadEvent", new TreeMap<>(Map.of(
+                "standard_user", TIED_HIGH,
+                "performance_glitch_user", TIED_LOW)));
+        samples.put("login", new TreeMap<>(Map.of(
+                "standard_user", FAST,
+                "performance_glitch_user", SLOW,
+                "problem_user", FAST)));
+        // No reference samples, so no comparison
+        samples.put("CartPage.transition", new TreeMap<>(Map.of("performance_glitch_user", SLOW)));
+        
+        List<LatencyDifference> differences = LatencyComparison.compare(samples, "standard_user",
+                List.of("performance_glitch_user:login"), 0.05);
+        
+        Assert.assertEquals(differences.size(), 3);
+        // 0.043 before adjusting for 3 comparisons
+        LatencyDifference inventory = differences.get(0);
+        Assert.assertEquals(inventory.getSubject(), "InventoryPage.loadEvent");
+        Assert.assertEquals(inventory.getPValue(), 3 * 0.0430514, 1e-5);
+        Assert.assertFalse(inventory.isSignificant());
+        
+        LatencyDifference glitchLogin = differences.get(1);
+        Assert.assertEquals(glitchLogin.getUserType(), "performance_glitch_user");
+        Assert.assertEquals(glitchLogin.getPValue(), 3 * 0.0073187, 1e-5);
+        Assert.assertTrue(glitchLogin.isSignificant());
+        Assert.assertTrue(glitchLogin.isExpected());
+        Assert.assertFalse(glitchLogin.isUnexpectedSlowdown());
+        Assert.assertEquals(glitchLogin.getMedian(), 170.0);
+        Assert.assertEquals(glitchLogin.getReferenceMedian(), 122.5);
+        
+        LatencyDifference problemLogin = differences.get(2);
+        Assert.assertEquals(problemLogin.getUserType(), "problem_user");
+        Assert.assertEquals(problemLogin.getPValue(), 1.0, 1e-6);
+        Assert.assertFalse(problemLogin.isSignificant());
+    }
+    
+    @Test(description = "A significant slowdown is unexpected unless comparison.expected lists it")
+    public void testUnexpectedSlowdown() {
+        Map<String, Map<String, List<Double>>> samples = new TreeMap<>();
+        samples.put("checkout", new TreeMap<>(Map.of("standard_user", FAST, "error_user", SLOW)));
+        
+        LatencyDifference difference = LatencyComparison.compare(samples, "standard_user",
+                List.of("performance_glitch_user"), 0.05).get(0);
+        
+        Assert.assertTrue(difference.isSignificant());
+        Assert.assertFalse(difference.isExpected());
+        Assert.assertTrue(difference.isUnexpectedSlowdown());
+    }
+}
@@ -0,0 +1,108 @@
+package com.test.automation.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the budget and baseline checks of the performance gate. Test methods may run in
+ * parallel, so each one uses its own gate and files.
+ */
+public class PerfGateTest {
+    
+    private static final String OFFLINE = "offline";
+    
+    private Path dir;
+    private PerfBudgets budgets;
+    
+    @BeforeClass
+    public void createBudgets() throws IOException {
+        dir = Files.createTempDirectory("perf-gate");
+        Path budgetFile = dir.resolve("perf-budgets.properties");
+        Files.write(budgetFile, List.of("CartPage.transition=1500", "InventoryPage.transition=100"));
+        budgets = PerfBudgets.load(budgetFile.toString());
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    @Test(description = "A metric violates its budget only beyond the tolerance and the noise floor")
+    public void testExceedsBudget() {
+        PerfGate gate = new PerfGate("fail", 0.1, 50, 1, budgets, null);
+        
+        // Within 10 % of 1500
+        Assert.assertTrue(gate.check("test1", List.of(transition("CartPage", OFFLINE, 1600))).isEmpty());
+        // 40 ms over a 100 ms budget is above the tolerance but within the noise floor
+        Assert.assertTrue(gate.check("test2", List.of(transition("InventoryPage", OFFLINE, 140))).isEmpty());
+        
+        List<PerfViolation> violations = gate.check("test3", List.of(transition("CartPage", OFFLINE, 1700)));
+        
+        Assert.assertEquals(violations.size(), 1);
+        PerfViolation violation = violations.get(0);
+        Assert.assertEquals(violation.getKind(), PerfViolation.BUDGET);
+        Assert.assertEquals(violation.getPage(), "CartPage");
+        Assert.assertEquals(violation.getMetric(), "transition");
+        Assert.assertEquals(violation.getValue(), 1700.0);
+        Assert.assertEquals(violation.getLimit(), 1500.0);
+    }
+    
+    @Test(description = "A test's metric is the median of its samples")
+    public void testMedianOfSamples() {
+        PerfGate gate = new PerfGate("fail", 0.1, 50, 1, budgets, null);
+        
+        List<PerfViolation> violations = gate.check("test", List.of(transition("CartPage", OFFLINE, 1000),
+                transition("CartPage", OFFLINE, 3000), transition("CartPage", OFFLINE, 1100)));
+        
+        Assert.assertTrue(violations.isEmpty());
+    }
+    
+    @Test(description = "The first strikes - 1 violations of a page metric are tolerated as spikes")
+    public void testStrikes() {
+        PerfGate gate = new PerfGate("fail", 0.1, 50, 3, budgets, null);
+        
+        Assert.assertTrue(gate.check("test1", List.of(transition("CartPage", OFFLINE, 2000))).isEmpty());
+        Assert.assertTrue(gate.check("test2", List.of(transition("CartPage", OFFLINE, 2000))).isEmpty());
+        // Another page metric has strikes of its own
+        Assert.assertTrue(gate.check("test3", List.of(transition("InventoryPage", OFFLINE, 500))).isEmpty());
+        Assert.assertEquals(gate.check("test4", List.of(transition("CartPage", OFFLINE, 2000))).size(), 1);
+        Assert.assertEquals(gate.check("test5", List.of(transition("CartPage", OFFLINE, 2000))).size(), 1);
+        
+        Assert.assertEquals(gate.getViolations().size(), 2);
+        Assert.assertEquals(gate.getViolations().get(0).getTest(), "test4");
+    }
+    
+    @Test(description = "Timings are checked against the baseline of their own target")
+    public void testBaselinePerTarget() {
+        PerfBaseline baseline = new PerfBaseline(dir.resolve("testBaselinePerTarget.tsv"), 20, 1);
+        baseline.addRun(Map.of(PerfGate.metricKey(OFFLINE, "CheckoutPage", "soft", "transition"), List.of(400.0)));
+        PerfGate gate = new PerfGate("fail", 0.1, 50, 1, budgets, baseline);
+        
+        List<PerfViolation> violations = gate.check("test1", List.of(transition("CheckoutPage", OFFLINE, 600)));
+        
+        Assert.assertEquals(violations.size(), 1);
+        Assert.assertEquals(violations.get(0).getKind(), PerfViolation.BASELINE);
+        Assert.assertEquals(violations.get(0).getLimit(), 400.0);
+        // The public site has no baseline yet
+        Assert.assertTrue(gate.check("test2", List.of(transition("CheckoutPage", "www.saucedemo.com", 600))).isEmpty());
+    }
+    
+    private static PageTiming transition(String page, String target, double millis) {
+        return new PageTiming(System.currentTimeMillis(), "test", page, "standard_user", "none", target,
+                "http://localhost/", "soft", null, null, null, null, null, null, null, null, null, millis);
+    }
+}
@@ -1,8 +1,10 @@
 package com.test.automation.tests;
 
+import com.test.automation.auth.AuthStateCache;
 import com.test.automation.config.FrameworkConfig;
 import com.test.automation.factory.DriverFactory;
 import com.test.automation.listeners.TestListener;
+import com.test.automation.pages.InventoryPage;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.WebDriver;
@@ -59,6 +61,18 @@ public class BaseTest {
         getDriver().get(baseUrl);
     }
     
+    /**
+     * Logs in as the given user, reusing the cached login state of the user when available.
+     * Tests of the login form itself should use LoginPage instead.
+     * 
+     * @param username Username
+     * @param password Password
+     * @return InventoryPage the test starts on
+     */
+    protected InventoryPage loginAs(String username, String password) {
+        return AuthStateCache.getInstance().login(username, password);
+    }
+    
     /**
      * Quits WebDriver after each test method
      */
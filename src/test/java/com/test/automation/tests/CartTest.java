@@ -4,7 +4,7 @@ import com.test.automation.constants.SauceConstants;
 import com.test.automation.pages.CartPage;
 import com.test.automation.pages.CheckoutInformationPage;
 import com.test.automation.pages.InventoryPage;
-import com.test.automation.pages.LoginPage;
+import com.test.automation.state.StateSeeder;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -13,7 +13,6 @@ import io.qameta.allure.Story;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
@@ -23,18 +22,15 @@ import org.testng.annotations.Test;
 public class CartTest extends BaseTest {
     
     private static final Logger log = LoggerFactory.getLogger(CartTest.class);
-    private LoginPage loginPage;
-    private InventoryPage inventoryPage;
     
     /**
-     * Login before each test
+     * Opens the cart of a standard user session, seeded with the given products
+     * 
+     * @param productNames Products in the cart
+     * @return CartPage instance
      */
-    @BeforeMethod
-    public void setupTest() {
-        log.info("Logging in before cart test");
-        loginPage = new LoginPage();
-        loginPage.login(SauceConstants.STANDARD_USER, SauceConstants.STANDARD_PASSWORD);
-        inventoryPage = new InventoryPage();
+    private CartPage openCart(String... productNames) {
+        return new StateSeeder(SauceConstants.STANDARD_USER).withCart(productNames).openCart();
     }
     
     /**
@@ -47,7 +43,7 @@ public class CartTest extends BaseTest {
     public void testCartInitiallyEmpty() {
         log.info("Testing cart is initially empty");
         
-        CartPage cartPage = inventoryPage.goToCart();
+        CartPage cartPage = openCart();
         Assert.assertTrue(cartPage.isLoaded(), "Cart page is not loaded");
         Assert.assertTrue(cartPage.isEmpty(), "Cart is not empty on initial load");
         Assert.assertEquals(cartPage.getItemCount(), 0, "Cart item count is not 0 on initial load");
@@ -63,16 +59,9 @@ public class CartTest extends BaseTest {
     public void testRemoveProductFromCart() {
         log.info("Testing removing product from cart");
         
-        // Check if products are available
-        int productCount = inventoryPage.getProductCount();
-        Assert.assertTrue(productCount > 0, "No products available in inventory");
-        
-        // Add product to cart
-        String productName = inventoryPage.getFirstProductName();
-        inventoryPage.addProductToCartByIndex(0);
-        
-        // Go to cart
-        CartPage cartPage = inventoryPage.goToCart();
+        // Start on the cart with a product in it
+        String productName = SauceConstants.PRODUCT_BACKPACK;
+        CartPage cartPage = openCart(productName);
         Assert.assertTrue(cartPage.isProductInCart(productName), 
                 "Product '" + productName + "' not found in cart");
         
@@ -94,8 +83,8 @@ public class CartTest extends BaseTest {
     public void testContinueShopping() {
         log.info("Testing continue shopping functionality");
         
-        // Go to cart
-        CartPage cartPage = inventoryPage.goToCart();
+        // Start on the cart
+        CartPage cartPage = openCart();
         
         // Continue shopping
         InventoryPage returnedInventoryPage = cartPage.continueShopping();
@@ -115,15 +104,8 @@ public class CartTest extends BaseTest {
     public void testCheckoutFromCart() {
         log.info("Testing checkout from cart");
         
-        // Check if products are available
-        int productCount = inventoryPage.getProductCount();
-        Assert.assertTrue(productCount > 0, "No products available in inventory");
-        
-        // Add product to cart
-        inventoryPage.addProductToCartByIndex(0);
-        
-        // Go to cart and checkout
-        CartPage cartPage = inventoryPage.goToCart();
+        // Start on the cart with a product in it and checkout
+        CartPage cartPage = openCart(SauceConstants.PRODUCT_BACKPACK);
         CheckoutInformationPage checkoutPage = cartPage.checkout();
         
         // Verify checkout page is loaded
@@ -141,8 +123,8 @@ public class CartTest extends BaseTest {
     public void testCheckoutFromEmptyCart() {
         log.info("Testing checkout from empty cart");
         
-        // Go to cart
-        CartPage cartPage = inventoryPage.goToCart();
+        // Start on the empty cart
+        CartPage cartPage = openCart();
         
         // Verify cart is empty
         Assert.assertTrue(cartPage.isEmpty(), "Cart is not empty on initial load");
@@ -0,0 +1,97 @@
+package com.test.automation.tests;
+
+import com.test.automation.constants.SauceConstants;
+import com.test.automation.pages.CheckoutCompletePage;
+import com.test.automation.pages.CheckoutInformationPage;
+import com.test.automation.pages.CheckoutOverviewPage;
+import com.test.automation.state.StateSeeder;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test class for Checkout functionality.
+ * Every test starts on its checkout step with a seeded session and cart.
+ */
+@Feature("Checkout")
+public class CheckoutTest extends BaseTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(CheckoutTest.class);
+    
+    /**
+     * Test to verify that the first name is required for checkout
+     */
+    @Test
+    @Description("Verify that the first name is required for checkout")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Customer Information")
+    public void testFirstNameRequired() {
+        log.info("Testing first name is required for checkout");
+        
+        CheckoutInformationPage informationPage = new StateSeeder(SauceConstants.STANDARD_USER)
+                .withCart(SauceConstants.PRODUCT_BACKPACK)
+                .openCheckoutInformation();
+        Assert.assertTrue(informationPage.isLoaded(), "Checkout information page is not loaded");
+        
+        informationPage.enterLastName(SauceConstants.LAST_NAME).enterPostalCode(SauceConstants.POSTAL_CODE);
+        Assert.assertTrue(informationPage.continueToOverview() instanceof CheckoutInformationPage,
+                "Checkout continued without a first name");
+        Assert.assertEquals(informationPage.getErrorMessageText(), SauceConstants.ERROR_FIRST_NAME_REQUIRED,
+                "Error message is not as expected");
+    }
+    
+    /**
+     * Test to verify that the overview lists the cart and its subtotal
+     */
+    @Test
+    @Description("Verify that the checkout overview lists the cart products and their subtotal")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Order Overview")
+    public void testOverviewShowsCart() {
+        log.info("Testing checkout overview shows the cart");
+        
+        CheckoutOverviewPage overviewPage = new StateSeeder(SauceConstants.STANDARD_USER)
+                .withCart(SauceConstants.PRODUCT_BACKPACK, SauceConstants.PRODUCT_BIKE_LIGHT)
+                .openCheckoutOverview();
+        Assert.assertTrue(overviewPage.isLoaded(), "Checkout overview page is not loaded");
+        
+        List<String> productNames = overviewPage.getAllProductNames();
+        Assert.assertEquals(productNames.size(), 2, "Overview does not list both products");
+        Assert.assertTrue(productNames.contains(SauceConstants.PRODUCT_BACKPACK), "Backpack is not in the overview");
+        Assert.assertTrue(productNames.contains(SauceConstants.PRODUCT_BIKE_LIGHT), "Bike light is not in the overview");
+        
+        double expectedSubtotal = overviewPage.getProductPrices().values().stream()
+                .mapToDouble(price -> Double.parseDouble(price.replace("$", "")))
+                .sum();
+        Assert.assertEquals(Double.parseDouble(overviewPage.getSubtotal().replace("$", "")), expectedSubtotal, 0.001,
+                "Subtotal is not the sum of the product prices");
+    }
+    
+    /**
+     * Test to verify that an order can be completed from the overview
+     */
+    @Test
+    @Description("Verify that an order can be completed from the checkout overview")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Order Completion")
+    public void testFinishCheckout() {
+        log.info("Testing finishing the checkout");
+        
+        CheckoutOverviewPage overviewPage = new StateSeeder(SauceConstants.STANDARD_USER)
+                .withCart(SauceConstants.PRODUCT_ONESIE)
+                .openCheckoutOverview();
+        CheckoutCompletePage completePage = overviewPage.finish();
+        
+        Assert.assertTrue(completePage.isLoaded(), "Checkout complete page is not loaded");
+        Assert.assertEquals(completePage.getConfirmationHeader(), SauceConstants.ORDER_COMPLETE_HEADER,
+                "Order confirmation header is not as expected");
+    }
+}
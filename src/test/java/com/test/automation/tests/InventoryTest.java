@@ -3,7 +3,6 @@ package com.test.automation.tests;
 import com.test.automation.constants.SauceConstants;
 import com.test.automation.pages.CartPage;
 import com.test.automation.pages.InventoryPage;
-import com.test.automation.pages.LoginPage;
 import com.test.automation.pages.ProductDetailsPage;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -32,8 +31,7 @@ public class InventoryTest extends BaseTest {
     @BeforeMethod
     public void setupTest() {
         log.info("Logging in before inventory test");
-        LoginPage loginPage = new LoginPage();
-        loginPage.login(SauceConstants.STANDARD_USER, SauceConstants.STANDARD_PASSWORD);
+        loginAs(SauceConstants.STANDARD_USER, SauceConstants.STANDARD_PASSWORD);
     }
     
     /**
@@ -0,0 +1,60 @@
+package com.test.automation.tests;
+
+import com.test.automation.config.FrameworkConfig;
+import com.test.automation.listeners.TestListener;
+import com.test.automation.load.LoadResult;
+import com.test.automation.load.LoadRunner;
+import com.test.automation.perf.PageTimingCollector;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Synthetic concurrent load of the checkout journey, run with testng-load.xml.
+ * Does not extend BaseTest: every load session starts and quits its own browser.
+ */
+@Listeners(TestListener.class)
+@Slf4j
+@Feature("Performance")
+public class LoadTest {
+    
+    private final FrameworkConfig config = FrameworkConfig.getInstance();
+    
+    /**
+     * Runs the load and checks the share of failed journeys
+     * 
+     * @throws IOException if the load report cannot be written
+     */
+    @Test
+    @Description("Run concurrent checkout journeys and report throughput and step latency percentiles")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Concurrent Load")
+    public void testCheckoutUnderLoad() throws IOException {
+        LoadResult result = new LoadRunner().run();
+        String report = result.report();
+        log.info("Load result:\n{}", report);
+        
+        Path perfDir = PageTimingCollector.getPerfDir();
+        Files.createDirectories(perfDir);
+        Files.write(perfDir.resolve("load-report.txt"), report.getBytes(StandardCharsets.UTF_8));
+        result.writeHistogramLog(perfDir.resolve("load-histograms.hlog"));
+        Allure.addAttachment("Load report", "text/plain", report, ".txt");
+        
+        Assert.assertTrue(result.getJourneys() > 0, "No journey completed under load");
+        Assert.assertTrue(result.getErrorRate() <= config.getLoadMaxErrorRate(),
+                String.format("Error rate %.3f exceeds load.max.error.rate %.3f", result.getErrorRate(),
+                        config.getLoadMaxErrorRate()));
+    }
+}
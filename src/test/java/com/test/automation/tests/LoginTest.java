@@ -21,11 +21,11 @@ import org.testng.annotations.Test;
 public class LoginTest extends BaseTest {
     
     /**
-     * Test data provider for valid login credentials
+     * Test data provider for valid login credentials, rows run in parallel on their own sessions
      * 
      * @return Object array of username and password
      */
-    @DataProvider(name = "validLoginData")
+    @DataProvider(name = "validLoginData", parallel = true)
     public Object[][] getValidLoginData() {
         return new Object[][] {
                 {SauceConstants.STANDARD_USER, SauceConstants.STANDARD_PASSWORD},
@@ -37,11 +37,11 @@ public class LoginTest extends BaseTest {
     }
     
     /**
-     * Test data provider for invalid login credentials
+     * Test data provider for invalid login credentials, rows run in parallel on their own sessions
      * 
      * @return Object array of username, password, and expected error message
      */
-    @DataProvider(name = "invalidLoginData")
+    @DataProvider(name = "invalidLoginData", parallel = true)
     public Object[][] getInvalidLoginData() {
         return new Object[][] {
                 {"invalid_user", SauceConstants.STANDARD_PASSWORD, SauceConstants.ERROR_INVALID_CREDENTIALS},
@@ -0,0 +1,98 @@
+package com.test.automation.tests;
+
+import com.test.automation.constants.SauceConstants;
+import com.test.automation.journey.CheckoutJourney;
+import com.test.automation.pages.CheckoutCompletePage;
+import com.test.automation.perf.LatencyComparison;
+import com.test.automation.perf.LatencyDifference;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Latency comparison of user types, run with testng-comparison.xml.
+ * Every user type of comparison.users runs the same login, add to cart and checkout journey; the
+ * step and page timings are then compared with the reference user type.
+ */
+@Slf4j
+@Feature("Performance")
+public class UserTypeComparisonTest extends BaseTest {
+    
+    /**
+     * Journey data provider: comparison.repetitions rounds of every user type, interleaved so that
+     * changes in the environment over the run affect all user types alike
+     * 
+     * @return Object array of user type and round
+     */
+    @DataProvider(name = "journeys")
+    public Object[][] getJourneys() {
+        List<String> users = Arrays.stream(config.getComparisonUsers().split(","))
+                .map(String::trim)
+                .filter(user -> !user.isEmpty())
+                .collect(Collectors.toList());
+        List<Object[]> journeys = new ArrayList<>();
+        for (int round = 1; round <= config.getComparisonRepetitions(); round++) {
+            for (String user : users) {
+                journeys.add(new Object[] {user, round});
+            }
+        }
+        return journeys.toArray(new Object[0][]);
+    }
+    
+    /**
+     * Runs the timed journey as one user type
+     * 
+     * @param userType User to log in as
+     * @param round Repetition of the journey
+     */
+    @Test(dataProvider = "journeys")
+    @Description("Time the login, add to cart and checkout journey of a user type")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("User Type Latency")
+    public void testJourney(String userType, int round) {
+        log.info("Timing journey {} of user {}", round, userType);
+        CheckoutCompletePage completePage = new CheckoutJourney().run(userType, SauceConstants.STANDARD_PASSWORD,
+                LatencyComparison.getInstance().recorder(userType));
+        
+        Assert.assertEquals(completePage.getConfirmationHeader(), SauceConstants.ORDER_COMPLETE_HEADER,
+                "Order confirmation header is not as expected");
+    }
+    
+    /**
+     * Compares the user types once all journeys ran. Significant slowdowns of a user type are only
+     * allowed where comparison.expected says they belong.
+     */
+    @Test(dependsOnMethods = "testJourney", alwaysRun = true)
+    @Description("Verify that user types only differ in latency where expected")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("User Type Latency")
+    public void testLatencyDifferencesAreExpected() {
+        LatencyComparison comparison = LatencyComparison.getInstance();
+        List<LatencyDifference> differences = comparison.compare(getClass().getName());
+        Allure.addAttachment("User type comparison", "text/tab-separated-values", comparison.writeReport(differences),
+                ".tsv");
+        
+        differences.stream()
+                .filter(difference -> difference.isExpected() && !difference.isSignificant())
+                .forEach(difference -> log.warn("Expected difference of {} in {} was not significant (p={})",
+                        difference.getUserType(), difference.getSubject(), difference.getPValue()));
+        List<String> unexpected = differences.stream()
+                .filter(LatencyDifference::isUnexpectedSlowdown)
+                .map(difference -> String.format("%s in %s: median %.0f vs %.0f", difference.getUserType(),
+                        difference.getSubject(), difference.getMedian(), difference.getReferenceMedian()))
+                .collect(Collectors.toList());
+        Assert.assertTrue(unexpected.isEmpty(), "Unexpected significant slowdowns: " + unexpected);
+    }
+}